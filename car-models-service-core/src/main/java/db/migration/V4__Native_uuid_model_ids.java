@@ -0,0 +1,249 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Converts the model IDs from strings to the native UUID type.
+ *
+ * <p>A plain type change rewrites both tables under an exclusive lock, so on PostgreSQL the columns
+ * are replaced without blocking the traffic. UUID columns are added and kept in sync by triggers,
+ * the existing rows are copied in small committed batches, the indexes are built concurrently and
+ * the columns are swapped in one short transaction. The foreign key is validated after the swap,
+ * the validation does not block writes. Other databases change the column types in place.
+ *
+ * <p>The migration commits its steps itself, so it does not run in the Flyway transaction. Every
+ * step can be run again after a failure: the columns, functions and triggers are created only when
+ * they are missing or are replaced, an invalid index left by a failed concurrent build is dropped
+ * and built again, and when the columns are already swapped only the foreign key is validated.
+ */
+@Slf4j
+public class V4__Native_uuid_model_ids extends BaseJavaMigration {
+
+  private static final String POSTGRESQL = "PostgreSQL";
+  private static final int BATCH_SIZE = 10_000;
+
+  private static final List<String> CHANGE_TYPES =
+      List.of(
+          "ALTER TABLE model_category ALTER COLUMN model_id SET DATA TYPE UUID",
+          "ALTER TABLE models ALTER COLUMN id SET DATA TYPE UUID");
+
+  private static final List<String> EXPAND =
+      List.of(
+          "ALTER TABLE models ADD COLUMN IF NOT EXISTS uuid_id uuid",
+          "ALTER TABLE model_category ADD COLUMN IF NOT EXISTS model_uuid uuid",
+          """
+          CREATE OR REPLACE FUNCTION models_sync_uuid_id() RETURNS trigger AS $$
+          BEGIN
+            NEW.uuid_id := NEW.id::uuid;
+            RETURN NEW;
+          END
+          $$ LANGUAGE plpgsql
+          """,
+          """
+          CREATE OR REPLACE FUNCTION model_category_sync_model_uuid() RETURNS trigger AS $$
+          BEGIN
+            NEW.model_uuid := NEW.model_id::uuid;
+            RETURN NEW;
+          END
+          $$ LANGUAGE plpgsql
+          """,
+          "DROP TRIGGER IF EXISTS models_sync_uuid_id ON models",
+          """
+          CREATE TRIGGER models_sync_uuid_id BEFORE INSERT OR UPDATE OF id ON models
+            FOR EACH ROW EXECUTE FUNCTION models_sync_uuid_id()
+          """,
+          "DROP TRIGGER IF EXISTS model_category_sync_model_uuid ON model_category",
+          """
+          CREATE TRIGGER model_category_sync_model_uuid
+            BEFORE INSERT OR UPDATE OF model_id ON model_category
+            FOR EACH ROW EXECUTE FUNCTION model_category_sync_model_uuid()
+          """);
+
+  private static final String BACKFILL_MODELS =
+      """
+      UPDATE models SET uuid_id = id::uuid
+        WHERE ctid = ANY(ARRAY(SELECT ctid FROM models WHERE uuid_id IS NULL LIMIT %d))
+      """
+          .formatted(BATCH_SIZE);
+
+  private static final String BACKFILL_MODEL_CATEGORY =
+      """
+      UPDATE model_category SET model_uuid = model_id::uuid
+        WHERE ctid = ANY(ARRAY(SELECT ctid FROM model_category WHERE model_uuid IS NULL LIMIT %d))
+      """
+          .formatted(BATCH_SIZE);
+
+  private static final String SELECT_INVALID_INDEXES =
+      """
+      SELECT i.relname FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid
+        WHERE NOT x.indisvalid AND i.relname IN (
+          'models_uuid_id_key', 'models_name_uuid_id_idx', 'model_category_model_uuid_key',
+          'model_category_category_name_model_uuid_idx')
+      """;
+
+  private static final String DROP_INDEX = "DROP INDEX CONCURRENTLY IF EXISTS %s";
+
+  private static final String SELECT_MODEL_ID_TYPE =
+      """
+      SELECT data_type FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'models' AND column_name = 'id'
+      """;
+
+  private static final String UUID_TYPE = "uuid";
+
+  private static final List<String> BUILD_INDEXES =
+      List.of(
+          "CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS models_uuid_id_key ON models(uuid_id)",
+          """
+          CREATE INDEX CONCURRENTLY IF NOT EXISTS models_name_uuid_id_idx
+            ON models(name, uuid_id)
+          """,
+          """
+          CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS model_category_model_uuid_key
+            ON model_category(model_uuid, category_name)
+          """,
+          """
+          CREATE INDEX CONCURRENTLY IF NOT EXISTS model_category_category_name_model_uuid_idx
+            ON model_category(category_name, model_uuid)
+          """,
+          "ALTER TABLE models DROP CONSTRAINT IF EXISTS models_uuid_id_not_null",
+          """
+          ALTER TABLE models ADD CONSTRAINT models_uuid_id_not_null
+            CHECK (uuid_id IS NOT NULL) NOT VALID
+          """,
+          "ALTER TABLE models VALIDATE CONSTRAINT models_uuid_id_not_null",
+          "ALTER TABLE model_category DROP CONSTRAINT IF EXISTS model_category_model_uuid_not_null",
+          """
+          ALTER TABLE model_category ADD CONSTRAINT model_category_model_uuid_not_null
+            CHECK (model_uuid IS NOT NULL) NOT VALID
+          """,
+          "ALTER TABLE model_category VALIDATE CONSTRAINT model_category_model_uuid_not_null");
+
+  private static final List<String> SWAP =
+      List.of(
+          "LOCK TABLE models, model_category IN ACCESS EXCLUSIVE MODE",
+          "ALTER TABLE models ALTER COLUMN uuid_id SET NOT NULL",
+          "ALTER TABLE model_category ALTER COLUMN model_uuid SET NOT NULL",
+          "ALTER TABLE models DROP CONSTRAINT models_uuid_id_not_null",
+          "ALTER TABLE model_category DROP CONSTRAINT model_category_model_uuid_not_null",
+          "DROP TRIGGER models_sync_uuid_id ON models",
+          "DROP TRIGGER model_category_sync_model_uuid ON model_category",
+          "DROP FUNCTION models_sync_uuid_id()",
+          "DROP FUNCTION model_category_sync_model_uuid()",
+          "ALTER TABLE model_category DROP CONSTRAINT model_category_model_id_fkey",
+          "ALTER TABLE model_category DROP COLUMN model_id",
+          "ALTER TABLE model_category RENAME COLUMN model_uuid TO model_id",
+          """
+          ALTER TABLE model_category ADD CONSTRAINT model_category_pkey
+            PRIMARY KEY USING INDEX model_category_model_uuid_key
+          """,
+          """
+          ALTER INDEX model_category_category_name_model_uuid_idx
+            RENAME TO model_category_category_name_model_id_idx
+          """,
+          "ALTER TABLE models DROP COLUMN id",
+          "ALTER TABLE models RENAME COLUMN uuid_id TO id",
+          "ALTER TABLE models ADD CONSTRAINT models_pkey PRIMARY KEY USING INDEX models_uuid_id_key",
+          "ALTER INDEX models_name_uuid_id_idx RENAME TO models_name_id_idx",
+          """
+          ALTER TABLE model_category ADD CONSTRAINT model_category_model_id_fkey
+            FOREIGN KEY (model_id) REFERENCES models(id) ON UPDATE CASCADE NOT VALID
+          """);
+
+  private static final String VALIDATE_FOREIGN_KEY =
+      "ALTER TABLE model_category VALIDATE CONSTRAINT model_category_model_id_fkey";
+
+  @Override
+  public boolean canExecuteInTransaction() {
+    return false;
+  }
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    Connection connection = context.getConnection();
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(true);
+
+    try (Statement statement = connection.createStatement()) {
+      if (POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())) {
+        migrateOnline(connection, statement);
+      } else {
+        execute(statement, CHANGE_TYPES);
+      }
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  private void migrateOnline(Connection connection, Statement statement) throws SQLException {
+    if (isSwapped(statement)) {
+      statement.execute(VALIDATE_FOREIGN_KEY);
+      return;
+    }
+    execute(statement, EXPAND);
+    log.info("Copied {} model IDs to the UUID column", backfill(statement, BACKFILL_MODELS));
+    log.info(
+        "Copied {} model category relations to the UUID column",
+        backfill(statement, BACKFILL_MODEL_CATEGORY));
+    dropInvalidIndexes(statement);
+    execute(statement, BUILD_INDEXES);
+    connection.setAutoCommit(false);
+
+    try {
+      execute(statement, SWAP);
+      connection.commit();
+    } catch (SQLException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(true);
+    }
+    statement.execute(VALIDATE_FOREIGN_KEY);
+  }
+
+  private boolean isSwapped(Statement statement) throws SQLException {
+    try (ResultSet resultSet = statement.executeQuery(SELECT_MODEL_ID_TYPE)) {
+      return resultSet.next() && UUID_TYPE.equals(resultSet.getString(1));
+    }
+  }
+
+  private void dropInvalidIndexes(Statement statement) throws SQLException {
+    List<String> invalidIndexes = new ArrayList<>();
+
+    try (ResultSet resultSet = statement.executeQuery(SELECT_INVALID_INDEXES)) {
+      while (resultSet.next()) {
+        invalidIndexes.add(resultSet.getString(1));
+      }
+    }
+
+    for (String index : invalidIndexes) {
+      log.warn("The invalid index {} is dropped and built again", index);
+      statement.execute(DROP_INDEX.formatted(index));
+    }
+  }
+
+  private long backfill(Statement statement, String batchUpdate) throws SQLException {
+    long copiedRows = 0;
+    int updatedRows;
+
+    do {
+      updatedRows = statement.executeUpdate(batchUpdate);
+      copiedRows += updatedRows;
+    } while (updatedRows > 0);
+    return copiedRows;
+  }
+
+  private void execute(Statement statement, List<String> statements) throws SQLException {
+    for (String sql : statements) {
+      statement.execute(sql);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Replaces the name keys of manufacturers and categories with integer surrogate keys, the names
+ * stay unique. The models and the model category relations reference the surrogate keys, so the
+ * names are no longer repeated in their rows and indexes.
+ *
+ * <p>The primary keys on the names were created without names, so they are dropped by the syntax of
+ * a database.
+ */
+public class V5__Surrogate_keys_of_manufacturers_and_categories extends BaseJavaMigration {
+
+  private static final String POSTGRESQL = "PostgreSQL";
+
+  private static final List<String> ADD_SURROGATE_KEYS =
+      List.of(
+          "ALTER TABLE manufacturers ADD COLUMN id INTEGER GENERATED BY DEFAULT AS IDENTITY",
+          "ALTER TABLE categories ADD COLUMN id INTEGER GENERATED BY DEFAULT AS IDENTITY",
+          "ALTER TABLE models ADD COLUMN manufacturer_id INTEGER",
+          """
+          UPDATE models SET manufacturer_id =
+            (SELECT mf.id FROM manufacturers mf WHERE mf.name = models.manufacturer_name)
+          """,
+          "ALTER TABLE models ALTER COLUMN manufacturer_id SET NOT NULL",
+          "ALTER TABLE model_category ADD COLUMN category_id INTEGER",
+          """
+          UPDATE model_category SET category_id =
+            (SELECT c.id FROM categories c WHERE c.name = model_category.category_name)
+          """,
+          "ALTER TABLE model_category ALTER COLUMN category_id SET NOT NULL",
+          "ALTER TABLE models DROP CONSTRAINT models_manufacturer_name_name_model_year_key",
+          "ALTER TABLE model_category DROP CONSTRAINT model_category_pkey",
+          "DROP INDEX model_category_category_name_model_id_idx",
+          "ALTER TABLE models DROP COLUMN manufacturer_name",
+          "ALTER TABLE model_category DROP COLUMN category_name");
+
+  private static final List<String> DROP_NAME_KEYS_POSTGRESQL =
+      List.of(
+          "ALTER TABLE manufacturers DROP CONSTRAINT manufacturers_pkey",
+          "ALTER TABLE categories DROP CONSTRAINT categories_pkey");
+
+  private static final List<String> DROP_NAME_KEYS =
+      List.of(
+          "ALTER TABLE manufacturers DROP PRIMARY KEY", "ALTER TABLE categories DROP PRIMARY KEY");
+
+  private static final List<String> USE_SURROGATE_KEYS =
+      List.of(
+          "ALTER TABLE manufacturers ADD CONSTRAINT manufacturers_pkey PRIMARY KEY (id)",
+          "ALTER TABLE manufacturers ADD CONSTRAINT manufacturers_name_key UNIQUE (name)",
+          "ALTER TABLE manufacturers ALTER COLUMN name SET NOT NULL",
+          "ALTER TABLE categories ADD CONSTRAINT categories_pkey PRIMARY KEY (id)",
+          "ALTER TABLE categories ADD CONSTRAINT categories_name_key UNIQUE (name)",
+          "ALTER TABLE categories ALTER COLUMN name SET NOT NULL",
+          """
+          ALTER TABLE models ADD CONSTRAINT models_manufacturer_id_fkey
+            FOREIGN KEY (manufacturer_id) REFERENCES manufacturers(id)
+          """,
+          """
+          ALTER TABLE models ADD CONSTRAINT models_manufacturer_id_name_model_year_key
+            UNIQUE (manufacturer_id, name, model_year)
+          """,
+          """
+          ALTER TABLE model_category ADD CONSTRAINT model_category_category_id_fkey
+            FOREIGN KEY (category_id) REFERENCES categories(id)
+          """,
+          """
+          ALTER TABLE model_category ADD CONSTRAINT model_category_pkey
+            PRIMARY KEY (model_id, category_id)
+          """,
+          """
+          CREATE INDEX model_category_category_id_model_id_idx
+            ON model_category(category_id, model_id)
+          """);
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    Connection connection = context.getConnection();
+    boolean isPostgresql = POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName());
+
+    try (Statement statement = connection.createStatement()) {
+      execute(statement, ADD_SURROGATE_KEYS);
+      execute(statement, isPostgresql ? DROP_NAME_KEYS_POSTGRESQL : DROP_NAME_KEYS);
+      execute(statement, USE_SURROGATE_KEYS);
+    }
+  }
+
+  private void execute(Statement statement, List<String> statements) throws SQLException {
+    for (String sql : statements) {
+      statement.execute(sql);
+    }
+  }
+}
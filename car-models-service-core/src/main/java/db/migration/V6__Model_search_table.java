@@ -0,0 +1,92 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Creates the denormalized {@code model_search} table that holds one row per model with its
+ * manufacturer name, year, name, version and the array of its category names, so a search reads a
+ * single table. The rows of the existing models are filled from the normalized tables, a model
+ * without categories has no array.
+ *
+ * <p>A category filter is checked by {@code array_contains(categories, name)}. H2 has the function,
+ * on PostgreSQL it is an SQL function that is inlined into {@code categories @> array[name]}, so
+ * the filter uses the GIN index of the categories.
+ */
+public class V6__Model_search_table extends BaseJavaMigration {
+
+  private static final String POSTGRESQL = "PostgreSQL";
+
+  private static final String CREATE_TABLE =
+      """
+      CREATE TABLE model_search(
+        model_id UUID PRIMARY KEY REFERENCES models(id) ON DELETE CASCADE,
+        manufacturer VARCHAR(256) NOT NULL,
+        model_year INTEGER NOT NULL,
+        name VARCHAR(256),
+        categories %s,
+        version BIGINT NOT NULL
+      )
+      """;
+
+  private static final String POSTGRESQL_ARRAY = "VARCHAR(256)[]";
+  private static final String H2_ARRAY = "VARCHAR(256) ARRAY";
+
+  private static final List<String> CREATE_INDEXES =
+      List.of(
+          "CREATE INDEX model_search_name_model_id_idx ON model_search(name, model_id)",
+          """
+          CREATE INDEX model_search_manufacturer_name_model_id_idx
+            ON model_search(manufacturer, name, model_id)
+          """,
+          """
+          CREATE INDEX model_search_model_year_name_model_id_idx
+            ON model_search(model_year, name, model_id)
+          """);
+
+  private static final List<String> CREATE_CATEGORY_INDEX_POSTGRESQL =
+      List.of(
+          "CREATE INDEX model_search_categories_idx ON model_search USING GIN (categories)",
+          """
+          CREATE FUNCTION array_contains(VARCHAR[], VARCHAR) RETURNS BOOLEAN
+            LANGUAGE SQL IMMUTABLE AS 'SELECT $1 @> ARRAY[$2]'
+          """);
+
+  private static final String FILL_TABLE =
+      """
+      INSERT INTO model_search(model_id, manufacturer, model_year, name, categories, version)
+      SELECT m.id, mf.name, m.model_year, m.name,
+        ARRAY_AGG(c.name ORDER BY c.name) FILTER (WHERE c.name IS NOT NULL), m.version
+      FROM models m
+      JOIN manufacturers mf ON mf.id = m.manufacturer_id
+      LEFT JOIN model_category mc ON mc.model_id = m.id
+      LEFT JOIN categories c ON c.id = mc.category_id
+      GROUP BY m.id, mf.name, m.model_year, m.name, m.version
+      """;
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    Connection connection = context.getConnection();
+    boolean isPostgresql = POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName());
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(CREATE_TABLE.formatted(isPostgresql ? POSTGRESQL_ARRAY : H2_ARRAY));
+      execute(statement, CREATE_INDEXES);
+
+      if (isPostgresql) {
+        execute(statement, CREATE_CATEGORY_INDEX_POSTGRESQL);
+      }
+      statement.execute(FILL_TABLE);
+    }
+  }
+
+  private void execute(Statement statement, List<String> statements) throws SQLException {
+    for (String sql : statements) {
+      statement.execute(sql);
+    }
+  }
+}
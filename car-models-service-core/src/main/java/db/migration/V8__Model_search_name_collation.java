@@ -0,0 +1,34 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Sorts the names of the {@code model_search} table by the {@code "C"} collation on PostgreSQL, the
+ * names are compared by their code points as the in-memory search engine compares them, so a page
+ * sorted by a name has the same order in both engines and after a cursor. The indexes on the name
+ * are rebuilt with the collation.
+ *
+ * <p>H2 compares strings by their UTF-16 code units, it differs from the code point order only for
+ * the characters outside the Basic Multilingual Plane, so its columns are not changed.
+ */
+public class V8__Model_search_name_collation extends BaseJavaMigration {
+
+  private static final String POSTGRESQL = "PostgreSQL";
+
+  private static final String CHANGE_COLLATION =
+      "ALTER TABLE model_search ALTER COLUMN name TYPE VARCHAR(256) COLLATE \"C\"";
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    Connection connection = context.getConnection();
+
+    if (POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())) {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute(CHANGE_COLLATION);
+      }
+    }
+  }
+}
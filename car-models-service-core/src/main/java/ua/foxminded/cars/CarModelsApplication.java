@@ -6,12 +6,24 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import ua.foxminded.cars.config.CacheConfig;
+import ua.foxminded.cars.config.DataSourceRoutingConfig;
+import ua.foxminded.cars.config.HttpCacheConfig;
+import ua.foxminded.cars.config.ModelImportConfig;
 import ua.foxminded.cars.config.PageSortConfig;
+import ua.foxminded.cars.config.WarmUpConfig;
 
 @SpringBootApplication
 @EnableTransactionManagement
 @EnableCaching
-@EnableConfigurationProperties(PageSortConfig.class)
+@EnableConfigurationProperties({
+  PageSortConfig.class,
+  CacheConfig.class,
+  HttpCacheConfig.class,
+  WarmUpConfig.class,
+  DataSourceRoutingConfig.class,
+  ModelImportConfig.class
+})
 @PropertySource("classpath:/application.yml")
 public class CarModelsApplication {
 
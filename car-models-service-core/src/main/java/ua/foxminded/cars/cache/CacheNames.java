@@ -0,0 +1,13 @@
+package ua.foxminded.cars.cache;
+
+public class CacheNames {
+
+  public static final String SEARCH_MODELS = "searchModels";
+  public static final String SEARCH_MODEL_RESPONSES = "searchModelResponses";
+  public static final String SEARCH_MODEL_COUNTS = "searchModelCounts";
+  public static final String GET_MODEL_BY_ID = "getModelById";
+  public static final String GET_MODEL = "getModel";
+  public static final String MODEL_MISSES = "modelMisses";
+
+  private CacheNames() {}
+}
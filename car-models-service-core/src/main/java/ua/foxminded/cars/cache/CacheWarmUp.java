@@ -0,0 +1,94 @@
+package ua.foxminded.cars.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ua.foxminded.cars.config.WarmUpConfig;
+import ua.foxminded.cars.config.WarmUpConfig.ModelKey;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.ModelService;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+/**
+ * Loads the hot keys into the model caches at the startup. Spring Boot reports the readiness only
+ * after all application runners are completed, so the traffic arrives when the caches are
+ * populated. Every key is requested once through the cached service and its result is serialized to
+ * JSON, so the query, mapping and serialization paths are warmed up too. Only the service layer is
+ * warmed, the controllers, the HTTP caches of responses and the servlet stack are not called. A key
+ * that fails to load is skipped, the warm-up never prevents the startup.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.warm-up", name = "enabled")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner {
+
+  private final ModelService modelService;
+  private final ObjectMapper objectMapper;
+  private final WarmUpConfig warmUpConfig;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    long startTime = System.currentTimeMillis();
+    int loadedKeys = warmUpSearchPages() + warmUpModels();
+    log.info(
+        "The cache warm-up loaded {} keys in {} ms",
+        loadedKeys,
+        System.currentTimeMillis() - startTime);
+  }
+
+  private int warmUpSearchPages() {
+    List<SearchFilter> searchFilters = new ArrayList<>();
+    searchFilters.add(new SearchFilter());
+    searchFilters.addAll(warmUpConfig.getSearchFilters());
+    int loadedKeys = 0;
+
+    for (SearchFilter searchFilter : searchFilters) {
+      for (int page = 0; page < warmUpConfig.getPages(); page++) {
+        PageRequest pageRequest = PageRequest.of(page, warmUpConfig.getPageSize());
+
+        try {
+          Page<ModelDto> modelsPage = modelService.searchModel(searchFilter, pageRequest);
+          objectMapper.writeValueAsBytes(modelsPage);
+          loadedKeys++;
+
+          if (modelsPage.isLast()) {
+            break;
+          }
+        } catch (RuntimeException | JsonProcessingException e) {
+          log.warn("The search page {} of {} is not warmed up", page, searchFilter, e);
+          break;
+        }
+      }
+    }
+    return loadedKeys;
+  }
+
+  private int warmUpModels() {
+    int loadedKeys = 0;
+
+    for (ModelKey model : warmUpConfig.getModels()) {
+      try {
+        ModelDto modelDto =
+            modelService.getModel(model.getManufacturer(), model.getName(), model.getYear());
+        objectMapper.writeValueAsBytes(modelService.getModelById(modelDto.getId()));
+        loadedKeys += 2;
+      } catch (RuntimeException | JsonProcessingException e) {
+        log.warn("The model {} is not warmed up", model, e);
+      }
+    }
+    return loadedKeys;
+  }
+}
@@ -0,0 +1,213 @@
+package ua.foxminded.cars.cache;
+
+import static java.util.Objects.nonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.support.TransactionOperations;
+import ua.foxminded.cars.config.CacheConfig.CacheSpec;
+import ua.foxminded.cars.routing.ReadYourWritesContext;
+
+/**
+ * Coalesces concurrent misses of a key, the value of a missing key is loaded by a single caller and
+ * the other callers of the key wait for its result instead of running the same query. The loads a
+ * caller did not have to run are counted by the {@code cache.loads.coalesced} counter.
+ *
+ * <p>The coalescing is applied to the methods cached with {@code @Cacheable(sync = true)}, it can
+ * be turned off for a cache, then every caller that misses a key loads the value itself.
+ *
+ * <p>If a cache has the {@code refreshAfterWrite} setting, an entry older than it is stale, it is
+ * still returned at once while a single background load refreshes it. A refreshed value replaces
+ * the entry only if the entry was not evicted or rewritten in the meantime, and a failed refresh
+ * keeps the stale value until the entry expires. The refresh runs the loader of the cached method
+ * outside of the advice of its proxy, so the loader is called in its own read-only transaction.
+ *
+ * <p>A missing value is loaded wherever the transaction of the caller is routed, so the misses of a
+ * read-only transaction go to the read replicas. A key evicted less than the replication lag ago is
+ * loaded from the primary, since a lagging replica may not have the write that evicted it yet, and
+ * a value loaded while the cache was evicted is not stored.
+ */
+@Slf4j
+public class CoalescingCaffeineCache extends CaffeineCache {
+
+  public static final String COALESCED_LOADS_METRIC = "cache.loads.coalesced";
+  public static final String REFRESHES_METRIC = "cache.refreshes";
+
+  private static final Object ALL_KEYS = new Object();
+
+  private final boolean singleFlight;
+  private final Duration refreshAfterWrite;
+  private final Executor refreshExecutor;
+  private final TransactionOperations refreshTransaction;
+  private final Set<Object> refreshingKeys = ConcurrentHashMap.newKeySet();
+  private final Cache<Object, Boolean> recentEvictions;
+  private final AtomicLong evictions = new AtomicLong();
+  private final Counter coalescedLoads;
+  private final Counter refreshes;
+
+  public CoalescingCaffeineCache(
+      String name,
+      Cache<Object, Object> cache,
+      CacheSpec cacheSpec,
+      MeterRegistry meterRegistry,
+      Executor refreshExecutor,
+      TransactionOperations refreshTransaction,
+      Duration replicationLag) {
+    super(name, cache);
+    this.singleFlight = cacheSpec.isSingleFlight();
+    this.refreshAfterWrite = cacheSpec.getRefreshAfterWrite();
+    this.refreshExecutor = refreshExecutor;
+    this.refreshTransaction = refreshTransaction;
+    this.recentEvictions = Caffeine.newBuilder().expireAfterWrite(replicationLag).build();
+    this.coalescedLoads =
+        Counter.builder(COALESCED_LOADS_METRIC)
+            .description("The number of cache loads that waited for the load of another caller")
+            .tag("cache", name)
+            .register(meterRegistry);
+    this.refreshes =
+        Counter.builder(REFRESHES_METRIC)
+            .description("The number of stale cache entries refreshed in the background")
+            .tag("cache", name)
+            .register(meterRegistry);
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    Object storedValue = getNativeCache().getIfPresent(key);
+
+    if (storedValue != null) {
+      refreshIfStale(key, storedValue, valueLoader);
+      return cast(fromStoreValue(storedValue));
+    }
+    Callable<T> loader = routeLoader(key, valueLoader);
+    return singleFlight ? loadOnce(key, loader) : load(key, loader);
+  }
+
+  @Override
+  public void evict(Object key) {
+    recordEviction(key);
+    super.evict(key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    recordEviction(key);
+    return super.evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    recordEviction(ALL_KEYS);
+    super.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    recordEviction(ALL_KEYS);
+    return super.invalidate();
+  }
+
+  private void recordEviction(Object key) {
+    evictions.incrementAndGet();
+    recentEvictions.put(key, Boolean.TRUE);
+  }
+
+  private <T> Callable<T> routeLoader(Object key, Callable<T> valueLoader) {
+    boolean isEvictedRecently =
+        nonNull(recentEvictions.getIfPresent(key))
+            || nonNull(recentEvictions.getIfPresent(ALL_KEYS));
+    return isEvictedRecently ? ReadYourWritesContext.onPrimary(valueLoader) : valueLoader;
+  }
+
+  private <T> T loadOnce(Object key, Callable<T> valueLoader) {
+    AtomicBoolean isLoader = new AtomicBoolean();
+    T value =
+        super.get(
+            key,
+            () -> {
+              isLoader.set(true);
+              return valueLoader.call();
+            });
+
+    if (!isLoader.get()) {
+      coalescedLoads.increment();
+    }
+    return value;
+  }
+
+  private <T> T load(Object key, Callable<T> valueLoader) {
+    long evictionCount = evictions.get();
+    T value;
+
+    try {
+      value = valueLoader.call();
+    } catch (Exception ex) {
+      throw new ValueRetrievalException(key, valueLoader, ex);
+    }
+
+    if (evictionCount == evictions.get()) {
+      put(key, value);
+    }
+    return value;
+  }
+
+  private void refreshIfStale(Object key, Object storedValue, Callable<?> valueLoader) {
+    if (!isStale(key) || !refreshingKeys.add(key)) {
+      return;
+    }
+
+    try {
+      Callable<?> loader = routeLoader(key, valueLoader);
+      refreshExecutor.execute(() -> refresh(key, storedValue, loader));
+    } catch (RejectedExecutionException e) {
+      refreshingKeys.remove(key);
+    }
+  }
+
+  private boolean isStale(Object key) {
+    return nonNull(refreshAfterWrite)
+        && getNativeCache()
+            .policy()
+            .expireAfterWrite()
+            .flatMap(expiration -> expiration.ageOf(key))
+            .map(age -> age.compareTo(refreshAfterWrite) >= 0)
+            .orElse(false);
+  }
+
+  private void refresh(Object key, Object storedValue, Callable<?> valueLoader) {
+    try {
+      Object value = refreshTransaction.execute(status -> callLoader(key, valueLoader));
+      getNativeCache().asMap().replace(key, storedValue, toStoreValue(value));
+      refreshes.increment();
+    } catch (Exception e) {
+      log.debug("The stale entry '{}' of the '{}' cache is not refreshed", key, getName(), e);
+    } finally {
+      refreshingKeys.remove(key);
+    }
+  }
+
+  private Object callLoader(Object key, Callable<?> valueLoader) {
+    try {
+      return valueLoader.call();
+    } catch (Exception ex) {
+      throw new ValueRetrievalException(key, valueLoader, ex);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T cast(Object value) {
+    return (T) value;
+  }
+}
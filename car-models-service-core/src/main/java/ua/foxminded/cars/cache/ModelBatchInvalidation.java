@@ -0,0 +1,15 @@
+package ua.foxminded.cars.cache;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Describes the models written by a single batch, they are invalidated at once. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelBatchInvalidation {
+
+  private List<ModelInvalidation> models;
+}
@@ -0,0 +1,240 @@
+package ua.foxminded.cars.cache;
+
+import static java.util.Objects.isNull;
+import static ua.foxminded.cars.cache.CacheNames.GET_MODEL;
+import static ua.foxminded.cars.cache.CacheNames.GET_MODEL_BY_ID;
+import static ua.foxminded.cars.cache.CacheNames.MODEL_MISSES;
+import static ua.foxminded.cars.cache.CacheNames.SEARCH_MODELS;
+import static ua.foxminded.cars.cache.CacheNames.SEARCH_MODEL_COUNTS;
+import static ua.foxminded.cars.cache.CacheNames.SEARCH_MODEL_RESPONSES;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+
+/**
+ * Evicts only the cache entries a written model could affect. A cached search page keeps its {@link
+ * SearchFilter} in the key, so the page is evicted when the filter matches the model, pages of
+ * other manufacturers, years or categories stay in the cache. The eviction runs after the
+ * transaction commit, so a concurrent reader can not put the old state back into the cache.
+ *
+ * <p>The encoded search responses and the total counts of search filters are keyed by the search
+ * filter too and are evicted the same way.
+ *
+ * <p>A written model also evicts the remembered misses of its ID and natural key.
+ *
+ * <p>Every invalidation is also published as an application event, so it can be delivered to the
+ * caches of other nodes.
+ *
+ * <p>Every eviction increases the invalidation generation before it removes entries. A value that
+ * was loaded while the generation changed could be read before the write and is not cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelCacheInvalidator {
+
+  private static final List<String> SEARCH_CACHES =
+      List.of(SEARCH_MODELS, SEARCH_MODEL_RESPONSES, SEARCH_MODEL_COUNTS);
+  private static final List<String> MODEL_CACHES =
+      List.of(
+          SEARCH_MODELS,
+          SEARCH_MODEL_RESPONSES,
+          SEARCH_MODEL_COUNTS,
+          GET_MODEL_BY_ID,
+          GET_MODEL,
+          MODEL_MISSES);
+
+  private final CacheManager cacheManager;
+  private final ApplicationEventPublisher eventPublisher;
+  private final AtomicLong generation = new AtomicLong();
+
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  public void evictSearchPages(ModelInvalidation invalidation) {
+    eventPublisher.publishEvent(invalidation);
+    runAfterCommit(
+        () -> {
+          evictMisses(invalidation);
+          evictMatchingSearchPages(invalidation);
+        });
+  }
+
+  /**
+   * Evicts the search pages affected by any model of a batch, the caches are scanned once for the
+   * whole batch and the other nodes receive a single invalidation.
+   *
+   * @param invalidations - the written models
+   */
+  public void evictSearchPages(List<ModelInvalidation> invalidations) {
+    if (invalidations.isEmpty()) {
+      return;
+    }
+    List<ModelInvalidation> models = List.copyOf(invalidations);
+    eventPublisher.publishEvent(new ModelBatchInvalidation(models));
+    runAfterCommit(
+        () -> {
+          models.forEach(this::evictMisses);
+          evictMatchingSearchPages(models);
+        });
+  }
+
+  /**
+   * Evicts a model cached by its ID and by its manufacturer, name and year, and the search pages
+   * affected by the model.
+   *
+   * @param invalidation - the written model
+   */
+  public void evictModel(ModelInvalidation invalidation) {
+    eventPublisher.publishEvent(invalidation);
+    runAfterCommit(() -> evictModelLocally(invalidation));
+  }
+
+  /**
+   * Applies an invalidation received from another node, the model could be cached by this node with
+   * its previous state, so all its entries are evicted.
+   *
+   * @param invalidation - the model written by another node
+   */
+  public void evictModelLocally(ModelInvalidation invalidation) {
+    generation.incrementAndGet();
+    evictModelEntries(invalidation);
+    evictMisses(invalidation);
+    evictMatchingSearchPages(invalidation);
+  }
+
+  /**
+   * Evicts all models after a bulk write, the other nodes clear their model caches too. It is
+   * called after the commit of the write.
+   */
+  public void evictAll() {
+    eventPublisher.publishEvent(new ModelCatalogInvalidation());
+    evictAllLocally();
+  }
+
+  /**
+   * Evicts the misses of all models after a batch of a bulk write is committed, the other nodes
+   * evict their misses too.
+   */
+  public void evictMisses() {
+    eventPublisher.publishEvent(new ModelMissInvalidation());
+    runAfterCommit(this::evictMissesLocally);
+  }
+
+  public void evictMissesLocally() {
+    generation.incrementAndGet();
+    Cache missCache = cacheManager.getCache(MODEL_MISSES);
+
+    if (missCache != null) {
+      missCache.clear();
+    }
+  }
+
+  public void evictAllLocally() {
+    generation.incrementAndGet();
+    MODEL_CACHES.stream()
+        .map(cacheManager::getCache)
+        .filter(Objects::nonNull)
+        .forEach(Cache::clear);
+  }
+
+  private void evictModelEntries(ModelInvalidation invalidation) {
+    evictKeys(
+        cacheManager.getCache(GET_MODEL_BY_ID), cacheManager.getCache(GET_MODEL), invalidation);
+  }
+
+  private void evictMisses(ModelInvalidation invalidation) {
+    Cache missCache = cacheManager.getCache(MODEL_MISSES);
+    evictKeys(missCache, missCache, invalidation);
+  }
+
+  private void evictKeys(Cache modelByIdCache, Cache modelCache, ModelInvalidation invalidation) {
+    if (modelByIdCache != null && invalidation.getId() != null) {
+      modelByIdCache.evict(ModelMissCache.modelByIdKey(invalidation.getId()));
+    }
+
+    if (modelCache != null) {
+      modelCache.evict(
+          ModelMissCache.modelKey(
+              invalidation.getManufacturer(), invalidation.getName(), invalidation.getYear()));
+    }
+  }
+
+  private void evictMatchingSearchPages(ModelInvalidation invalidation) {
+    evictMatchingSearchPages(List.of(invalidation));
+  }
+
+  private void evictMatchingSearchPages(List<ModelInvalidation> invalidations) {
+    SEARCH_CACHES.stream()
+        .map(cacheManager::getCache)
+        .filter(Objects::nonNull)
+        .forEach(searchCache -> evictMatchingSearchPages(searchCache, invalidations));
+  }
+
+  private void evictMatchingSearchPages(Cache searchCache, List<ModelInvalidation> invalidations) {
+    if (searchCache.getNativeCache()
+        instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+      nativeCache
+          .asMap()
+          .keySet()
+          .removeIf(
+              key ->
+                  invalidations.stream().anyMatch(invalidation -> isAffected(key, invalidation)));
+    } else {
+      searchCache.clear();
+    }
+  }
+
+  private boolean isAffected(Object key, ModelInvalidation invalidation) {
+    if (key instanceof List<?> keyParts) {
+      return keyParts.stream()
+          .filter(SearchFilter.class::isInstance)
+          .map(SearchFilter.class::cast)
+          .findFirst()
+          .map(searchFilter -> matches(searchFilter, invalidation))
+          .orElse(true);
+    }
+    return true;
+  }
+
+  private boolean matches(SearchFilter searchFilter, ModelInvalidation invalidation) {
+    Integer year = invalidation.getYear();
+    return matches(searchFilter.getManufacturer(), invalidation.getManufacturer())
+        && matches(searchFilter.getName(), invalidation.getName())
+        && matches(searchFilter.getYear(), year)
+        && (isNull(searchFilter.getMinYear()) || searchFilter.getMinYear() <= year)
+        && (isNull(searchFilter.getMaxYear()) || searchFilter.getMaxYear() >= year)
+        && (isNull(searchFilter.getCategory())
+            || invalidation.getCategories().contains(searchFilter.getCategory()));
+  }
+
+  private boolean matches(Object filterValue, Object modelValue) {
+    return isNull(filterValue) || filterValue.equals(modelValue);
+  }
+
+  private void runAfterCommit(Runnable eviction) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+              generation.incrementAndGet();
+              eviction.run();
+            }
+          });
+    } else {
+      generation.incrementAndGet();
+      eviction.run();
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package ua.foxminded.cars.cache;
+
+/**
+ * Describes a write of too many models to evict them one by one, such as a bulk import, all model
+ * caches are cleared.
+ */
+public class ModelCatalogInvalidation {}
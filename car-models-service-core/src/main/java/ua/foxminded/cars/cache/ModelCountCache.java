@@ -0,0 +1,60 @@
+package ua.foxminded.cars.cache;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static ua.foxminded.cars.cache.CacheNames.SEARCH_MODEL_COUNTS;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+
+/**
+ * Keeps the total number of models that match a search filter, the count does not depend on a page,
+ * so all pages of a filter share it. The key holds a canonical copy of a filter, a period of a
+ * single year is the same filter as the year. A written model evicts the counts of the filters it
+ * matches through the {@link ModelCacheInvalidator}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelCountCache {
+
+  private final CacheManager cacheManager;
+
+  public long getCount(SearchFilter searchFilter, LongSupplier counter) {
+    Cache countCache = cacheManager.getCache(SEARCH_MODEL_COUNTS);
+
+    if (isNull(countCache)) {
+      return counter.getAsLong();
+    }
+    return countCache.get(countKey(searchFilter), counter::getAsLong);
+  }
+
+  static List<Object> countKey(SearchFilter searchFilter) {
+    return List.of(SEARCH_MODEL_COUNTS, canonicalize(searchFilter));
+  }
+
+  private static SearchFilter canonicalize(SearchFilter searchFilter) {
+    SearchFilter canonicalFilter =
+        SearchFilter.builder()
+            .name(searchFilter.getName())
+            .category(searchFilter.getCategory())
+            .manufacturer(searchFilter.getManufacturer())
+            .year(searchFilter.getYear())
+            .minYear(searchFilter.getMinYear())
+            .maxYear(searchFilter.getMaxYear())
+            .build();
+
+    if (isNull(canonicalFilter.getYear())
+        && nonNull(canonicalFilter.getMinYear())
+        && canonicalFilter.getMinYear().equals(canonicalFilter.getMaxYear())) {
+      canonicalFilter.setYear(canonicalFilter.getMinYear());
+      canonicalFilter.setMinYear(null);
+      canonicalFilter.setMaxYear(null);
+    }
+    return canonicalFilter;
+  }
+}
@@ -0,0 +1,38 @@
+package ua.foxminded.cars.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+/**
+ * Describes a written model for cache invalidation. The categories contain every category the model
+ * had before or has after the write, so pages filtered by any of them are affected.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelInvalidation {
+
+  private UUID id;
+  private String manufacturer;
+  private String name;
+  private Integer year;
+  private Set<String> categories;
+
+  public static ModelInvalidation of(ModelDto model, Collection<String> categories) {
+    return ModelInvalidation.builder()
+        .id(model.getId())
+        .manufacturer(model.getManufacturer())
+        .name(model.getName())
+        .year(model.getYear())
+        .categories(new LinkedHashSet<>(categories))
+        .build();
+  }
+}
@@ -0,0 +1,75 @@
+package ua.foxminded.cars.cache;
+
+import static ua.foxminded.cars.cache.CacheNames.GET_MODEL;
+import static ua.foxminded.cars.cache.CacheNames.GET_MODEL_BY_ID;
+import static ua.foxminded.cars.cache.CacheNames.MODEL_MISSES;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers lookups of models that are not in a database, so a repeated lookup of a missing model
+ * is answered without a query. The entries use the keys of the model caches and are short-lived, a
+ * written model evicts its entries through the {@link ModelCacheInvalidator}.
+ *
+ * <p>A lookup takes the invalidation generation before it reads a database. A miss is dropped if
+ * the generation has changed since then, the lookup could read the database before a model was
+ * created, and the eviction of the model could run before the miss is stored.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelMissCache {
+
+  private final CacheManager cacheManager;
+  private final ModelCacheInvalidator modelCacheInvalidator;
+
+  public long getGeneration() {
+    return modelCacheInvalidator.getGeneration();
+  }
+
+  public boolean isMissing(UUID modelId) {
+    return isMissing(modelByIdKey(modelId));
+  }
+
+  public boolean isMissing(String manufacturer, String name, int year) {
+    return isMissing(modelKey(manufacturer, name, year));
+  }
+
+  public void putMissing(UUID modelId, long generation) {
+    putMissing(modelByIdKey(modelId), generation);
+  }
+
+  public void putMissing(String manufacturer, String name, int year, long generation) {
+    putMissing(modelKey(manufacturer, name, year), generation);
+  }
+
+  static List<Object> modelByIdKey(UUID modelId) {
+    return List.of(GET_MODEL_BY_ID, modelId);
+  }
+
+  static List<Object> modelKey(String manufacturer, String name, Integer year) {
+    return List.of(GET_MODEL, manufacturer, name, year);
+  }
+
+  private boolean isMissing(List<Object> key) {
+    Cache missCache = cacheManager.getCache(MODEL_MISSES);
+    return missCache != null && missCache.get(key) != null;
+  }
+
+  private void putMissing(List<Object> key, long generation) {
+    Cache missCache = cacheManager.getCache(MODEL_MISSES);
+
+    if (missCache != null && modelCacheInvalidator.getGeneration() == generation) {
+      missCache.put(key, Boolean.TRUE);
+
+      // an eviction that started before the put could miss the entry
+      if (modelCacheInvalidator.getGeneration() != generation) {
+        missCache.evict(key);
+      }
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package ua.foxminded.cars.cache;
+
+/**
+ * Describes a batch of a bulk write that could create any models, the misses of all models are
+ * evicted.
+ */
+public class ModelMissInvalidation {}
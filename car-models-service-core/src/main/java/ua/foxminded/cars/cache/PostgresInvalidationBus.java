@@ -0,0 +1,274 @@
+package ua.foxminded.cars.cache;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ua.foxminded.cars.config.CacheConfig;
+import ua.foxminded.cars.config.CacheConfig.InvalidationBus;
+import ua.foxminded.cars.routing.ReadYourWritesContext;
+import ua.foxminded.cars.service.registry.ReferenceDataChange;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
+import ua.foxminded.cars.service.search.ModelSearchEngine;
+
+/**
+ * Delivers cache invalidations between nodes through the PostgreSQL LISTEN/NOTIFY. A notification
+ * is sent in the transaction of a write, so other nodes receive it only after the commit. Every
+ * node listens to the channel on a dedicated connection and evicts the affected entries from its
+ * local caches. The manufacturers, years and categories created or deleted by another node are
+ * delivered as a {@link ReferenceDataChange} and applied to the {@link ReferenceDataRegistry}
+ * incrementally, the registry is reloaded only together with clearing all caches. The written model
+ * is reloaded into the {@link ModelSearchEngine} before the caches are evicted, so an evicted page
+ * is not loaded again from the previous state of the engine. If the connection is lost,
+ * notifications could be missed, so the node rebuilds the engine, clears its model caches and
+ * reloads the registry after reconnecting. A message too large for a notification is replaced by
+ * clearing all caches, and so is a message that fails to be applied, the listener keeps receiving
+ * the next messages.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.cache.invalidation-bus", name = "enabled")
+@Slf4j
+public class PostgresInvalidationBus implements SmartLifecycle {
+
+  private static final String NOTIFY_QUERY = "select pg_notify(?, ?)";
+  private static final String LISTEN_STATEMENT = "LISTEN %s";
+  private static final int MAX_PAYLOAD_BYTES = 7900;
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private final ModelCacheInvalidator modelCacheInvalidator;
+  private final ReferenceDataRegistry referenceDataRegistry;
+  private final ModelSearchEngine modelSearchEngine;
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final InvalidationBus settings;
+  private final String url;
+  private final String username;
+  private final String password;
+
+  private volatile boolean running;
+  private Thread listenerThread;
+
+  public PostgresInvalidationBus(
+      ModelCacheInvalidator modelCacheInvalidator,
+      ReferenceDataRegistry referenceDataRegistry,
+      ModelSearchEngine modelSearchEngine,
+      JdbcTemplate jdbcTemplate,
+      ObjectMapper objectMapper,
+      CacheConfig cacheConfig,
+      @Value("${spring.datasource.url}") String url,
+      @Value("${spring.datasource.username}") String username,
+      @Value("${spring.datasource.password}") String password) {
+    this.modelCacheInvalidator = modelCacheInvalidator;
+    this.referenceDataRegistry = referenceDataRegistry;
+    this.modelSearchEngine = modelSearchEngine;
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    this.settings = cacheConfig.getInvalidationBus();
+    this.url = url;
+    this.username = username;
+    this.password = password;
+  }
+
+  @EventListener
+  public void publish(ModelInvalidation invalidation) {
+    String payload = buildPayload(invalidation);
+    jdbcTemplate.query(NOTIFY_QUERY, resultSet -> null, settings.getChannel(), payload);
+  }
+
+  @EventListener
+  public void publish(ModelBatchInvalidation invalidation) {
+    String payload = buildPayload(new Message(nodeId, null, invalidation.getModels(), null, null));
+    jdbcTemplate.query(NOTIFY_QUERY, resultSet -> null, settings.getChannel(), payload);
+  }
+
+  @EventListener
+  public void publish(ModelCatalogInvalidation invalidation) {
+    String payload = buildPayload(new Message(nodeId, null, null, null, null));
+    jdbcTemplate.query(NOTIFY_QUERY, resultSet -> null, settings.getChannel(), payload);
+  }
+
+  @EventListener
+  public void publish(ModelMissInvalidation invalidation) {
+    String payload = buildPayload(new Message(nodeId, null, null, null, Boolean.TRUE));
+    jdbcTemplate.query(NOTIFY_QUERY, resultSet -> null, settings.getChannel(), payload);
+  }
+
+  @EventListener
+  public void publish(ReferenceDataChange change) {
+    String payload = buildPayload(new Message(nodeId, null, null, change, null));
+    jdbcTemplate.query(NOTIFY_QUERY, resultSet -> null, settings.getChannel(), payload);
+  }
+
+  private String buildPayload(ModelInvalidation invalidation) {
+    return buildPayload(new Message(nodeId, invalidation, null, null, null));
+  }
+
+  private String buildPayload(Message message) {
+    try {
+      String payload = objectMapper.writeValueAsString(message);
+
+      if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+        return objectMapper.writeValueAsString(new Message(nodeId, null, null, null, null));
+      }
+      return payload;
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+    listenerThread.setDaemon(true);
+    listenerThread.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    listenerThread.interrupt();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void listen() {
+    boolean reconnected = false;
+    // a notification arrives right after the commit, a read replica may not have the write yet
+    ReadYourWritesContext.pinToPrimary();
+
+    while (running) {
+      try (Connection connection = DriverManager.getConnection(url, username, password)) {
+        subscribe(connection);
+
+        if (reconnected) {
+          clearAllLocally();
+        }
+        receiveNotifications(connection.unwrap(PGConnection.class));
+      } catch (SQLException | RuntimeException e) {
+        log.warn("The cache invalidation listener lost the connection", e);
+        reconnected = true;
+        pause();
+      }
+    }
+  }
+
+  private void subscribe(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(LISTEN_STATEMENT.formatted(settings.getChannel()));
+    }
+  }
+
+  void receiveNotifications(PGConnection connection) throws SQLException {
+    int timeout = (int) settings.getPollTimeout().toMillis();
+
+    while (running) {
+      PGNotification[] notifications = connection.getNotifications(timeout);
+
+      if (notifications != null) {
+        for (PGNotification notification : notifications) {
+          receive(notification.getParameter());
+        }
+      }
+    }
+  }
+
+  private void receive(String payload) {
+    try {
+      apply(payload);
+    } catch (RuntimeException e) {
+      log.warn("The cache invalidation message '{}' is not applied", payload, e);
+
+      try {
+        clearAllLocally();
+      } catch (RuntimeException clearException) {
+        log.error("The local caches are not cleared", clearException);
+      }
+    }
+  }
+
+  private void apply(String payload) {
+    try {
+      Message message = objectMapper.readValue(payload, Message.class);
+
+      if (nodeId.equals(message.getNode())) {
+        return;
+      }
+
+      if (nonNull(message.getReferences())) {
+        referenceDataRegistry.applyLocally(message.getReferences());
+      } else if (Boolean.TRUE.equals(message.getMisses())) {
+        modelCacheInvalidator.evictMissesLocally();
+      } else if (nonNull(message.getModels())) {
+        for (ModelInvalidation model : message.getModels()) {
+          modelSearchEngine.refresh(model.getId());
+          modelCacheInvalidator.evictModelLocally(model);
+        }
+      } else if (isNull(message.getModel())) {
+        clearAllLocally();
+      } else {
+        modelSearchEngine.refresh(message.getModel().getId());
+        modelCacheInvalidator.evictModelLocally(message.getModel());
+      }
+    } catch (JsonProcessingException e) {
+      log.warn("The cache invalidation message '{}' is not readable", payload, e);
+      clearAllLocally();
+    }
+  }
+
+  private void clearAllLocally() {
+    modelSearchEngine.rebuild();
+    modelCacheInvalidator.evictAllLocally();
+    referenceDataRegistry.reload();
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(settings.getReconnectDelay().toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * A notification payload, it has either a model, the models of a batch, a change of reference
+   * data or the misses flag, the invalidation without them clears all model caches and reloads the
+   * reference data.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  static class Message {
+
+    private String node;
+    private ModelInvalidation model;
+    private List<ModelInvalidation> models;
+    private ReferenceDataChange references;
+    private Boolean misses;
+  }
+}
@@ -0,0 +1,58 @@
+package ua.foxminded.cars.cache;
+
+import static java.util.Objects.nonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import lombok.Getter;
+
+/**
+ * An encoded JSON response body with its ETag and Cache-Control headers. The body and its gzip
+ * variant are kept in direct buffers, so they are stored outside the heap and are written to a
+ * response without encoding.
+ */
+@Getter
+public class SerializedResponse {
+
+  private final String eTag;
+  private final String cacheControl;
+  private final ByteBuffer body;
+  private final ByteBuffer gzipBody;
+
+  public SerializedResponse(String eTag, String cacheControl, byte[] body, byte[] gzipBody) {
+    this.eTag = eTag;
+    this.cacheControl = cacheControl;
+    this.body = toDirectBuffer(body);
+    this.gzipBody = nonNull(gzipBody) ? toDirectBuffer(gzipBody) : null;
+  }
+
+  public boolean hasGzipBody() {
+    return nonNull(gzipBody);
+  }
+
+  public int getSize() {
+    return body.capacity() + (hasGzipBody() ? gzipBody.capacity() : 0);
+  }
+
+  public void writeBody(OutputStream outputStream, boolean isGzip) throws IOException {
+    ByteBuffer buffer = (isGzip ? gzipBody : body).duplicate();
+    WritableByteChannel channel = Channels.newChannel(outputStream);
+
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  public int getBodyLength(boolean isGzip) {
+    return (isGzip ? gzipBody : body).capacity();
+  }
+
+  private ByteBuffer toDirectBuffer(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes).flip();
+    return buffer.asReadOnlyBuffer();
+  }
+}
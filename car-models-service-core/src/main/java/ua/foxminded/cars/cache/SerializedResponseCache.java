@@ -0,0 +1,82 @@
+package ua.foxminded.cars.cache;
+
+import static ua.foxminded.cars.cache.CacheNames.SEARCH_MODEL_RESPONSES;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps encoded search responses, a cached response is written as it is, so a cache hit costs
+ * neither the serialization nor the compression of a page. The entries are evicted together with
+ * the search pages by the {@link ModelCacheInvalidator}, their keys hold the search filter.
+ *
+ * <p>A response is stored only if no eviction ran since the request started, a response built from
+ * a page read before a write could be stored after the eviction of the write.
+ */
+@Component
+@RequiredArgsConstructor
+public class SerializedResponseCache {
+
+  private final CacheManager cacheManager;
+  private final ModelCacheInvalidator modelCacheInvalidator;
+
+  public long getGeneration() {
+    return modelCacheInvalidator.getGeneration();
+  }
+
+  public Optional<SerializedResponse> get(Object key) {
+    return Optional.ofNullable(getCache()).map(cache -> cache.get(key, SerializedResponse.class));
+  }
+
+  /**
+   * Stores an encoded response body with its gzip variant, the variant is kept only if it is
+   * smaller than the body.
+   *
+   * @param key - a key of a request
+   * @param generation - the invalidation generation taken before the response was built
+   * @param eTag - the ETag of a response
+   * @param cacheControl - the Cache-Control header of a response
+   * @param body - an encoded response body
+   * @return the stored response
+   */
+  public SerializedResponse put(
+      Object key, long generation, String eTag, String cacheControl, byte[] body) {
+    byte[] gzipBody = gzip(body);
+    SerializedResponse response =
+        new SerializedResponse(
+            eTag, cacheControl, body, gzipBody.length < body.length ? gzipBody : null);
+    Cache cache = getCache();
+
+    if (cache != null && modelCacheInvalidator.getGeneration() == generation) {
+      cache.put(key, response);
+
+      // an eviction that started before the put could miss the entry
+      if (modelCacheInvalidator.getGeneration() != generation) {
+        cache.evict(key);
+      }
+    }
+    return response;
+  }
+
+  private Cache getCache() {
+    return cacheManager.getCache(SEARCH_MODEL_RESPONSES);
+  }
+
+  private byte[] gzip(byte[] body) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(body.length / 4 + 32);
+
+    try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream)) {
+      gzipStream.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return outputStream.toByteArray();
+  }
+}
@@ -0,0 +1,120 @@
+package ua.foxminded.cars.cache;
+
+import static java.util.Objects.nonNull;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+
+/**
+ * Serves search requests from the {@link SerializedResponseCache}. A request is keyed by its sorted
+ * query parameters and its search filter, a cached body is written as it is, in the gzip variant if
+ * the client accepts it. A response that is not cached is taken from the controller and stored when
+ * its status is 200 and no cache eviction ran while the controller built it.
+ */
+@RequiredArgsConstructor
+public class SerializedResponseCacheFilter extends OncePerRequestFilter {
+
+  private static final String GZIP = "gzip";
+  private static final String ANY_ETAG = "*";
+
+  private final SerializedResponseCache serializedResponseCache;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !HttpMethod.GET.matches(request.getMethod());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    List<Object> key = buildKey(request);
+    long generation = serializedResponseCache.getGeneration();
+    Optional<SerializedResponse> cachedResponse = serializedResponseCache.get(key);
+
+    if (cachedResponse.isPresent()) {
+      write(request, response, cachedResponse.get());
+      return;
+    }
+    ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+    responseWrapper.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    filterChain.doFilter(request, responseWrapper);
+
+    if (responseWrapper.getStatus() == HttpServletResponse.SC_OK) {
+      serializedResponseCache.put(
+          key,
+          generation,
+          responseWrapper.getHeader(HttpHeaders.ETAG),
+          responseWrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+          responseWrapper.getContentAsByteArray());
+    }
+    responseWrapper.copyBodyToResponse();
+  }
+
+  private List<Object> buildKey(HttpServletRequest request) {
+    Map<String, List<String>> parameters = new TreeMap<>();
+    request
+        .getParameterMap()
+        .forEach((name, values) -> parameters.put(name, Arrays.asList(values)));
+    ServletRequestDataBinder binder = new ServletRequestDataBinder(new SearchFilter());
+    binder.bind(request);
+    return List.of(request.getRequestURI(), parameters, binder.getTarget());
+  }
+
+  private void write(
+      HttpServletRequest request, HttpServletResponse response, SerializedResponse cachedResponse)
+      throws IOException {
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+    if (nonNull(cachedResponse.getCacheControl())) {
+      response.setHeader(HttpHeaders.CACHE_CONTROL, cachedResponse.getCacheControl());
+    }
+
+    if (nonNull(cachedResponse.getETag())) {
+      response.setHeader(HttpHeaders.ETAG, cachedResponse.getETag());
+
+      if (isNotModified(request, cachedResponse.getETag())) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        return;
+      }
+    }
+    boolean isGzip = cachedResponse.hasGzipBody() && acceptsGzip(request);
+
+    if (isGzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(cachedResponse.getBodyLength(isGzip));
+    cachedResponse.writeBody(response.getOutputStream(), isGzip);
+  }
+
+  private boolean isNotModified(HttpServletRequest request, String eTag) {
+    String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+    return nonNull(ifNoneMatch)
+        && Arrays.stream(ifNoneMatch.split(","))
+            .map(String::trim)
+            .anyMatch(value -> value.equals(eTag) || value.equals(ANY_ETAG));
+  }
+
+  private boolean acceptsGzip(HttpServletRequest request) {
+    String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    return nonNull(acceptEncoding) && acceptEncoding.toLowerCase().contains(GZIP);
+  }
+}
@@ -13,6 +13,8 @@ import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import ua.foxminded.cars.exceptionhandler.exceptions.ResourceNotFoundException;
 
 @Profile("dev")
@@ -32,6 +34,7 @@ public class ApplicationRunnerConfig {
   private String password;
 
   @Bean
+  @Order(Ordered.HIGHEST_PRECEDENCE)
   ApplicationRunner applicationRunner() {
     return args -> {
       try (Connection connection = DriverManager.getConnection(url, username, password);
@@ -0,0 +1,69 @@
+package ua.foxminded.cars.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the application caches. Every cache can be tuned separately in the {@code caches} map
+ * by its name, a cache that is not listed there gets the {@code defaults} settings.
+ */
+@ConfigurationProperties("application.cache")
+@Data
+public class CacheConfig {
+
+  private CacheSpec defaults = new CacheSpec();
+  private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+  private InvalidationBus invalidationBus = new InvalidationBus();
+
+  /** The number of threads that refresh stale entries in the background. */
+  private int refreshThreads = 2;
+
+  public CacheSpec getSpec(String cacheName) {
+    return caches.getOrDefault(cacheName, defaults);
+  }
+
+  @Data
+  public static class CacheSpec {
+
+    /** The maximum number of entries, it is ignored when the maximumWeight is set. */
+    private Long maximumSize = 1000L;
+
+    /**
+     * The maximum total weight of entries, a page weighs as much as the number of its elements, an
+     * encoded response weighs as much as its bytes and any other value weighs 1.
+     */
+    private Long maximumWeight;
+
+    private Duration expireAfterWrite;
+    private Duration expireAfterAccess;
+
+    /**
+     * Whether concurrent misses of a key are coalesced into a single load, the other callers wait
+     * for its result.
+     */
+    private boolean singleFlight = true;
+
+    /**
+     * The age after which an entry is stale, a stale entry is served while it is refreshed in the
+     * background. It takes effect only if the expireAfterWrite is set and it should be less than
+     * it.
+     */
+    private Duration refreshAfterWrite;
+  }
+
+  /**
+   * Settings of the invalidation bus that delivers cache invalidations to other nodes through the
+   * PostgreSQL LISTEN/NOTIFY.
+   */
+  @Data
+  public static class InvalidationBus {
+
+    private boolean enabled;
+    private String channel = "model_cache_invalidation";
+    private Duration pollTimeout = Duration.ofSeconds(1);
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+  }
+}
@@ -0,0 +1,140 @@
+package ua.foxminded.cars.config;
+
+import static java.util.Objects.nonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.cars.cache.CoalescingCaffeineCache;
+import ua.foxminded.cars.cache.SerializedResponse;
+import ua.foxminded.cars.config.CacheConfig.CacheSpec;
+import ua.foxminded.cars.service.dto.ModelCursorPageDto;
+
+/**
+ * Builds bounded Caffeine caches. Caffeine uses the W-TinyLFU admission policy, so a burst of
+ * one-off search keys does not push the frequently used entries out of a cache. Concurrent misses
+ * of a key are coalesced by {@link CoalescingCaffeineCache}, it also refreshes stale entries on a
+ * small pool of daemon threads in read-only transactions, a refresh that does not fit into the pool
+ * queue is skipped. The misses of the keys evicted within the maximum replication lag are loaded
+ * from the primary.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CacheManagerConfig {
+
+  private static final int REFRESH_QUEUE_CAPACITY = 1000;
+
+  private final CacheConfig cacheConfig;
+  private final DataSourceRoutingConfig routingConfig;
+  private final MeterRegistry meterRegistry;
+  private final PlatformTransactionManager transactionManager;
+  private ExecutorService refreshExecutor;
+
+  @Bean
+  CacheManager cacheManager() {
+    refreshExecutor = buildRefreshExecutor();
+    Duration replicationLag =
+        routingConfig.isEnabled() ? routingConfig.getMaxReplicationLag() : Duration.ZERO;
+    TransactionTemplate refreshTransaction = new TransactionTemplate(transactionManager);
+    refreshTransaction.setReadOnly(true);
+    CaffeineCacheManager cacheManager =
+        new CaffeineCacheManager() {
+
+          @Override
+          protected org.springframework.cache.Cache adaptCaffeineCache(
+              String name, Cache<Object, Object> cache) {
+            return new CoalescingCaffeineCache(
+                name,
+                cache,
+                cacheConfig.getSpec(name),
+                meterRegistry,
+                refreshExecutor,
+                refreshTransaction,
+                replicationLag);
+          }
+        };
+    cacheManager.setCaffeine(buildCaffeine(cacheConfig.getDefaults()));
+    cacheConfig
+        .getCaches()
+        .forEach(
+            (cacheName, cacheSpec) ->
+                cacheManager.registerCustomCache(cacheName, buildCaffeine(cacheSpec).build()));
+    return cacheManager;
+  }
+
+  @PreDestroy
+  void shutdownRefreshExecutor() {
+    if (nonNull(refreshExecutor)) {
+      refreshExecutor.shutdownNow();
+    }
+  }
+
+  private ExecutorService buildRefreshExecutor() {
+    AtomicInteger threadNumber = new AtomicInteger();
+    return new ThreadPoolExecutor(
+        cacheConfig.getRefreshThreads(),
+        cacheConfig.getRefreshThreads(),
+        0L,
+        TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+        runnable -> {
+          Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  private Caffeine<Object, Object> buildCaffeine(CacheSpec cacheSpec) {
+    Caffeine<Object, Object> caffeine = Caffeine.newBuilder().recordStats();
+
+    if (nonNull(cacheSpec.getMaximumWeight())) {
+      caffeine.maximumWeight(cacheSpec.getMaximumWeight()).weigher(this::weigh);
+    } else if (nonNull(cacheSpec.getMaximumSize())) {
+      caffeine.maximumSize(cacheSpec.getMaximumSize());
+    }
+
+    if (nonNull(cacheSpec.getExpireAfterWrite())) {
+      caffeine.expireAfterWrite(cacheSpec.getExpireAfterWrite());
+    }
+
+    if (nonNull(cacheSpec.getExpireAfterAccess())) {
+      caffeine.expireAfterAccess(cacheSpec.getExpireAfterAccess());
+    }
+    return caffeine;
+  }
+
+  private int weigh(Object key, Object value) {
+    if (value instanceof SerializedResponse serializedResponse) {
+      return Math.max(serializedResponse.getSize(), 1);
+    }
+
+    if (value instanceof Slice<?> slice) {
+      return Math.max(slice.getNumberOfElements(), 1);
+    }
+
+    if (value instanceof ModelCursorPageDto cursorPage) {
+      return Math.max(cursorPage.getContent().size(), 1);
+    }
+
+    if (value instanceof Collection<?> collection) {
+      return Math.max(collection.size(), 1);
+    }
+    return 1;
+  }
+}
@@ -0,0 +1,50 @@
+package ua.foxminded.cars.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the routing of read-only transactions to the read replicas, the other transactions go
+ * to the {@code spring.datasource} primary. The replicas use the driver and the pool settings of
+ * the primary.
+ */
+@ConfigurationProperties("application.datasource-routing")
+@Data
+public class DataSourceRoutingConfig {
+
+  private boolean enabled;
+  private List<Replica> replicas = new ArrayList<>();
+
+  /** The replication lag after which a replica is not read until it catches up. */
+  private Duration maxReplicationLag = Duration.ofSeconds(5);
+
+  private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+  /**
+   * The query that returns the replication lag of a replica in seconds. The default query reports
+   * no lag for a replica that has replayed everything it received, since the replay timestamp of an
+   * idle replica stays behind.
+   */
+  private String lagQuery =
+      """
+      select coalesce(case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+        else extract(epoch from now() - pg_last_xact_replay_timestamp()) end, 0)
+      """;
+
+  /**
+   * The time after a write of a client during which its reads go to the primary, it should cover
+   * the usual replication lag.
+   */
+  private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+  @Data
+  public static class Replica {
+
+    private String url;
+    private String username;
+    private String password;
+  }
+}
@@ -0,0 +1,55 @@
+package ua.foxminded.cars.config;
+
+import static java.util.Objects.nonNull;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+
+/**
+ * The {@code Cache-Control} policies of the read endpoints, a policy is looked up by the operation
+ * ID of an endpoint. An endpoint without a policy sends no {@code Cache-Control} header.
+ */
+@ConfigurationProperties("application.http-cache")
+@Data
+public class HttpCacheConfig {
+
+  private Map<String, CachePolicy> policies = new LinkedHashMap<>();
+
+  public CacheControl getCacheControl(String operationId) {
+    CachePolicy cachePolicy = policies.get(operationId);
+    return nonNull(cachePolicy) ? cachePolicy.toCacheControl() : CacheControl.empty();
+  }
+
+  @Data
+  public static class CachePolicy {
+
+    private Duration maxAge;
+    private Duration staleWhileRevalidate;
+    private Duration staleIfError;
+
+    /**
+     * Whether shared caches like a CDN can store a response, the responses are private by default
+     * since all the endpoints require authorization.
+     */
+    private boolean cachePublic;
+
+    CacheControl toCacheControl() {
+      CacheControl cacheControl =
+          nonNull(maxAge) ? CacheControl.maxAge(maxAge) : CacheControl.empty();
+      cacheControl = cachePublic ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+
+      if (nonNull(staleWhileRevalidate)) {
+        cacheControl = cacheControl.staleWhileRevalidate(staleWhileRevalidate);
+      }
+
+      if (nonNull(staleIfError)) {
+        cacheControl = cacheControl.staleIfError(staleIfError);
+      }
+      return cacheControl;
+    }
+  }
+}
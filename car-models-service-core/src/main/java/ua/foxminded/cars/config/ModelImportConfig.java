@@ -0,0 +1,31 @@
+package ua.foxminded.cars.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the bulk import of models from CSV files. An uploaded file is kept in the directory
+ * until its job is completed, so a failed job can be resumed from the file. A job is resumed only
+ * on a node that has its file, the directory has to be shared by all nodes, e.g. a network volume,
+ * for a job to be resumed on any node.
+ */
+@ConfigurationProperties("application.model-import")
+@Data
+public class ModelImportConfig {
+
+  private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "model-imports");
+
+  /** The number of rows written by a single transaction, the progress is saved after each one. */
+  private int batchSize = 1000;
+
+  /**
+   * The time without progress after which a running job is considered stopped, such a job can be
+   * resumed.
+   */
+  private Duration stalledAfter = Duration.ofMinutes(5);
+
+  /** The number of jobs that run at the same time, the other jobs wait in a queue. */
+  private int threads = 1;
+}
@@ -0,0 +1,27 @@
+package ua.foxminded.cars.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ua.foxminded.cars.cache.SerializedResponseCache;
+import ua.foxminded.cars.cache.SerializedResponseCacheFilter;
+
+/**
+ * Registers the filter that serves model searches from encoded responses. The filter has the lowest
+ * order, so it runs after the security filters and a cached response is served only to an
+ * authorized request.
+ */
+@Configuration
+public class ResponseCacheConfig {
+
+  private static final String SEARCH_MODELS_URL = "/v1/models";
+
+  @Bean
+  FilterRegistrationBean<SerializedResponseCacheFilter> serializedResponseCacheFilter(
+      SerializedResponseCache serializedResponseCache) {
+    FilterRegistrationBean<SerializedResponseCacheFilter> registration =
+        new FilterRegistrationBean<>(new SerializedResponseCacheFilter(serializedResponseCache));
+    registration.addUrlPatterns(SEARCH_MODELS_URL);
+    return registration;
+  }
+}
@@ -0,0 +1,91 @@
+package ua.foxminded.cars.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Clock;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import ua.foxminded.cars.config.DataSourceRoutingConfig.Replica;
+import ua.foxminded.cars.routing.ReadYourWritesFilter;
+import ua.foxminded.cars.routing.ReplicaLagMonitor;
+import ua.foxminded.cars.routing.ReplicaRoutingDataSource;
+
+/**
+ * Replaces the single data source with the one that routes read-only transactions to the read
+ * replicas. Every database gets its own pool with the {@code spring.datasource.hikari} settings,
+ * the routing data source is wrapped into a lazy proxy, so a connection is routed after a
+ * transaction is marked as read-only.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource-routing", name = "enabled")
+@RequiredArgsConstructor
+public class RoutingDataSourceConfig {
+
+  private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+  private static final String PRIMARY_POOL = "primary";
+  private static final String REPLICA_POOL = "replica-";
+
+  private final DataSourceRoutingConfig routingConfig;
+  private final DataSourceProperties dataSourceProperties;
+  private final Environment environment;
+
+  @Bean
+  ReplicaRoutingDataSource replicaRoutingDataSource() {
+    HikariDataSource primary =
+        dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    configurePool(primary, PRIMARY_POOL);
+    List<Replica> replicas = routingConfig.getReplicas();
+    List<DataSource> replicaPools =
+        IntStream.range(0, replicas.size())
+            .mapToObj(index -> buildReplicaPool(replicas.get(index), index + 1))
+            .toList();
+    return new ReplicaRoutingDataSource(primary, replicaPools);
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+
+  @Bean
+  ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new ReplicaLagMonitor(replicaRoutingDataSource, routingConfig);
+  }
+
+  @Bean
+  FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+    return new FilterRegistrationBean<>(
+        new ReadYourWritesFilter(routingConfig.getReadYourWritesWindow(), Clock.systemUTC()));
+  }
+
+  private DataSource buildReplicaPool(Replica replica, int number) {
+    HikariDataSource replicaPool =
+        dataSourceProperties
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(replica.getUrl())
+            .username(replica.getUsername())
+            .password(replica.getPassword())
+            .build();
+    configurePool(replicaPool, REPLICA_POOL + number);
+    replicaPool.setReadOnly(true);
+    return replicaPool;
+  }
+
+  private void configurePool(HikariDataSource pool, String poolName) {
+    Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+    pool.setPoolName(poolName);
+  }
+}
@@ -18,12 +18,16 @@ import ua.foxminded.cars.security.PolicyEnforcerFilter;
 @EnableWebSecurity
 public class SecurityConfig {
 
+  private static final String HEALTH_PATH = "/actuator/health/**";
+
   @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
   private String jwkSetUri;
 
   @Bean
   SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-    http.authorizeHttpRequests(request -> request.anyRequest().authenticated())
+    http.authorizeHttpRequests(
+            request ->
+                request.requestMatchers(HEALTH_PATH).permitAll().anyRequest().authenticated())
         .cors(Customizer.withDefaults())
         .oauth2Login(Customizer.withDefaults())
         .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwkSetUri(jwkSetUri)))
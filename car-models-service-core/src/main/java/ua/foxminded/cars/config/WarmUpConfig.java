@@ -0,0 +1,35 @@
+package ua.foxminded.cars.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+
+/**
+ * Settings of the warm-up that runs before the service reports it is ready. The first pages of all
+ * models are always loaded, the search filters and the models are the hot keys of the deployment.
+ */
+@ConfigurationProperties("application.warm-up")
+@Data
+public class WarmUpConfig {
+
+  private boolean enabled;
+
+  /** The number of the first pages loaded for every search filter. */
+  private int pages = 3;
+
+  /** The size of a page, it should be the default page size of requests to match their keys. */
+  private int pageSize = 100;
+
+  private List<SearchFilter> searchFilters = new ArrayList<>();
+  private List<ModelKey> models = new ArrayList<>();
+
+  @Data
+  public static class ModelKey {
+
+    private String manufacturer;
+    private String name;
+    private int year;
+  }
+}
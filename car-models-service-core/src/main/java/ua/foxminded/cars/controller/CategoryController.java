@@ -13,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import ua.foxminded.cars.config.HttpCacheConfig;
 import ua.foxminded.cars.service.CategoryService;
 import ua.foxminded.cars.service.dto.CategoryDto;
 
@@ -27,7 +28,10 @@ import ua.foxminded.cars.service.dto.CategoryDto;
 @RequestMapping("/v1/categories")
 public class CategoryController {
 
+  private static final String GET_ALL_CATEGORIES = "getAllCategories";
+
   private final CategoryService categoryService;
+  private final HttpCacheConfig httpCacheConfig;
 
   @Operation(
       summary = "Gets all categories",
@@ -47,6 +51,8 @@ public class CategoryController {
   @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<Page<CategoryDto>> getAllCategories(Pageable pageable) {
     Page<CategoryDto> pageWithCategories = categoryService.getAllCategories(pageable);
-    return ResponseEntity.ok(pageWithCategories);
+    return ResponseEntity.ok()
+        .cacheControl(httpCacheConfig.getCacheControl(GET_ALL_CATEGORIES))
+        .body(pageWithCategories);
   }
 }
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import ua.foxminded.cars.config.HttpCacheConfig;
 import ua.foxminded.cars.service.ManufacturerService;
 import ua.foxminded.cars.service.dto.ManufacturerDto;
 
@@ -28,7 +29,11 @@ import ua.foxminded.cars.service.dto.ManufacturerDto;
 @RequiredArgsConstructor
 public class ManufacturerController {
 
+  private static final String GET_ALL_MANUFACTURERS = "getAllManufacturers";
+  private static final String GET_MANUFACTURER = "getManufacturer";
+
   private final ManufacturerService manufacturerService;
+  private final HttpCacheConfig httpCacheConfig;
 
   @Operation(
       summary = "Gets all manufacturers",
@@ -47,7 +52,9 @@ public class ManufacturerController {
   @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<Page<ManufacturerDto>> getAllManufacturers(Pageable pageable) {
     Page<ManufacturerDto> manufacturersPage = manufacturerService.getAllManufacturers(pageable);
-    return ResponseEntity.ok(manufacturersPage);
+    return ResponseEntity.ok()
+        .cacheControl(httpCacheConfig.getCacheControl(GET_ALL_MANUFACTURERS))
+        .body(manufacturersPage);
   }
 
   @Operation(
@@ -89,6 +96,8 @@ public class ManufacturerController {
   @GetMapping(value = "/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<ManufacturerDto> getManufacturer(@PathVariable String name) {
     ManufacturerDto manufacturerDto = manufacturerService.getManufacturer(name);
-    return ResponseEntity.ok(manufacturerDto);
+    return ResponseEntity.ok()
+        .cacheControl(httpCacheConfig.getCacheControl(GET_MANUFACTURER))
+        .body(manufacturerDto);
   }
 }
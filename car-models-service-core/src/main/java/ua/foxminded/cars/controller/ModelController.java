@@ -1,7 +1,8 @@
 package ua.foxminded.cars.controller;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
-import static org.springframework.http.HttpStatus.OK;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,13 +13,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -28,11 +34,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import ua.foxminded.cars.config.HttpCacheConfig;
+import ua.foxminded.cars.exceptionhandler.exceptions.ModelVersionMismatchException;
 import ua.foxminded.cars.repository.specification.SearchFilter;
 import ua.foxminded.cars.service.ModelService;
+import ua.foxminded.cars.service.dto.ModelBatchResultDto;
+import ua.foxminded.cars.service.dto.ModelCursorPageDto;
 import ua.foxminded.cars.service.dto.ModelDto;
 
 /**
@@ -51,8 +63,21 @@ public class ModelController {
   private static final String MODEL_ID_PATH = "/models/{id}";
   private static final String MODEL_PATH = "/manufacturers/{manufacturer}/models/{name}/{year}";
   private static final String MODELS_PATH = "/models";
+  private static final String MODELS_BATCH_PATH = "/models:batch";
+  private static final int MAX_BATCH_SIZE = 1000;
+  private static final String ANY_ETAG = "*";
+  private static final String GET_MODEL = "getModel";
+  private static final String GET_MODEL_BY_ID = "getModelById";
+  private static final String SEARCH_MODELS = "searchModels";
+  private static final String AFTER = "after";
+  private static final String TOTAL = "total";
+  private static final String EXACT_TOTAL = "exact";
+  private static final String ESTIMATED_TOTAL = "estimate";
+  private static final String NO_TOTAL = "none";
+  private static final String TOTAL_MODES = EXACT_TOTAL + "|" + ESTIMATED_TOTAL + "|" + NO_TOTAL;
 
   private final ModelService modelService;
+  private final HttpCacheConfig httpCacheConfig;
 
   @Operation(
       summary = "Get a model by manufacturer, name, and year",
@@ -78,11 +103,15 @@ public class ModelController {
         @ApiResponse(responseCode = "404", description = "The model has not been found")
       })
   @GetMapping(value = V1 + MODEL_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
-  public ModelDto getModel(
+  public ResponseEntity<ModelDto> getModel(
       @PathVariable String manufacturer,
       @PathVariable String name,
       @PathVariable @Positive int year) {
-    return modelService.getModel(manufacturer, name, year);
+    ModelDto model = modelService.getModel(manufacturer, name, year);
+    return ResponseEntity.ok()
+        .eTag(ModelETags.of(model))
+        .cacheControl(httpCacheConfig.getCacheControl(GET_MODEL))
+        .body(model);
   }
 
   /**
@@ -92,6 +121,8 @@ public class ModelController {
    *
    * @param searchFilter - a parameter object containing maxYear, minYear, year, manufacturer, name,
    *     category parameters
+   * @param total - how the total count is found, it is exact by default, the estimate is used only
+   *     for the search without parameters, an unknown mode is rejected
    * @param pageRequest - an object with page parameters
    * @return - Page<ModelDto> - a page containing models
    */
@@ -128,9 +159,116 @@ public class ModelController {
             content = @Content(examples = @ExampleObject("no content")))
       })
   @GetMapping(value = V1 + MODELS_PATH)
-  public Page<ModelDto> searchModels(
+  public ResponseEntity<Page<ModelDto>> searchModels(
+      @Valid @ParameterObject SearchFilter searchFilter,
+      @Parameter(description = "The total count mode, 'exact', 'estimate' or 'none'")
+          @RequestParam(name = TOTAL, defaultValue = EXACT_TOTAL)
+          @Pattern(regexp = TOTAL_MODES, message = "must be 'exact', 'estimate' or 'none'")
+          String total,
+      @ParameterObject Pageable pageRequest) {
+    Page<ModelDto> page =
+        ESTIMATED_TOTAL.equals(total)
+            ? modelService.searchModelWithEstimate(searchFilter, pageRequest)
+            : modelService.searchModel(searchFilter, pageRequest);
+    return ResponseEntity.ok()
+        .eTag(ModelETags.of(page))
+        .cacheControl(httpCacheConfig.getCacheControl(SEARCH_MODELS))
+        .body(page);
+  }
+
+  /**
+   * Searches for models like the search with pages, but a slice has no total count, it only knows
+   * whether there is a next page, so no count query is run. The request with the total=none
+   * parameter is served by this method.
+   *
+   * @param searchFilter - a parameter object containing maxYear, minYear, year, manufacturer, name,
+   *     category parameters
+   * @param pageRequest - an object with page parameters
+   * @return - Slice<ModelDto> - a slice containing models
+   */
+  @Operation(
+      summary = "Searchers models without the total count",
+      operationId = "searchModelsSlice",
+      description =
+          "Searchers for models by optional parameters and returns a slice that has no total count",
+      tags = "model",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The sorted slice of models",
+            useReturnTypeSchema = true),
+        @ApiResponse(
+            responseCode = "400",
+            description = "The maxYear, minYear, modelYear parameters must be positive"),
+        @ApiResponse(
+            responseCode = "401",
+            description = "The user is not authorized",
+            content = @Content(examples = @ExampleObject("no content")))
+      })
+  @GetMapping(
+      value = V1 + MODELS_PATH,
+      params = {TOTAL + "=" + NO_TOTAL, "!" + AFTER})
+  public ResponseEntity<Slice<ModelDto>> searchModelsSlice(
       @Valid @ParameterObject SearchFilter searchFilter, @ParameterObject Pageable pageRequest) {
-    return modelService.searchModel(searchFilter, pageRequest);
+    Slice<ModelDto> slice = modelService.searchModelSlice(searchFilter, pageRequest);
+    return ResponseEntity.ok()
+        .eTag(ModelETags.of(slice))
+        .cacheControl(httpCacheConfig.getCacheControl(SEARCH_MODELS))
+        .body(slice);
+  }
+
+  /**
+   * Searches for models page by page with cursors, a page starts right after the model the cursor
+   * points to, so a deep page is read as fast as the first one. The request with the after
+   * parameter is served by this method, the empty one starts from the first model.
+   *
+   * @param searchFilter - a parameter object containing maxYear, minYear, year, manufacturer, name,
+   *     category parameters
+   * @param after - the cursor of the page, it is the next cursor of the previous page
+   * @param pageRequest - an object with the page size and the sort by name
+   * @return - ModelCursorPageDto - a page containing models and the cursor of the next page
+   */
+  @Operation(
+      summary = "Searchers models with cursors",
+      operationId = "searchModelsAfter",
+      description =
+          "Searchers for models after a cursor, the models are sorted by name and the next cursor"
+              + " is returned until the last page",
+      tags = "model",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The page of models with the next cursor",
+            useReturnTypeSchema = true),
+        @ApiResponse(
+            responseCode = "400",
+            description = "The cursor is not valid or the sort is not by name",
+            content =
+                @Content(
+                    examples =
+                        @ExampleObject(
+                            """
+              {
+                "timestamp": "2024-05-14T16:09:01.564992622",
+                "errorCode": 400,
+                "details": "The cursor 'abc' is not valid"
+              }
+            """))),
+        @ApiResponse(
+            responseCode = "401",
+            description = "The user is not authorized",
+            content = @Content(examples = @ExampleObject("no content")))
+      })
+  @GetMapping(value = V1 + MODELS_PATH, params = AFTER)
+  public ResponseEntity<ModelCursorPageDto> searchModelsAfter(
+      @Valid @ParameterObject SearchFilter searchFilter,
+      @RequestParam(name = AFTER, defaultValue = "") String after,
+      @ParameterObject Pageable pageRequest) {
+    ModelCursorPageDto page = modelService.searchModelAfter(searchFilter, after, pageRequest);
+    return ResponseEntity.ok()
+        .eTag(ModelETags.of(page))
+        .cacheControl(httpCacheConfig.getCacheControl(SEARCH_MODELS))
+        .body(page);
   }
 
   @Operation(
@@ -174,11 +312,18 @@ public class ModelController {
               "errorCode": 404,
               "details": "The model with id=37ce882b-f56b-4e66-a1a0-eab0f252bce6 not found"
             }
-            """)))
+            """))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "The model has not been changed since the If-None-Match ETag")
       })
   @GetMapping(V1 + MODEL_ID_PATH)
-  public ModelDto getModelById(@PathVariable UUID id) {
-    return modelService.getModelById(id);
+  public ResponseEntity<ModelDto> getModelById(@PathVariable UUID id) {
+    ModelDto model = modelService.getModelById(id);
+    return ResponseEntity.ok()
+        .eTag(ModelETags.of(model))
+        .cacheControl(httpCacheConfig.getCacheControl(GET_MODEL_BY_ID))
+        .body(model);
   }
 
   /**
@@ -254,7 +399,55 @@ public class ModelController {
             .path(V1 + MODEL_ID_PATH)
             .buildAndExpand(persistedModel.getId())
             .toUri();
-    return ResponseEntity.created(location).build();
+    return ResponseEntity.created(location).eTag(ModelETags.of(persistedModel)).build();
+  }
+
+  /**
+   * Creates models of a batch in a single transaction, the response has a result for every model in
+   * the order of the request, a model that already exists is not created and its result has the ID
+   * of the existing model.
+   *
+   * @param models - models with a manufacturer, a name, a year and categories
+   * @return - List<ModelBatchResultDto> - the results of the models
+   */
+  @Operation(
+      summary = "Creates a batch of models",
+      operationId = "createModels",
+      description =
+          "Creates models of a batch in a single transaction and returns the result of every model",
+      tags = "model",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description =
+                "The results of the models, created or conflicting with an existing model",
+            useReturnTypeSchema = true),
+        @ApiResponse(
+            responseCode = "400",
+            description = "A model has no manufacturer, name, positive year or categories",
+            content =
+                @Content(
+                    examples =
+                        @ExampleObject(
+                            """
+          {
+            "timestamp": "2024-05-13T19:30:34.002022885",
+            "errorCode": 400,
+            "details": "The model at index 2 must have a manufacturer, a name and a positive year"
+          }
+          """))),
+        @ApiResponse(
+            responseCode = "401",
+            description = "The user is not authorized",
+            content = @Content(examples = @ExampleObject("no content")))
+      })
+  @PostMapping(
+      value = V1 + MODELS_BATCH_PATH,
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<ModelBatchResultDto>> createModels(
+      @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE) List<@Valid ModelDto> models) {
+    return ResponseEntity.ok(modelService.createModels(models));
   }
 
   @Operation(
@@ -263,7 +456,10 @@ public class ModelController {
       description = "Updates a car model by a provided request body",
       tags = "model",
       responses = {
-        @ApiResponse(responseCode = "200", description = "The model data has been updated"),
+        @ApiResponse(
+            responseCode = "200",
+            description = "The model data has been updated",
+            headers = @Header(name = "ETag", description = "The new ETag of the model")),
         @ApiResponse(
             responseCode = "400",
             description = "Bad request",
@@ -297,21 +493,51 @@ public class ModelController {
                 "errorCode": 404,
                 "details": "The model with manufacturer 'Chevrolet', name 'Malibu' and modelYear '20292' not found"
               }
+              """))),
+        @ApiResponse(
+            responseCode = "412",
+            description = "The model has been changed since the If-Match ETag",
+            content =
+                @Content(
+                    examples =
+                        @ExampleObject(
+                            """
+              {
+                "timestamp": "2024-05-12T10:36:28.639097556",
+                "errorCode": 412,
+                "details": "The model with manufacturer 'Chevrolet', name 'Malibu' and year '2020' does not match the If-Match version"
+              }
               """)))
       })
-  @ResponseStatus(OK)
   @PutMapping(value = V1 + MODEL_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
-  public void updateModel(
+  public ResponseEntity<Void> updateModel(
       @Parameter(description = "A manufacturer name", example = "BMW") @PathVariable
           String manufacturer,
       @Parameter(description = "A model name", example = "x7") @PathVariable String name,
       @Parameter(description = "A modelYear of a model", example = "'2023") @PathVariable @Positive
           int year,
+      @Parameter(description = "The ETag of the model state the update is based on")
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          String ifMatch,
       @Validated @RequestBody ModelDto modelDto) {
     modelDto.setYear(year);
     modelDto.setManufacturer(manufacturer);
     modelDto.setName(name);
-    modelService.updateModel(modelDto);
+    modelDto.setId(null);
+    modelDto.setVersion(null);
+
+    if (nonNull(ifMatch) && !ANY_ETAG.equals(ifMatch.trim())) {
+      UUID expectedId = ModelETags.parseModelId(ifMatch.trim());
+      Long expectedVersion = ModelETags.parseVersion(ifMatch.trim());
+
+      if (isNull(expectedId) || isNull(expectedVersion)) {
+        throw new ModelVersionMismatchException(manufacturer, name, year);
+      }
+      modelDto.setId(expectedId);
+      modelDto.setVersion(expectedVersion);
+    }
+    ModelDto updatedModel = modelService.updateModel(modelDto);
+    return ResponseEntity.ok().eTag(ModelETags.of(updatedModel)).build();
   }
 
   @DeleteMapping(value = V1 + MODEL_ID_PATH)
@@ -0,0 +1,99 @@
+package ua.foxminded.cars.controller;
+
+import static java.util.Objects.isNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.DigestUtils;
+import ua.foxminded.cars.service.dto.ModelCursorPageDto;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+/**
+ * Builds strong ETags of models. The ETag of a model is its ID with its version, so a model that is
+ * deleted and created again gets a new ETag. The ETag of a page is a digest of the ETags of its
+ * models and its paging values, a slice has no total count, so its next page flag is used instead.
+ */
+public class ModelETags {
+
+  private static final String QUOTE = "\"";
+  private static final char VERSION_SEPARATOR = '.';
+
+  private ModelETags() {}
+
+  public static String of(ModelDto model) {
+    return QUOTE + model.getId() + VERSION_SEPARATOR + model.getVersion() + QUOTE;
+  }
+
+  public static String of(Slice<ModelDto> page) {
+    StringBuilder state =
+        new StringBuilder()
+            .append(page.getNumber())
+            .append(page.getSize())
+            .append(page instanceof Page<?> fullPage ? fullPage.getTotalElements() : page.hasNext())
+            .append(page.getSort());
+    page.forEach(model -> state.append(of(model)));
+    return digest(state);
+  }
+
+  public static String of(ModelCursorPageDto page) {
+    StringBuilder state = new StringBuilder().append(page.getSize()).append(page.getNext());
+    page.getContent().forEach(model -> state.append(of(model)));
+    return digest(state);
+  }
+
+  private static String digest(StringBuilder state) {
+    byte[] stateBytes = state.toString().getBytes(StandardCharsets.UTF_8);
+    return QUOTE + DigestUtils.md5DigestAsHex(stateBytes) + QUOTE;
+  }
+
+  /**
+   * Reads the model ID from a strong ETag of a model.
+   *
+   * @param eTag - the ETag of a model
+   * @return the model ID or null if the value is not a model ETag
+   */
+  public static UUID parseModelId(String eTag) {
+    String value = unquote(eTag);
+    int separatorIndex = isNull(value) ? -1 : value.lastIndexOf(VERSION_SEPARATOR);
+
+    if (separatorIndex < 0) {
+      return null;
+    }
+
+    try {
+      return UUID.fromString(value.substring(0, separatorIndex));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Reads the model version from a strong ETag of a model.
+   *
+   * @param eTag - the ETag of a model
+   * @return the model version or null if the value is not a model ETag
+   */
+  public static Long parseVersion(String eTag) {
+    String value = unquote(eTag);
+    int separatorIndex = isNull(value) ? -1 : value.lastIndexOf(VERSION_SEPARATOR);
+
+    if (separatorIndex < 0) {
+      return null;
+    }
+
+    try {
+      return Long.valueOf(value.substring(separatorIndex + 1));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static String unquote(String eTag) {
+    if (isNull(eTag) || eTag.length() < 2 || !eTag.startsWith(QUOTE) || !eTag.endsWith(QUOTE)) {
+      return null;
+    }
+    return eTag.substring(1, eTag.length() - 1);
+  }
+}
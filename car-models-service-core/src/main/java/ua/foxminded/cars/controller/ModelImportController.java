@@ -0,0 +1,140 @@
+package ua.foxminded.cars.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import ua.foxminded.cars.service.ModelImportService;
+import ua.foxminded.cars.service.dto.ModelImportJobDto;
+
+/**
+ * A REST controller to import models from CSV files. An import runs in the background, the response
+ * points to the job that reports its progress.
+ */
+@Tag(name = "ModelImportController", description = "Imports models from CSV files")
+@RestController
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class ModelImportController {
+
+  private static final String V1 = "/v1";
+  private static final String MODEL_IMPORTS_PATH = "/model-imports";
+  private static final String MODEL_IMPORT_PATH = "/model-imports/{id}";
+  private static final String RESUME_PATH = "/model-imports/{id}:resume";
+  private static final String TEXT_CSV = "text/csv";
+
+  private final ModelImportService modelImportService;
+
+  @Operation(
+      summary = "Imports models from a CSV file",
+      operationId = "importModels",
+      description =
+          """
+          Starts an import of a CSV file with the Make, Year, Model and Category columns, the \
+          Category is a comma separated list of categories""",
+      tags = "model",
+      responses = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "The import has been started",
+            headers = @Header(name = "Location", description = "The URI of the import job")),
+        @ApiResponse(
+            responseCode = "400",
+            description = "The CSV file has no required column",
+            content =
+                @Content(
+                    examples =
+                        @ExampleObject(
+                            """
+          {
+            "timestamp": "2024-05-13T19:30:34.002022885",
+            "errorCode": 400,
+            "details": "The CSV file is not valid: The CSV file has no 'make' column"
+          }
+          """))),
+        @ApiResponse(
+            responseCode = "401",
+            description = "The user is not authorized",
+            content = @Content(examples = @ExampleObject("no content")))
+      })
+  @PostMapping(
+      value = V1 + MODEL_IMPORTS_PATH,
+      consumes = TEXT_CSV,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ModelImportJobDto> importModels(InputStream csv) {
+    ModelImportJobDto job = modelImportService.startImport(csv);
+    return ResponseEntity.accepted().location(buildLocation(job.getId())).body(job);
+  }
+
+  @Operation(
+      summary = "Gets an import of models",
+      operationId = "getModelImport",
+      description = "Retrieves the status and the progress of an import of models",
+      tags = "model",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The import job received",
+            useReturnTypeSchema = true),
+        @ApiResponse(responseCode = "404", description = "The import has not been found")
+      })
+  @GetMapping(value = V1 + MODEL_IMPORT_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ModelImportJobDto> getModelImport(@PathVariable UUID id) {
+    return ResponseEntity.ok(modelImportService.getImport(id));
+  }
+
+  @Operation(
+      summary = "Resumes an import of models",
+      operationId = "resumeModelImport",
+      description =
+          "Resumes a failed or stopped import after the last rows it has written to a database",
+      tags = "model",
+      responses = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "The import has been resumed",
+            headers = @Header(name = "Location", description = "The URI of the import job")),
+        @ApiResponse(responseCode = "404", description = "The import has not been found"),
+        @ApiResponse(
+            responseCode = "409",
+            description = "The import is running or completed",
+            content =
+                @Content(
+                    examples =
+                        @ExampleObject(
+                            """
+          {
+            "timestamp": "2024-05-13T19:14:07.474768927",
+            "errorCode": 409,
+            "details": "The model import with id=0190a6b2-5c3e-7d41-8a2b-3c4d5e6f7a8b is COMPLETED, \
+          only a failed import can be resumed"
+          }
+          """)))
+      })
+  @PostMapping(value = V1 + RESUME_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<ModelImportJobDto> resumeModelImport(@PathVariable UUID id) {
+    ModelImportJobDto job = modelImportService.resumeImport(id);
+    return ResponseEntity.accepted().location(buildLocation(id)).body(job);
+  }
+
+  private URI buildLocation(UUID jobId) {
+    return ServletUriComponentsBuilder.fromCurrentServletMapping()
+        .path(V1 + MODEL_IMPORT_PATH)
+        .buildAndExpand(jobId)
+        .toUri();
+  }
+}
@@ -2,7 +2,6 @@ package ua.foxminded.cars.exceptionhandler;
 
 public class ExceptionMessages {
 
-  public static final String CATEGORY_ALREADY_EXISTS = "The category '%s' already exists";
   public static final String YEAR_NOT_FOUND = "Year '%s' not found";
   public static final String MODEL_NOT_FOUND_BY_ID = "The model with id=%s not found";
   public static final String MODEL_NOT_FOUND =
@@ -12,7 +11,21 @@ public class ExceptionMessages {
       "The model with manufacturer '%s', name '%s' and year '%s' already exists, its id='%s'";
   public static final String MANUFACTURER_NOT_FOUND = "The %s manufacturer not found";
   public static final String CATEGORY_NOT_FOUND = "The %s category not found";
+  public static final String MODEL_VERSION_MISMATCH =
+      "The model with manufacturer '%s', name '%s' and year '%s' does not match the If-Match version";
   public static final String PERIOD_NOT_VALID = "The minYear=%s must be before maxYear=%s";
+  public static final String CURSOR_NOT_VALID = "The cursor '%s' is not valid";
+  public static final String CURSOR_SORT_NOT_SUPPORTED =
+      "The sort '%s' is not supported by the cursor pagination, models can be sorted only by name";
+  public static final String MODEL_NOT_VALID =
+      "The model at index %s must have a manufacturer, a name and a positive year";
+  public static final String MODEL_IMPORT_NOT_FOUND = "The model import with id=%s not found";
+  public static final String MODEL_IMPORT_NOT_RESUMABLE =
+      "The model import with id=%s is %s, only a failed import can be resumed";
+  public static final String MODEL_IMPORT_FILE_NOT_FOUND =
+      "The file of the model import with id=%s is not found, the import can be resumed only on a"
+          + " node that has the file";
+  public static final String CSV_NOT_VALID = "The CSV file is not valid: %s";
 
   private ExceptionMessages() {}
 }
@@ -16,6 +16,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ua.foxminded.cars.exceptionhandler.exceptions.DataIntegrityViolationException;
+import ua.foxminded.cars.exceptionhandler.exceptions.PreconditionFailedException;
 import ua.foxminded.cars.exceptionhandler.exceptions.UnitAlreadyExistsException;
 import ua.foxminded.cars.exceptionhandler.exceptions.UnitNotFoundException;
 
@@ -79,6 +80,14 @@ public class ServiceExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(responseBody);
   }
 
+  @ExceptionHandler(PreconditionFailedException.class)
+  protected ResponseEntity<Object> handlePreconditionFailedException(
+      PreconditionFailedException e) {
+    Map<String, Object> responseBody =
+        buildResponseBody(HttpStatus.PRECONDITION_FAILED, e.getMessage());
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(responseBody);
+  }
+
   private Map<String, Object> buildResponseBody(HttpStatus status, Object message) {
     Map<String, Object> body = new LinkedHashMap<>();
     body.put(TIMESTAMP_FILED, LocalDateTime.now());
@@ -0,0 +1,10 @@
+package ua.foxminded.cars.exceptionhandler.exceptions;
+
+import ua.foxminded.cars.exceptionhandler.ExceptionMessages;
+
+public class CsvNotValidException extends UnitAlreadyExistsException {
+
+  public CsvNotValidException(String reason) {
+    super(ExceptionMessages.CSV_NOT_VALID.formatted(reason));
+  }
+}
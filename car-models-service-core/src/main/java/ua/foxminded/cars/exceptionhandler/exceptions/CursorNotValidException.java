@@ -0,0 +1,10 @@
+package ua.foxminded.cars.exceptionhandler.exceptions;
+
+import ua.foxminded.cars.exceptionhandler.ExceptionMessages;
+
+public class CursorNotValidException extends UnitAlreadyExistsException {
+
+  public CursorNotValidException(String cursor) {
+    super(ExceptionMessages.CURSOR_NOT_VALID.formatted(cursor));
+  }
+}
@@ -0,0 +1,11 @@
+package ua.foxminded.cars.exceptionhandler.exceptions;
+
+import org.springframework.data.domain.Sort;
+import ua.foxminded.cars.exceptionhandler.ExceptionMessages;
+
+public class CursorSortNotSupportedException extends UnitAlreadyExistsException {
+
+  public CursorSortNotSupportedException(Sort sort) {
+    super(ExceptionMessages.CURSOR_SORT_NOT_SUPPORTED.formatted(sort));
+  }
+}
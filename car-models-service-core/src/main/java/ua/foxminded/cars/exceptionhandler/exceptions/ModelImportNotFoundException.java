@@ -0,0 +1,11 @@
+package ua.foxminded.cars.exceptionhandler.exceptions;
+
+import java.util.UUID;
+import ua.foxminded.cars.exceptionhandler.ExceptionMessages;
+
+public class ModelImportNotFoundException extends UnitNotFoundException {
+
+  public ModelImportNotFoundException(UUID jobId) {
+    super(ExceptionMessages.MODEL_IMPORT_NOT_FOUND.formatted(jobId));
+  }
+}
@@ -0,0 +1,16 @@
+package ua.foxminded.cars.exceptionhandler.exceptions;
+
+import java.util.UUID;
+import ua.foxminded.cars.exceptionhandler.ExceptionMessages;
+import ua.foxminded.cars.repository.entity.ModelImportJob.Status;
+
+public class ModelImportNotResumableException extends DataIntegrityViolationException {
+
+  public ModelImportNotResumableException(UUID jobId, Status status) {
+    super(ExceptionMessages.MODEL_IMPORT_NOT_RESUMABLE.formatted(jobId, status));
+  }
+
+  public ModelImportNotResumableException(UUID jobId) {
+    super(ExceptionMessages.MODEL_IMPORT_FILE_NOT_FOUND.formatted(jobId));
+  }
+}
@@ -0,0 +1,10 @@
+package ua.foxminded.cars.exceptionhandler.exceptions;
+
+import ua.foxminded.cars.exceptionhandler.ExceptionMessages;
+
+public class ModelNotValidException extends UnitAlreadyExistsException {
+
+  public ModelNotValidException(int index) {
+    super(ExceptionMessages.MODEL_NOT_VALID.formatted(index));
+  }
+}
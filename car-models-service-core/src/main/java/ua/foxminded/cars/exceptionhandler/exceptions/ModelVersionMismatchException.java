@@ -0,0 +1,10 @@
+package ua.foxminded.cars.exceptionhandler.exceptions;
+
+import ua.foxminded.cars.exceptionhandler.ExceptionMessages;
+
+public class ModelVersionMismatchException extends PreconditionFailedException {
+
+  public ModelVersionMismatchException(String manufacturer, String name, int year) {
+    super(ExceptionMessages.MODEL_VERSION_MISMATCH.formatted(manufacturer, name, year));
+  }
+}
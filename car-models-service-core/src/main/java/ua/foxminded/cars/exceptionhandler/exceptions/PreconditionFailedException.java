@@ -0,0 +1,8 @@
+package ua.foxminded.cars.exceptionhandler.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+}
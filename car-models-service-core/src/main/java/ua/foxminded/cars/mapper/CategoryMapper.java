@@ -14,10 +14,14 @@ public interface CategoryMapper {
 
   List<Category> toEntityList(Collection<CategoryDto> categoriesDto);
 
+  @Mapping(target = "id", ignore = true)
+  Category toEntity(CategoryDto categoryDto);
+
   List<CategoryDto> toDtoList(Collection<Category> categories);
 
   CategoryDto toDto(Category category);
 
+  @Mapping(target = "id", ignore = true)
   @Mapping(target = "name", source = "category")
   Category stringToEntity(String category);
 
@@ -3,12 +3,14 @@ package ua.foxminded.cars.mapper;
 import static org.mapstruct.MappingConstants.ComponentModel.*;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import ua.foxminded.cars.repository.entity.Manufacturer;
 import ua.foxminded.cars.service.dto.ManufacturerDto;
 
 @Mapper(componentModel = SPRING)
 public interface ManufacturerMapper {
 
+  @Mapping(target = "id", ignore = true)
   Manufacturer toEntity(ManufacturerDto manufacturerDto);
 
   ManufacturerDto toDto(Manufacturer manufacturer);
@@ -0,0 +1,13 @@
+package ua.foxminded.cars.mapper;
+
+import static org.mapstruct.MappingConstants.ComponentModel.*;
+
+import org.mapstruct.Mapper;
+import ua.foxminded.cars.repository.entity.ModelImportJob;
+import ua.foxminded.cars.service.dto.ModelImportJobDto;
+
+@Mapper(componentModel = SPRING)
+public interface ModelImportJobMapper {
+
+  ModelImportJobDto toDto(ModelImportJob modelImportJob);
+}
@@ -1,6 +1,16 @@
 package ua.foxminded.cars.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ua.foxminded.cars.repository.entity.Category;
 
-public interface CategoryRepository extends JpaRepository<Category, String> {}
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+  boolean existsByName(String name);
+
+  @Modifying
+  @Query("delete from Category c where c.name = :name")
+  void deleteByName(@Param("name") String name);
+}
@@ -1,6 +1,19 @@
 package ua.foxminded.cars.repository;
 
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ua.foxminded.cars.repository.entity.Manufacturer;
 
-public interface ManufacturerRepository extends JpaRepository<Manufacturer, String> {}
+public interface ManufacturerRepository extends JpaRepository<Manufacturer, Integer> {
+
+  Optional<Manufacturer> findByName(String name);
+
+  boolean existsByName(String name);
+
+  @Modifying
+  @Query("delete from Manufacturer m where m.name = :name")
+  void deleteByName(@Param("name") String name);
+}
@@ -0,0 +1,352 @@
+package ua.foxminded.cars.repository;
+
+import static ua.foxminded.cars.repository.ModelRepository.GROUP_SEARCH_ROWS;
+import static ua.foxminded.cars.repository.ModelRepository.INSERT_SEARCH_ROWS;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ua.foxminded.cars.repository.entity.UuidV7Generator;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+/**
+ * Writes many models at once with JDBC batches, a batch of models takes a constant number of round
+ * trips instead of several round trips per model. The manufacturers, years and categories of the
+ * models are inserted if they are missing, a model that already exists keeps its ID and gets the
+ * missing categories, a new model gets a new ID. The search rows of the written models are written
+ * again by a single statement.
+ *
+ * <p>The reference data is inserted in the order of names, so concurrent batches lock the rows in
+ * the same order, and a name inserted by a concurrent transaction is skipped by {@code on conflict
+ * do nothing} instead of violating the unique key. The tests run H2 in the PostgreSQL mode for this
+ * clause.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ModelBatchRepository {
+
+  private static final String INSERT_MANUFACTURERS =
+      """
+      insert into manufacturers(name) select v.name from (values :values) as v(name)
+      order by v.name on conflict do nothing
+      """;
+  private static final String INSERT_YEARS =
+      """
+      insert into model_years(year_value) select v.year_value from (values :values) as v(year_value)
+      order by v.year_value on conflict do nothing
+      """;
+  private static final String INSERT_CATEGORIES =
+      """
+      insert into categories(name) select v.name from (values :values) as v(name)
+      order by v.name on conflict do nothing
+      """;
+  private static final String SELECT_MODEL_IDS =
+      """
+      select m.id, mf.name as manufacturer, m.name, m.model_year
+      from models m
+      join manufacturers mf on mf.id = m.manufacturer_id
+      where mf.name in (:manufacturers) and m.name in (:names) and m.model_year in (:years)
+      """;
+  private static final String INSERT_MODEL =
+      """
+      insert into models(id, manufacturer_id, model_year, name, version)
+      values (:id, (select id from manufacturers where name = :manufacturer), :year, :name, 0)
+      """;
+  private static final String INSERT_MODEL_CATEGORY =
+      """
+      insert into model_category(model_id, category_id)
+      select cast(:modelId as uuid), c.id from categories c
+      where c.name = :category and not exists (
+        select 1 from model_category mc where mc.model_id = :modelId and mc.category_id = c.id)
+      """;
+  private static final String INSERT_NEW_MODEL_CATEGORIES =
+      """
+      insert into model_category(model_id, category_id)
+      select cast(:modelId as uuid), c.id from categories c where c.name in (:categories)
+      """;
+  private static final String DELETE_ALL_MODEL_CATEGORIES =
+      "delete from model_category where model_id = :modelId";
+  private static final String DELETE_OTHER_MODEL_CATEGORIES =
+      """
+      delete from model_category
+      where model_id = :modelId
+        and category_id not in (select id from categories where name in (:categories))
+      """;
+  private static final String INSERT_MODEL_CATEGORIES =
+      """
+      insert into model_category(model_id, category_id)
+      select cast(:modelId as uuid), c.id from categories c
+      where c.name in (:categories) and not exists (
+        select 1 from model_category mc where mc.model_id = :modelId and mc.category_id = c.id)
+      """;
+  private static final String DELETE_ORPHAN_CATEGORIES =
+      """
+      delete from categories c
+      where c.name in (:removedCategories)
+        and not exists (select 1 from model_category mc where mc.category_id = c.id)
+      """;
+  private static final String SELECT_REMOVED_CATEGORIES =
+      "select name from categories where name in (:removedCategories)";
+  private static final String DELETE_SEARCH_ROWS =
+      "delete from model_search where model_id in (:modelIds)";
+  private static final String INSERT_SEARCH_ROWS_OF_MODELS =
+      INSERT_SEARCH_ROWS + " where m.id in (:modelIds)" + GROUP_SEARCH_ROWS;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Writes models that are not in a database and puts all models to their categories. The IDs of
+   * the models are set to the DTOs, a model that is repeated in the list is written once with the
+   * categories of all its rows.
+   *
+   * @param models - models with a manufacturer, a name, a year and categories
+   * @return the number of new models
+   */
+  public int upsertModels(List<ModelDto> models) {
+    if (models.isEmpty()) {
+      return 0;
+    }
+    Map<ModelKey, Set<String>> categoriesByModel = groupCategories(models);
+    insertReferenceData(categoriesByModel);
+    Map<ModelKey, UUID> modelIds = findModelIds(categoriesByModel.keySet());
+    List<ModelKey> newModels =
+        categoriesByModel.keySet().stream().filter(key -> !modelIds.containsKey(key)).toList();
+    newModels.forEach(key -> modelIds.put(key, UuidV7Generator.nextUuid()));
+    insertModels(newModels, modelIds);
+    insertModelCategories(categoriesByModel, modelIds);
+    MapSqlParameterSource searchParameters =
+        new MapSqlParameterSource("modelIds", modelIds.values());
+    jdbcTemplate.update(DELETE_SEARCH_ROWS, searchParameters);
+    jdbcTemplate.update(INSERT_SEARCH_ROWS_OF_MODELS, searchParameters);
+    models.forEach(model -> model.setId(modelIds.get(ModelKey.of(model))));
+    return newModels.size();
+  }
+
+  /**
+   * Inserts models that are checked to be missing, the manufacturers, years and categories are
+   * inserted if they are missing. The IDs of the models are not looked up and their relations and
+   * search rows are inserted without checks, all categories of a model are inserted by a single
+   * insert-select, so a model takes a constant number of statements whatever the number of its
+   * categories. A model inserted by a concurrent transaction violates the unique key of models.
+   *
+   * @param models - new models with a manufacturer, a name, a year and categories
+   */
+  public void insertModels(List<ModelDto> models) {
+    if (models.isEmpty()) {
+      return;
+    }
+    Map<ModelKey, Set<String>> categoriesByModel = groupCategories(models);
+    insertReferenceData(categoriesByModel);
+    Map<ModelKey, UUID> modelIds = new HashMap<>();
+    categoriesByModel.keySet().forEach(key -> modelIds.put(key, UuidV7Generator.nextUuid()));
+    insertModels(List.copyOf(categoriesByModel.keySet()), modelIds);
+    insertNewModelCategories(categoriesByModel, modelIds);
+    jdbcTemplate.update(
+        INSERT_SEARCH_ROWS_OF_MODELS, new MapSqlParameterSource("modelIds", modelIds.values()));
+    models.forEach(model -> model.setId(modelIds.get(ModelKey.of(model))));
+  }
+
+  /**
+   * Sets the categories of a model by set-based statements instead of a statement per category: the
+   * missing categories are inserted by one insert-select, the model is removed from all other
+   * categories by one delete and put to the categories it is not in yet by one multi-row insert.
+   * The removed categories that have no models left are deleted by one statement, and the search
+   * row of the model is written again.
+   *
+   * @param modelId - a model ID
+   * @param categories - all categories of the model
+   * @param removedCategories - the categories the model was in before
+   * @return the removed categories that are deleted since they have no models
+   */
+  public List<String> replaceModelCategories(
+      UUID modelId, Collection<String> categories, Collection<String> removedCategories) {
+    MapSqlParameterSource parameters =
+        new MapSqlParameterSource()
+            .addValue("modelId", modelId)
+            .addValue("modelIds", List.of(modelId))
+            .addValue("categories", categories)
+            .addValue("removedCategories", removedCategories);
+
+    if (categories.isEmpty()) {
+      jdbcTemplate.update(DELETE_ALL_MODEL_CATEGORIES, parameters);
+    } else {
+      insertCategories(List.of(Set.copyOf(categories)));
+      jdbcTemplate.update(DELETE_OTHER_MODEL_CATEGORIES, parameters);
+      jdbcTemplate.update(INSERT_MODEL_CATEGORIES, parameters);
+    }
+    jdbcTemplate.update(DELETE_SEARCH_ROWS, parameters);
+    jdbcTemplate.update(INSERT_SEARCH_ROWS_OF_MODELS, parameters);
+    return removedCategories.isEmpty()
+        ? List.of()
+        : deleteOrphanCategories(removedCategories, parameters);
+  }
+
+  private Map<ModelKey, Set<String>> groupCategories(List<ModelDto> models) {
+    Map<ModelKey, Set<String>> categoriesByModel = new LinkedHashMap<>();
+    models.forEach(
+        model ->
+            categoriesByModel
+                .computeIfAbsent(ModelKey.of(model), key -> new LinkedHashSet<>())
+                .addAll(model.getCategories()));
+    return categoriesByModel;
+  }
+
+  private void insertReferenceData(Map<ModelKey, Set<String>> categoriesByModel) {
+    Set<ModelKey> keys = categoriesByModel.keySet();
+    insertReferenceData(INSERT_MANUFACTURERS, keys.stream().map(ModelKey::getManufacturer));
+    insertReferenceData(INSERT_YEARS, keys.stream().map(ModelKey::getYear));
+    insertCategories(categoriesByModel.values());
+  }
+
+  /**
+   * Finds the IDs of models by their manufacturers, names and years with a single query.
+   *
+   * @param models - models with a manufacturer, a name and a year
+   * @return the IDs in the order of the models, the ID of a model that is not in a database is null
+   */
+  public List<UUID> findModelIds(List<ModelDto> models) {
+    if (models.isEmpty()) {
+      return List.of();
+    }
+    Set<ModelKey> keys = models.stream().map(ModelKey::of).collect(Collectors.toSet());
+    Map<ModelKey, UUID> modelIds = findModelIds(keys);
+    return models.stream().map(model -> modelIds.get(ModelKey.of(model))).toList();
+  }
+
+  private void insertCategories(Collection<Set<String>> categories) {
+    insertReferenceData(INSERT_CATEGORIES, categories.stream().<String>flatMap(Set::stream));
+  }
+
+  /**
+   * Inserts the missing values of reference data by one statement, a value inserted by a concurrent
+   * transaction is skipped by the unique key instead of failing.
+   */
+  private <T extends Comparable<T>> void insertReferenceData(String sql, Stream<T> values) {
+    List<Object[]> rows =
+        values.collect(TreeSet<T>::new, Set::add, Set::addAll).stream()
+            .map(value -> new Object[] {value})
+            .toList();
+
+    if (!rows.isEmpty()) {
+      jdbcTemplate.update(sql, new MapSqlParameterSource("values", rows));
+    }
+  }
+
+  private List<String> deleteOrphanCategories(
+      Collection<String> removedCategories, MapSqlParameterSource parameters) {
+    jdbcTemplate.update(DELETE_ORPHAN_CATEGORIES, parameters);
+    Set<String> remainingCategories =
+        Set.copyOf(jdbcTemplate.queryForList(SELECT_REMOVED_CATEGORIES, parameters, String.class));
+    return removedCategories.stream()
+        .filter(category -> !remainingCategories.contains(category))
+        .toList();
+  }
+
+  private Map<ModelKey, UUID> findModelIds(Set<ModelKey> keys) {
+    MapSqlParameterSource parameters =
+        new MapSqlParameterSource()
+            .addValue("manufacturers", keys.stream().map(ModelKey::getManufacturer).toList())
+            .addValue("names", keys.stream().map(ModelKey::getName).toList())
+            .addValue("years", keys.stream().map(ModelKey::getYear).toList());
+    Map<ModelKey, UUID> modelIds = new HashMap<>();
+    jdbcTemplate.query(
+        SELECT_MODEL_IDS,
+        parameters,
+        resultSet -> {
+          ModelKey key =
+              new ModelKey(
+                  resultSet.getString("manufacturer"),
+                  resultSet.getString("name"),
+                  resultSet.getInt("model_year"));
+
+          if (keys.contains(key)) {
+            modelIds.put(key, resultSet.getObject("id", UUID.class));
+          }
+        });
+    return modelIds;
+  }
+
+  private void insertModels(List<ModelKey> newModels, Map<ModelKey, UUID> modelIds) {
+    MapSqlParameterSource[] parameters =
+        newModels.stream()
+            .map(
+                key ->
+                    new MapSqlParameterSource()
+                        .addValue("id", modelIds.get(key))
+                        .addValue("manufacturer", key.getManufacturer())
+                        .addValue("year", key.getYear())
+                        .addValue("name", key.getName()))
+            .toArray(MapSqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(INSERT_MODEL, parameters);
+  }
+
+  private void insertModelCategories(
+      Map<ModelKey, Set<String>> categoriesByModel, Map<ModelKey, UUID> modelIds) {
+    List<MapSqlParameterSource> parameters = new ArrayList<>();
+    categoriesByModel.forEach(
+        (key, categories) ->
+            categories.forEach(
+                category ->
+                    parameters.add(
+                        new MapSqlParameterSource()
+                            .addValue("modelId", modelIds.get(key))
+                            .addValue("category", category))));
+    jdbcTemplate.batchUpdate(
+        INSERT_MODEL_CATEGORY, parameters.toArray(MapSqlParameterSource[]::new));
+  }
+
+  /**
+   * Puts new models to all their categories by one insert-select per model. The models are batched
+   * by the number of their categories, since a batch has the same number of parameters in every
+   * row.
+   */
+  private void insertNewModelCategories(
+      Map<ModelKey, Set<String>> categoriesByModel, Map<ModelKey, UUID> modelIds) {
+    Map<Integer, List<MapSqlParameterSource>> parametersBySize = new TreeMap<>();
+    categoriesByModel.forEach(
+        (key, categories) -> {
+          if (!categories.isEmpty()) {
+            parametersBySize
+                .computeIfAbsent(categories.size(), size -> new ArrayList<>())
+                .add(
+                    new MapSqlParameterSource()
+                        .addValue("modelId", modelIds.get(key))
+                        .addValue("categories", categories));
+          }
+        });
+    parametersBySize
+        .values()
+        .forEach(
+            parameters ->
+                jdbcTemplate.batchUpdate(
+                    INSERT_NEW_MODEL_CATEGORIES, parameters.toArray(MapSqlParameterSource[]::new)));
+  }
+
+  /** The natural key of a model. */
+  @Value
+  private static class ModelKey {
+
+    String manufacturer;
+    String name;
+    int year;
+
+    static ModelKey of(ModelDto model) {
+      return new ModelKey(model.getManufacturer(), model.getName(), model.getYear());
+    }
+  }
+}
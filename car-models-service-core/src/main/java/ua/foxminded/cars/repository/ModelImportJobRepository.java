@@ -0,0 +1,100 @@
+package ua.foxminded.cars.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ua.foxminded.cars.repository.entity.ModelImportJob;
+import ua.foxminded.cars.repository.entity.ModelImportJob.Status;
+
+public interface ModelImportJobRepository extends JpaRepository<ModelImportJob, UUID> {
+
+  /**
+   * Adds the rows of a written batch to the progress of a job, it runs in the transaction of the
+   * batch, so the progress counts only the committed rows.
+   *
+   * @param jobId - a job ID
+   * @param attempt - the attempt of the runner, the progress of a job that is resumed by another
+   *     runner is not changed
+   * @param status - the status of a running job, the progress of a job in another status is not
+   *     changed
+   * @param processedRows - the number of rows of the batch
+   * @param importedModels - the number of new models of the batch
+   * @param rejectedRows - the number of rows of the batch that are not valid
+   * @param updatedAt - the time of the batch
+   * @return the number of changed jobs
+   */
+  @Modifying
+  @Query(
+      """
+    update ModelImportJob j set j.processedRows = j.processedRows + :processedRows,
+    	  j.importedModels = j.importedModels + :importedModels,
+    	  j.rejectedRows = j.rejectedRows + :rejectedRows, j.updatedAt = :updatedAt
+    	where j.id = :jobId and j.attempt = :attempt and j.status = :status
+    """)
+  int addProgress(
+      @Param("jobId") UUID jobId,
+      @Param("attempt") int attempt,
+      @Param("status") Status status,
+      @Param("processedRows") long processedRows,
+      @Param("importedModels") long importedModels,
+      @Param("rejectedRows") long rejectedRows,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  /**
+   * Moves a job from one status to another, a job in another status or attempt is left as it is, so
+   * a job is not resumed twice and a runner whose job is taken over does not change it.
+   *
+   * @param jobId - a job ID
+   * @param attempt - the attempt of the runner
+   * @param currentStatus - the expected status of the job
+   * @param status - the new status
+   * @param error - the error of a failed job
+   * @param updatedAt - the time of the change
+   * @return the number of changed jobs
+   */
+  @Modifying
+  @Query(
+      """
+    update ModelImportJob j set j.status = :status, j.error = :error, j.updatedAt = :updatedAt
+    	where j.id = :jobId and j.attempt = :attempt and j.status = :currentStatus
+    """)
+  int updateStatus(
+      @Param("jobId") UUID jobId,
+      @Param("attempt") int attempt,
+      @Param("currentStatus") Status currentStatus,
+      @Param("status") Status status,
+      @Param("error") String error,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  /**
+   * Marks a failed job, or a running job that has not saved its progress for a long time, as
+   * running again with the next attempt. A job whose node has stopped stays running, so it is taken
+   * over when it is stalled, a runner that is still alive loses the job at its next batch.
+   *
+   * @param jobId - a job ID
+   * @param stalledBefore - the time of the last progress of a stalled job
+   * @param updatedAt - the time of the resume
+   * @return the number of resumed jobs
+   */
+  default int resume(UUID jobId, LocalDateTime stalledBefore, LocalDateTime updatedAt) {
+    return resume(jobId, Status.RUNNING, Status.FAILED, stalledBefore, updatedAt);
+  }
+
+  @Modifying(clearAutomatically = true)
+  @Query(
+      """
+    update ModelImportJob j set j.status = :running, j.error = null, j.attempt = j.attempt + 1,
+    	  j.updatedAt = :updatedAt
+    	where j.id = :jobId
+    	  and (j.status = :failed or (j.status = :running and j.updatedAt < :stalledBefore))
+    """)
+  int resume(
+      @Param("jobId") UUID jobId,
+      @Param("running") Status running,
+      @Param("failed") Status failed,
+      @Param("stalledBefore") LocalDateTime stalledBefore,
+      @Param("updatedAt") LocalDateTime updatedAt);
+}
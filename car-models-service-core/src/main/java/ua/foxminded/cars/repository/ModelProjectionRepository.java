@@ -0,0 +1,234 @@
+package ua.foxminded.cars.repository;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ua.foxminded.cars.repository.entity.Model;
+import ua.foxminded.cars.repository.specification.ModelCursor;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+/**
+ * Reads models straight into DTOs from the denormalized {@code model_search} table, a row has the
+ * manufacturer name and the array of category names of a model, so a search is a scan of a single
+ * table without joins. Nothing is put into the persistence context, so the read-only paths skip the
+ * entity hydration, the dirty-checking snapshots and the entity to DTO mapping.
+ *
+ * <p>The rows are sorted by the properties of the {@link Model} entity, the ID is always the last
+ * sort key, so the order of models with equal sort keys is stable between pages. The names use the
+ * {@code "C"} collation, so they are sorted as the in-memory search engine sorts them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ModelProjectionRepository {
+
+  private static final String SELECT_MODELS =
+      """
+      select s.model_id, s.name, s.model_year, s.manufacturer, s.version, s.categories
+      from model_search s
+      where %s
+      order by %s
+      """;
+  private static final String COUNT_MODELS = "select count(*) from model_search s where %s";
+  private static final String NAME = "name";
+  private static final String ID = "id";
+  private static final String LIMIT = " limit :limit offset :offset";
+  private static final String ALL_MODELS = "1 = 1";
+  private static final String AND = " and ";
+  private static final String ID_COLUMN = "s.model_id";
+  private static final String NAME_COLUMN = "s.name";
+  private static final Map<String, String> SORT_COLUMNS =
+      Map.of(
+          ID,
+          ID_COLUMN,
+          NAME,
+          NAME_COLUMN,
+          "year",
+          "s.model_year",
+          "year.value",
+          "s.model_year",
+          "manufacturer",
+          "s.manufacturer",
+          "manufacturer.name",
+          "s.manufacturer");
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public Optional<ModelDto> findById(UUID modelId) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource("id", modelId);
+    String sql = SELECT_MODELS.formatted("s.model_id = :id", ID_COLUMN);
+    return jdbcTemplate.query(sql, parameters, this::mapModel).stream().findFirst();
+  }
+
+  public Optional<ModelDto> findOne(String manufacturer, String name, int year) {
+    SearchFilter searchFilter =
+        SearchFilter.builder().manufacturer(manufacturer).name(name).year(year).build();
+    return findAll(searchFilter, Sort.unsorted()).stream().findFirst();
+  }
+
+  public List<ModelDto> findAll(SearchFilter searchFilter, Sort sort) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource();
+    String sql = SELECT_MODELS.formatted(buildCondition(searchFilter, parameters), orderBy(sort));
+    return jdbcTemplate.query(sql, parameters, this::mapModel);
+  }
+
+  /**
+   * Reads a page of models with one extra model to know whether there is a next page, so no count
+   * query is needed.
+   *
+   * @param searchFilter - parameters for the search
+   * @param pageable - a requested page
+   * @return Slice<ModelDto> - a slice containing models
+   */
+  public Slice<ModelDto> findSlice(SearchFilter searchFilter, Pageable pageable) {
+    if (pageable.isUnpaged()) {
+      return new SliceImpl<>(findAll(searchFilter, pageable.getSort()), pageable, false);
+    }
+    MapSqlParameterSource parameters = new MapSqlParameterSource();
+    String sql =
+        SELECT_MODELS.formatted(
+                buildCondition(searchFilter, parameters), orderBy(pageable.getSort()))
+            + LIMIT;
+    parameters.addValue("limit", pageable.getPageSize() + 1);
+    parameters.addValue("offset", pageable.getOffset());
+    List<ModelDto> models = jdbcTemplate.query(sql, parameters, this::mapModel);
+    boolean hasNext = models.size() > pageable.getPageSize();
+    List<ModelDto> content = hasNext ? models.subList(0, pageable.getPageSize()) : models;
+    return new SliceImpl<>(content, pageable, hasNext);
+  }
+
+  /**
+   * Reads the first models after a cursor, the rows are compared by their name and ID in the same
+   * order they are sorted, so the query seeks to the cursor instead of skipping the previous pages.
+   *
+   * @param searchFilter - parameters for the search
+   * @param cursor - the sort key of the last model of the previous page, null for the first page
+   * @param direction - the sort direction of the name and ID
+   * @param limit - the maximum number of models
+   * @return List<ModelDto> - models after the cursor
+   */
+  public List<ModelDto> findAfter(
+      SearchFilter searchFilter, ModelCursor cursor, Direction direction, int limit) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource();
+    String condition = buildCondition(searchFilter, parameters);
+
+    if (nonNull(cursor)) {
+      String comparison = direction.isAscending() ? ">" : "<";
+      condition += AND + "(s.name, s.model_id) " + comparison + " (:cursorName, :cursorId)";
+      parameters.addValue("cursorName", cursor.getName());
+      parameters.addValue("cursorId", cursor.getId());
+    }
+    String sql =
+        SELECT_MODELS.formatted(condition, orderBy(Sort.by(direction, NAME, ID))) + " limit :limit";
+    parameters.addValue("limit", limit);
+    return jdbcTemplate.query(sql, parameters, this::mapModel);
+  }
+
+  public long count(SearchFilter searchFilter) {
+    MapSqlParameterSource parameters = new MapSqlParameterSource();
+    String sql = COUNT_MODELS.formatted(buildCondition(searchFilter, parameters));
+    return jdbcTemplate.queryForObject(sql, parameters, Long.class);
+  }
+
+  private String buildCondition(SearchFilter searchFilter, MapSqlParameterSource parameters) {
+    List<String> conditions = new ArrayList<>();
+
+    if (nonNull(searchFilter.getManufacturer())) {
+      conditions.add("s.manufacturer = :manufacturer");
+      parameters.addValue("manufacturer", searchFilter.getManufacturer());
+    }
+
+    if (nonNull(searchFilter.getCategory())) {
+      conditions.add("array_contains(s.categories, :category)");
+      parameters.addValue("category", searchFilter.getCategory());
+    }
+
+    if (nonNull(searchFilter.getMaxYear())) {
+      conditions.add("s.model_year <= :maxYear");
+      parameters.addValue("maxYear", searchFilter.getMaxYear());
+    }
+
+    if (nonNull(searchFilter.getMinYear())) {
+      conditions.add("s.model_year >= :minYear");
+      parameters.addValue("minYear", searchFilter.getMinYear());
+    }
+
+    if (nonNull(searchFilter.getName())) {
+      conditions.add("s.name = :name");
+      parameters.addValue("name", searchFilter.getName());
+    }
+
+    if (nonNull(searchFilter.getYear())) {
+      conditions.add("s.model_year = :year");
+      parameters.addValue("year", searchFilter.getYear());
+    }
+    return conditions.isEmpty() ? ALL_MODELS : String.join(AND, conditions);
+  }
+
+  private String orderBy(Sort sort) {
+    List<String> orders = new ArrayList<>();
+    boolean isSortedById = false;
+
+    for (Order order : sort) {
+      String column = SORT_COLUMNS.get(order.getProperty());
+
+      if (isNull(column)) {
+        throw new PropertyReferenceException(
+            order.getProperty(), TypeInformation.of(Model.class), List.of());
+      }
+      isSortedById |= ID_COLUMN.equals(column);
+      String expression = order.isIgnoreCase() ? "lower(" + column + ")" : column;
+      orders.add(expression + (order.isAscending() ? " asc" : " desc"));
+    }
+
+    if (!isSortedById) {
+      orders.add(ID_COLUMN);
+    }
+    return String.join(", ", orders);
+  }
+
+  private ModelDto mapModel(ResultSet resultSet, int rowNumber) throws SQLException {
+    return ModelDto.builder()
+        .id(resultSet.getObject("model_id", UUID.class))
+        .name(resultSet.getString("name"))
+        .year(resultSet.getInt("model_year"))
+        .manufacturer(resultSet.getString("manufacturer"))
+        .categories(mapCategories(resultSet.getArray("categories")))
+        .version(resultSet.getLong("version"))
+        .build();
+  }
+
+  private List<String> mapCategories(Array categories) throws SQLException {
+    if (isNull(categories)) {
+      return new ArrayList<>();
+    }
+
+    try {
+      return new ArrayList<>(
+          Arrays.stream((Object[]) categories.getArray()).map(String::valueOf).toList());
+    } finally {
+      categories.free();
+    }
+  }
+}
@@ -1,38 +1,82 @@
 package ua.foxminded.cars.repository;
 
+import jakarta.persistence.LockModeType;
 import java.time.Year;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ua.foxminded.cars.repository.entity.Model;
 
-public interface ModelRepository
-    extends JpaRepository<Model, UUID>, JpaSpecificationExecutor<Model> {
+public interface ModelRepository extends JpaRepository<Model, UUID> {
+
+  String INSERT_SEARCH_ROWS =
+      """
+    insert into model_search(model_id, manufacturer, model_year, name, categories, version)
+    	select m.id, mf.name, m.model_year, m.name,
+    	  array_agg(c.name order by c.name) filter (where c.name is not null), m.version
+    	from models m
+    	join manufacturers mf on mf.id = m.manufacturer_id
+    	left join model_category mc on mc.model_id = m.id
+    	left join categories c on c.id = mc.category_id
+    """;
+  String GROUP_SEARCH_ROWS = " group by m.id, mf.name, m.model_year, m.name, m.version";
+
+  @Modifying(flushAutomatically = true)
+  @Query(value = "delete from model_search", nativeQuery = true)
+  void deleteAllSearchRows();
 
   @Modifying
-  @Query(
-      value =
-          """
-    delete from model_category
-    	where model_id = :modelId AND category_name = :categoryName
-    """,
-      nativeQuery = true)
-  void removeModelFromCategory(
-      @Param("modelId") String modelId, @Param("categoryName") String categoryName);
+  @Query(value = INSERT_SEARCH_ROWS + GROUP_SEARCH_ROWS, nativeQuery = true)
+  int insertAllSearchRows();
+
+  @Modifying
+  @Query("update Model m set m.version = m.version + 1 where m.id = :modelId")
+  void incrementVersion(@Param("modelId") UUID modelId);
 
   @Modifying
   @Query(
-      value =
-          """
-    insert into model_category(model_id, category_name)
-    	values(:modelId, :categoryName);
-    """,
-      nativeQuery = true)
-  void putModelToCategory(
-      @Param("modelId") UUID modelId, @Param("categoryName") String categoryName);
+      """
+    update Model m set m.version = m.version + 1
+    	where m.id = :modelId and m.version = :version and m.name = :name
+    	  and m.year.value = :year
+    	  and m.manufacturer.id = (select mf.id from Manufacturer mf where mf.name = :manufacturer)
+    """)
+  int incrementVersionIfMatches(
+      @Param("modelId") UUID modelId,
+      @Param("version") long version,
+      @Param("manufacturer") String manufacturer,
+      @Param("name") String name,
+      @Param("year") Year year);
+
+  /**
+   * Reads a model by its natural key and locks its row until the end of the transaction, so the
+   * version and the categories that are read stay current while the model is updated.
+   *
+   * @param manufacturer - a manufacturer name
+   * @param name - a model name
+   * @param year - a model year
+   * @return an optional model
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      """
+    select m from Model m
+    	where m.manufacturer.name = :manufacturer and m.name = :name and m.year.value = :year
+    """)
+  Optional<Model> findForUpdate(
+      @Param("manufacturer") String manufacturer,
+      @Param("name") String name,
+      @Param("year") Year year);
+
+  @EntityGraph(attributePaths = {"manufacturer", "year", "categories"})
+  @Query("select m from Model m")
+  List<Model> findAllWithCategories();
 
   boolean existsByYearValue(Year year);
 
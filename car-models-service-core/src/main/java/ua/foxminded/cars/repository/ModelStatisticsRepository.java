@@ -0,0 +1,51 @@
+package ua.foxminded.cars.repository;
+
+import jakarta.annotation.PostConstruct;
+import java.util.OptionalLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the planner statistics of the models table. The number of rows estimated by PostgreSQL is
+ * kept up to date by the autovacuum and is read without scanning the table. Other databases have no
+ * such statistics, so there is no estimate for them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ModelStatisticsRepository {
+
+  private static final String POSTGRESQL = "PostgreSQL";
+  private static final String ESTIMATE_QUERY =
+      "select cast(reltuples as bigint) from pg_class where oid = to_regclass('models')";
+
+  private final JdbcTemplate jdbcTemplate;
+  private boolean isPostgresql;
+
+  @PostConstruct
+  void detectDatabase() {
+    isPostgresql =
+        Boolean.TRUE.equals(
+            jdbcTemplate.execute(
+                (ConnectionCallback<Boolean>)
+                    connection ->
+                        POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())));
+  }
+
+  /**
+   * Returns the estimated number of models.
+   *
+   * @return the estimate or an empty value if a database has no statistics or the table has not
+   *     been analyzed yet
+   */
+  public OptionalLong estimateModelCount() {
+    if (!isPostgresql) {
+      return OptionalLong.empty();
+    }
+    Long estimate =
+        jdbcTemplate.query(
+            ESTIMATE_QUERY, resultSet -> resultSet.next() ? resultSet.getLong(1) : null);
+    return estimate == null || estimate < 0 ? OptionalLong.empty() : OptionalLong.of(estimate);
+  }
+}
@@ -1,9 +1,12 @@
 package ua.foxminded.cars.repository.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
 import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,7 +23,11 @@ import lombok.ToString;
 @AllArgsConstructor
 public class Category {
 
-  @Id private String name;
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  @NotNull private String name;
 
   @ManyToMany(mappedBy = "categories")
   @EqualsAndHashCode.Exclude
@@ -7,6 +7,7 @@ import jakarta.persistence.metamodel.StaticMetamodel;
 @StaticMetamodel(Category.class)
 public class Category_ {
 
+  public static volatile SingularAttribute<Category, Integer> id;
   public static volatile SingularAttribute<Category, String> name;
   public static volatile SetAttribute<Category, Model> models;
 }
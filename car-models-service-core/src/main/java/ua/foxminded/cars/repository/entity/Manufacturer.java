@@ -1,9 +1,12 @@
 package ua.foxminded.cars.repository.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
 import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,16 +14,22 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "manufacturers")
+@BatchSize(size = Model.FETCH_BATCH_SIZE)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Manufacturer {
 
-  @Id private String name;
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  @NotNull private String name;
 
   @OneToMany(mappedBy = "manufacturer")
   @EqualsAndHashCode.Exclude
@@ -7,6 +7,7 @@ import jakarta.persistence.metamodel.StaticMetamodel;
 @StaticMetamodel(Manufacturer.class)
 public class Manufacturer_ {
 
+  public static volatile SingularAttribute<Manufacturer, Integer> id;
   public static volatile SingularAttribute<Manufacturer, String> name;
   public static volatile SetAttribute<Manufacturer, Model> models;
 }
@@ -2,14 +2,13 @@ package ua.foxminded.cars.repository.entity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import java.util.Set;
 import java.util.UUID;
@@ -17,8 +16,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "models")
@@ -28,10 +26,14 @@ import org.hibernate.type.SqlTypes;
 @NoArgsConstructor
 public class Model {
 
-  @Id
-  @GeneratedValue(strategy = GenerationType.UUID)
-  @JdbcTypeCode(SqlTypes.VARCHAR)
-  private UUID id;
+  /**
+   * The number of models whose categories, and the number of manufacturers and years, are loaded by
+   * a single query, it covers the largest page, so a page is loaded in a constant number of
+   * queries.
+   */
+  public static final int FETCH_BATCH_SIZE = 200;
+
+  @Id @UuidV7 private UUID id;
 
   @NotNull private String name;
 
@@ -42,13 +44,16 @@ public class Model {
 
   @NotNull
   @ManyToOne
-  @JoinColumn(name = "manufacturer_name")
+  @JoinColumn(name = "manufacturer_id")
   private Manufacturer manufacturer;
 
   @ManyToMany(fetch = FetchType.EAGER)
+  @BatchSize(size = FETCH_BATCH_SIZE)
   @JoinTable(
       name = "model_category",
       joinColumns = @JoinColumn(name = "model_id", referencedColumnName = "id"),
-      inverseJoinColumns = @JoinColumn(name = "category_name", referencedColumnName = "name"))
+      inverseJoinColumns = @JoinColumn(name = "category_id", referencedColumnName = "id"))
   private Set<Category> categories;
+
+  @Version private Long version;
 }
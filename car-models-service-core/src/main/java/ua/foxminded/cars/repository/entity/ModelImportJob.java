@@ -0,0 +1,63 @@
+package ua.foxminded.cars.repository.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A bulk import of models from a CSV file. The processed rows are the data rows of the file that
+ * are already committed, a resumed job skips them. The attempt is incremented every time the job is
+ * resumed, a runner saves its progress only while the job has its attempt, so a runner whose job is
+ * taken over stops at its next batch.
+ */
+@Entity
+@Table(name = "model_import_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelImportJob {
+
+  @Id @UuidV7 private UUID id;
+
+  @NotNull
+  @Enumerated(EnumType.STRING)
+  private Status status;
+
+  @Column(name = "processed_rows")
+  private long processedRows;
+
+  @Column(name = "imported_models")
+  private long importedModels;
+
+  @Column(name = "rejected_rows")
+  private long rejectedRows;
+
+  private String error;
+
+  private int attempt;
+
+  @NotNull
+  @Column(name = "created_at")
+  private LocalDateTime createdAt;
+
+  @NotNull
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  public enum Status {
+    RUNNING,
+    FAILED,
+    COMPLETED
+  }
+}
@@ -13,11 +13,13 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "model_years")
+@BatchSize(size = Model.FETCH_BATCH_SIZE)
 @Data
 @Builder
 @NoArgsConstructor
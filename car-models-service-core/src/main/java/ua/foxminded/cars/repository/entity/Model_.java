@@ -3,13 +3,15 @@ package ua.foxminded.cars.repository.entity;
 import jakarta.persistence.metamodel.SetAttribute;
 import jakarta.persistence.metamodel.SingularAttribute;
 import jakarta.persistence.metamodel.StaticMetamodel;
+import java.util.UUID;
 
 @StaticMetamodel(Model.class)
 public class Model_ {
 
-  public static volatile SingularAttribute<Model, String> id;
+  public static volatile SingularAttribute<Model, UUID> id;
   public static volatile SingularAttribute<Model, String> name;
   public static volatile SingularAttribute<Model, ModelYear> year;
   public static volatile SingularAttribute<Model, Manufacturer> manufacturer;
   public static volatile SetAttribute<Model, Category> categories;
+  public static volatile SingularAttribute<Model, Long> version;
 }
@@ -0,0 +1,58 @@
+package ua.foxminded.cars.repository.entity;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * Generates time-ordered version 7 UUIDs. The first 48 bits are the Unix time in milliseconds and
+ * the next 12 bits are a counter of the UUIDs generated in the same millisecond, the other bits are
+ * random. The UUIDs of a node are strictly increasing, a counter that overflows borrows the next
+ * millisecond, so new rows are appended to the end of the primary key index instead of splitting
+ * random pages of it, and the order of IDs roughly matches the creation order of rows.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+  private static final int COUNTER_BITS = 12;
+  private static final long VERSION = 7L << COUNTER_BITS;
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+  private static final long VARIANT = 0x8000000000000000L;
+  private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+  /**
+   * Returns the next UUID of this node.
+   *
+   * @return UUID - a version 7 UUID that is greater than the UUIDs returned before
+   */
+  public static UUID nextUuid() {
+    long timestampAndCounter =
+        LAST_TIMESTAMP_AND_COUNTER.updateAndGet(
+            last -> Math.max(System.currentTimeMillis() << COUNTER_BITS, last + 1));
+    long timestamp = timestampAndCounter >>> COUNTER_BITS;
+    long counter = timestampAndCounter & COUNTER_MASK;
+    long mostSignificantBits = timestamp << 16 | VERSION | counter;
+    long leastSignificantBits = VARIANT | RANDOM.nextLong() & RANDOM_MASK;
+    return new UUID(mostSignificantBits, leastSignificantBits);
+  }
+
+  @Override
+  public Object generate(
+      SharedSessionContractImplementor session,
+      Object owner,
+      Object currentValue,
+      EventType eventType) {
+    return nextUuid();
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EventTypeSets.INSERT_ONLY;
+  }
+}
@@ -0,0 +1,43 @@
+package ua.foxminded.cars.repository.specification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.foxminded.cars.exceptionhandler.exceptions.CursorNotValidException;
+
+/**
+ * The sort key of the last model of a page, the next page starts right after it. A model name is
+ * not unique, so the ID breaks the ties. The cursor is passed to clients as an opaque URL-safe
+ * token.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelCursor {
+
+  private static final char SEPARATOR = ':';
+
+  private String name;
+  private UUID id;
+
+  public String toToken() {
+    byte[] key = (id.toString() + SEPARATOR + name).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(key);
+  }
+
+  public static ModelCursor fromToken(String token) {
+    try {
+      String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separatorIndex = key.indexOf(SEPARATOR);
+      UUID id = UUID.fromString(key.substring(0, separatorIndex));
+      return new ModelCursor(key.substring(separatorIndex + 1), id);
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new CursorNotValidException(token);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package ua.foxminded.cars.routing;
+
+import java.util.concurrent.Callable;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pins the reads of the current thread to the primary, so a client reads its own writes before they
+ * are replicated. A pinned thread stays pinned until it is cleared.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ReadYourWritesContext {
+
+  private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+  public static void pinToPrimary() {
+    PINNED_TO_PRIMARY.set(Boolean.TRUE);
+  }
+
+  public static boolean isPinnedToPrimary() {
+    return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+  }
+
+  public static void clear() {
+    PINNED_TO_PRIMARY.remove();
+  }
+
+  /**
+   * Wraps a read, so it runs on the primary. A thread that is not pinned already is pinned only
+   * while the read runs.
+   *
+   * @param read - a read
+   * @return the read that runs on the primary
+   */
+  public static <T> Callable<T> onPrimary(Callable<T> read) {
+    return () -> {
+      if (isPinnedToPrimary()) {
+        return read.call();
+      }
+      pinToPrimary();
+
+      try {
+        return read.call();
+      } finally {
+        clear();
+      }
+    };
+  }
+}
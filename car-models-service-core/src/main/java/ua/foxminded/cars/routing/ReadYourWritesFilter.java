@@ -0,0 +1,76 @@
+package ua.foxminded.cars.routing;
+
+import static java.util.Objects.nonNull;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sends the reads of a client to the primary for a while after its own write. A write request gets
+ * a cookie with the time until which the reads of the client are pinned to the primary, so the
+ * following requests read the write even if they come to another node before the replicas catch up.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  static final String COOKIE_NAME = "primary-reads-until";
+  private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+  private final Duration readYourWritesWindow;
+  private final Clock clock;
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    if (!SAFE_METHODS.contains(request.getMethod())) {
+      response.addCookie(buildCookie(request));
+      ReadYourWritesContext.pinToPrimary();
+    } else if (isWithinWindow(request)) {
+      ReadYourWritesContext.pinToPrimary();
+    }
+
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReadYourWritesContext.clear();
+    }
+  }
+
+  private Cookie buildCookie(HttpServletRequest request) {
+    long pinnedUntil = clock.millis() + readYourWritesWindow.toMillis();
+    Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(pinnedUntil));
+    cookie.setPath("/");
+    cookie.setHttpOnly(true);
+    cookie.setSecure(request.isSecure());
+    cookie.setMaxAge((int) readYourWritesWindow.toSeconds());
+    return cookie;
+  }
+
+  private boolean isWithinWindow(HttpServletRequest request) {
+    if (nonNull(request.getCookies())) {
+      return Arrays.stream(request.getCookies())
+          .filter(cookie -> COOKIE_NAME.equals(cookie.getName()))
+          .anyMatch(cookie -> parseMillis(cookie.getValue()) > clock.millis());
+    }
+    return false;
+  }
+
+  private long parseMillis(String value) {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package ua.foxminded.cars.routing;
+
+import static java.util.Objects.nonNull;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import ua.foxminded.cars.config.DataSourceRoutingConfig;
+
+/**
+ * Checks the replication lag of the read replicas on a daemon thread. A replica is read only while
+ * its lag is below the maximum, a replica that lags behind or cannot be reached is skipped until a
+ * later check finds it in sync, its reads go to the other replicas or the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+  private static final double MILLIS_IN_SECOND = 1000;
+
+  private final ReplicaRoutingDataSource routingDataSource;
+  private final DataSourceRoutingConfig settings;
+
+  private ScheduledExecutorService executor;
+
+  public ReplicaLagMonitor(
+      ReplicaRoutingDataSource routingDataSource, DataSourceRoutingConfig settings) {
+    this.routingDataSource = routingDataSource;
+    this.settings = settings;
+  }
+
+  public void checkReplicas() {
+    routingDataSource
+        .getReplicas()
+        .forEach(
+            (key, replica) -> routingDataSource.setReplicaAvailable(key, isInSync(key, replica)));
+  }
+
+  private boolean isInSync(String key, DataSource replica) {
+    try (Connection connection = replica.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(settings.getLagQuery())) {
+      resultSet.next();
+      Duration lag = Duration.ofMillis(Math.round(resultSet.getDouble(1) * MILLIS_IN_SECOND));
+      boolean isInSync = lag.compareTo(settings.getMaxReplicationLag()) <= 0;
+
+      if (!isInSync) {
+        log.debug("The read replica {} lags behind by {}", key, lag);
+      }
+      return isInSync;
+    } catch (SQLException e) {
+      log.warn("The replication lag of the read replica {} is not known", key, e);
+      return false;
+    }
+  }
+
+  @Override
+  public void start() {
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "replica-lag-monitor");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = settings.getLagCheckInterval().toMillis();
+    executor.scheduleWithFixedDelay(this::checkReplicas, 0, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return nonNull(executor) && !executor.isShutdown();
+  }
+}
@@ -0,0 +1,97 @@
+package ua.foxminded.cars.routing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the connections of read-only transactions to the read replicas in turn, the other
+ * connections go to the primary. A replica that lags behind is skipped, the reads go to the primary
+ * when no replica is available or the thread is pinned by the {@link ReadYourWritesContext}. The
+ * loads of cached values are pinned, so the shared caches are never filled from a replica.
+ *
+ * <p>A transaction manager takes a connection before it marks a transaction as read-only, so the
+ * data source should be wrapped into a {@code LazyConnectionDataSourceProxy} that takes the
+ * connection on the first statement.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+  static final String PRIMARY = "primary";
+  private static final String REPLICA = "replica-";
+
+  private final DataSource primary;
+  private final Map<String, DataSource> replicas = new HashMap<>();
+  private final List<String> replicaKeys = new ArrayList<>();
+  private final Set<String> availableReplicas = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger nextReplica = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources) {
+    this.primary = primary;
+    Map<Object, Object> targetDataSources = new HashMap<>();
+    targetDataSources.put(PRIMARY, primary);
+
+    for (DataSource replica : replicaDataSources) {
+      String key = REPLICA + (replicaKeys.size() + 1);
+      replicaKeys.add(key);
+      replicas.put(key, replica);
+      targetDataSources.put(key, replica);
+    }
+    setTargetDataSources(targetDataSources);
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  public Map<String, DataSource> getReplicas() {
+    return Map.copyOf(replicas);
+  }
+
+  public void setReplicaAvailable(String key, boolean isAvailable) {
+    boolean isChanged = isAvailable ? availableReplicas.add(key) : availableReplicas.remove(key);
+
+    if (isChanged) {
+      log.info("The read replica {} is {}", key, isAvailable ? "available" : "not available");
+    }
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        || ReadYourWritesContext.isPinnedToPrimary()) {
+      return PRIMARY;
+    }
+    int replicaCount = replicaKeys.size();
+
+    for (int i = 0; i < replicaCount; i++) {
+      String key = replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaCount));
+
+      if (availableReplicas.contains(key)) {
+        return key;
+      }
+    }
+    return PRIMARY;
+  }
+
+  @Override
+  public void close() throws Exception {
+    close(primary);
+
+    for (DataSource replica : replicas.values()) {
+      close(replica);
+    }
+  }
+
+  private void close(DataSource dataSource) throws Exception {
+    if (dataSource instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+}
@@ -1,7 +1,5 @@
 package ua.foxminded.cars.service;
 
-import java.util.Collection;
-import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import ua.foxminded.cars.service.dto.CategoryDto;
@@ -12,9 +10,5 @@ public interface CategoryService {
 
   boolean isCategoryExist(String name);
 
-  List<CategoryDto> createCategories(Collection<CategoryDto> categories);
-
-  List<CategoryDto> getCategories(Collection<String> categoryNames);
-
   void deleteCategory(String category);
 }
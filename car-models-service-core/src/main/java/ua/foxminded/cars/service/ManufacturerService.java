@@ -13,6 +13,4 @@ public interface ManufacturerService {
   void deleteManufacturer(String manufacturerName);
 
   boolean isManufacturerExistByName(String name);
-
-  ManufacturerDto createManufacturer(ManufacturerDto manufacturerDto);
 }
@@ -0,0 +1,14 @@
+package ua.foxminded.cars.service;
+
+import java.io.InputStream;
+import java.util.UUID;
+import ua.foxminded.cars.service.dto.ModelImportJobDto;
+
+public interface ModelImportService {
+
+  ModelImportJobDto startImport(InputStream csv);
+
+  ModelImportJobDto getImport(UUID jobId);
+
+  ModelImportJobDto resumeImport(UUID jobId);
+}
@@ -1,9 +1,13 @@
 package ua.foxminded.cars.service;
 
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.dto.ModelBatchResultDto;
+import ua.foxminded.cars.service.dto.ModelCursorPageDto;
 import ua.foxminded.cars.service.dto.ModelDto;
 
 public interface ModelService {
@@ -18,5 +22,13 @@ public interface ModelService {
 
   Page<ModelDto> searchModel(SearchFilter searchFilter, Pageable pageable);
 
+  Slice<ModelDto> searchModelSlice(SearchFilter searchFilter, Pageable pageable);
+
+  Page<ModelDto> searchModelWithEstimate(SearchFilter searchFilter, Pageable pageable);
+
+  ModelCursorPageDto searchModelAfter(SearchFilter searchFilter, String after, Pageable pageable);
+
   ModelDto createModel(ModelDto model);
+
+  List<ModelBatchResultDto> createModels(List<ModelDto> models);
 }
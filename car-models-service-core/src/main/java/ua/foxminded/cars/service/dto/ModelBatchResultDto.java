@@ -0,0 +1,30 @@
+package ua.foxminded.cars.service.dto;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The result of a model of a batch creation, the results are in the order of the requested models.
+ * A created model has its new ID, a conflicting model has the ID of the model that already exists.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelBatchResultDto {
+
+  private int index;
+  private Status status;
+  private UUID id;
+  private String manufacturer;
+  private String name;
+  private Integer year;
+
+  public enum Status {
+    CREATED,
+    CONFLICT
+  }
+}
@@ -0,0 +1,22 @@
+package ua.foxminded.cars.service.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A page of models read after a cursor. The next field is the cursor of the following page, it is
+ * null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelCursorPageDto {
+
+  private List<ModelDto> content;
+  private int size;
+  private String next;
+}
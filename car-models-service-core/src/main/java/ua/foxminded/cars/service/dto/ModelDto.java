@@ -1,5 +1,6 @@
 package ua.foxminded.cars.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
@@ -24,4 +25,6 @@ public class ModelDto {
   private String manufacturer;
 
   @NotNull private List<@NotBlank String> categories;
+
+  @JsonIgnore private Long version;
 }
@@ -0,0 +1,30 @@
+package ua.foxminded.cars.service.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.foxminded.cars.repository.entity.ModelImportJob.Status;
+
+/**
+ * The progress of a bulk import of models. The processed rows are the committed data rows of the
+ * file, the imported models are the new models among them and the rejected rows are the rows that
+ * are not valid. A failed job has the error.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelImportJobDto {
+
+  private UUID id;
+  private Status status;
+  private long processedRows;
+  private long importedModels;
+  private long rejectedRows;
+  private String error;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+}
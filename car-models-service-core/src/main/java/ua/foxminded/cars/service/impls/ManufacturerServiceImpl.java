@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ua.foxminded.cars.config.PageSortConfig;
 import ua.foxminded.cars.exceptionhandler.exceptions.ManufacturerNotFoundException;
 import ua.foxminded.cars.mapper.ManufacturerMapper;
@@ -15,6 +16,7 @@ import ua.foxminded.cars.repository.entity.Manufacturer;
 import ua.foxminded.cars.service.AbstractService;
 import ua.foxminded.cars.service.ManufacturerService;
 import ua.foxminded.cars.service.dto.ManufacturerDto;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
 
 @Service
 @RequiredArgsConstructor
@@ -24,44 +26,69 @@ public class ManufacturerServiceImpl extends AbstractService implements Manufact
   private final ManufacturerRepository manufacturerRepository;
   private final ManufacturerMapper manufacturerMapper;
   private final PageSortConfig pageSortConfig;
+  private final ReferenceDataRegistry referenceDataRegistry;
 
   @Override
+  @Transactional(readOnly = true)
   public Page<ManufacturerDto> getAllManufacturers(Pageable pageable) {
     pageable =
         setDefaultSortIfNecessary(
             pageable,
             pageSortConfig.getManufacturerSortDirection(),
             pageSortConfig.getManufacturerSortBy());
+
+    if (referenceDataRegistry.isSortedByName(pageable)) {
+      return referenceDataRegistry.getManufacturers(pageable).map(this::buildManufacturerDto);
+    }
     return manufacturerRepository.findAll(pageable).map(manufacturerMapper::toDto);
   }
 
   @Override
+  @Transactional(readOnly = true)
   public ManufacturerDto getManufacturer(String name) {
+    if (referenceDataRegistry.containsManufacturer(name)) {
+      return buildManufacturerDto(name);
+    }
     Manufacturer manufacturer =
         manufacturerRepository
-            .findById(name)
+            .findByName(name)
             .orElseThrow(() -> new ManufacturerNotFoundException(name));
     return manufacturerMapper.toDto(manufacturer);
   }
 
   @Override
+  @Transactional
   public void deleteManufacturer(String manufacturerName) {
-    if (!manufacturerRepository.existsById(manufacturerName)) {
+    if (!isManufacturerExistByName(manufacturerName)) {
       log.debug(MANUFACTURER_NOT_FOUND.formatted(manufacturerName));
       throw new ManufacturerNotFoundException(manufacturerName);
     }
-    manufacturerRepository.deleteById(manufacturerName);
+    manufacturerRepository.deleteByName(manufacturerName);
+    referenceDataRegistry.removeManufacturer(manufacturerName);
   }
 
+  /**
+   * Checks a manufacturer in the registry, a manufacturer that is not there is checked in a
+   * database, since it could be created by another node.
+   *
+   * @param name - a manufacturer name
+   * @return true if a manufacturer exists
+   */
   @Override
+  @Transactional(readOnly = true)
   public boolean isManufacturerExistByName(String name) {
-    return manufacturerRepository.existsById(name);
+    if (referenceDataRegistry.containsManufacturer(name)) {
+      return true;
+    }
+    boolean isExist = manufacturerRepository.existsByName(name);
+
+    if (isExist) {
+      referenceDataRegistry.addManufacturerLocally(name);
+    }
+    return isExist;
   }
 
-  @Override
-  public ManufacturerDto createManufacturer(ManufacturerDto manufacturerDto) {
-    Manufacturer manufacturer = manufacturerMapper.toEntity(manufacturerDto);
-    Manufacturer savedManufacturer = manufacturerRepository.saveAndFlush(manufacturer);
-    return manufacturerMapper.toDto(savedManufacturer);
+  private ManufacturerDto buildManufacturerDto(String name) {
+    return ManufacturerDto.builder().name(name).build();
   }
 }
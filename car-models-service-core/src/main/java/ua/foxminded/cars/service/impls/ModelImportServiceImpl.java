@@ -0,0 +1,296 @@
+package ua.foxminded.cars.service.impls;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.cars.cache.ModelCacheInvalidator;
+import ua.foxminded.cars.config.ModelImportConfig;
+import ua.foxminded.cars.exceptionhandler.exceptions.CsvNotValidException;
+import ua.foxminded.cars.exceptionhandler.exceptions.ModelImportNotFoundException;
+import ua.foxminded.cars.exceptionhandler.exceptions.ModelImportNotResumableException;
+import ua.foxminded.cars.mapper.ModelImportJobMapper;
+import ua.foxminded.cars.repository.ModelBatchRepository;
+import ua.foxminded.cars.repository.ModelImportJobRepository;
+import ua.foxminded.cars.repository.entity.ModelImportJob;
+import ua.foxminded.cars.repository.entity.ModelImportJob.Status;
+import ua.foxminded.cars.service.ModelImportService;
+import ua.foxminded.cars.service.dto.ModelImportJobDto;
+import ua.foxminded.cars.service.imports.CsvModelReader;
+import ua.foxminded.cars.service.imports.CsvModelReader.Batch;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
+import ua.foxminded.cars.service.search.ModelSearchEngine;
+
+/**
+ * Imports models from CSV files in the background. An upload is streamed to a file of the import
+ * directory, so the request does not hold the file in memory, and the job is run by a small pool of
+ * threads. The file is read in batches, every batch is written by the {@link ModelBatchRepository}
+ * and its progress is saved in the same transaction, so a failed job is resumed after its last
+ * committed batch and no row is imported twice. The file is deleted when the job is completed by
+ * the runner that still has the job.
+ *
+ * <p>A resumed job gets the next attempt and its runner writes only while the job has the attempt,
+ * so a slow runner whose job is taken over stops at its next batch and the rows are not counted
+ * twice. The file is kept on the node that received the upload, so a job is resumed only on a node
+ * that has the file, unless the import directory is shared by the nodes.
+ *
+ * <p>The models of a job are not indexed one by one, the search engine is rebuilt, the model caches
+ * of all nodes are cleared and the reference data is reloaded when the job ends, a failure of one
+ * of these steps does not skip the others. The remembered misses are evicted after every batch, so
+ * an imported model is found at once.
+ */
+@Service
+@Slf4j
+public class ModelImportServiceImpl implements ModelImportService {
+
+  private static final String FILE_EXTENSION = ".csv";
+  private static final int MAX_ERROR_LENGTH = 1024;
+
+  private final ModelImportJobRepository modelImportJobRepository;
+  private final ModelBatchRepository modelBatchRepository;
+  private final ModelImportJobMapper modelImportJobMapper;
+  private final ModelSearchEngine modelSearchEngine;
+  private final ModelCacheInvalidator modelCacheInvalidator;
+  private final ReferenceDataRegistry referenceDataRegistry;
+  private final ModelImportConfig modelImportConfig;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService importExecutor;
+
+  public ModelImportServiceImpl(
+      ModelImportJobRepository modelImportJobRepository,
+      ModelBatchRepository modelBatchRepository,
+      ModelImportJobMapper modelImportJobMapper,
+      ModelSearchEngine modelSearchEngine,
+      ModelCacheInvalidator modelCacheInvalidator,
+      ReferenceDataRegistry referenceDataRegistry,
+      ModelImportConfig modelImportConfig,
+      PlatformTransactionManager transactionManager) {
+    this.modelImportJobRepository = modelImportJobRepository;
+    this.modelBatchRepository = modelBatchRepository;
+    this.modelImportJobMapper = modelImportJobMapper;
+    this.modelSearchEngine = modelSearchEngine;
+    this.modelCacheInvalidator = modelCacheInvalidator;
+    this.referenceDataRegistry = referenceDataRegistry;
+    this.modelImportConfig = modelImportConfig;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.importExecutor = buildImportExecutor(modelImportConfig.getThreads());
+  }
+
+  private ExecutorService buildImportExecutor(int threads) {
+    AtomicInteger threadNumber = new AtomicInteger();
+    return new ThreadPoolExecutor(
+        threads,
+        threads,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "model-import-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  @PreDestroy
+  void shutdownImportExecutor() {
+    importExecutor.shutdownNow();
+  }
+
+  /**
+   * Saves an uploaded CSV file and starts its import, the header of the file is checked before the
+   * job is created.
+   *
+   * @param csv - the content of a CSV file
+   * @return ModelImportJobDto - the started job
+   */
+  @Override
+  public ModelImportJobDto startImport(InputStream csv) {
+    Path upload = saveUpload(csv);
+
+    try {
+      checkHeader(upload);
+      LocalDateTime now = LocalDateTime.now();
+      ModelImportJob job =
+          modelImportJobRepository.save(
+              ModelImportJob.builder()
+                  .status(Status.RUNNING)
+                  .createdAt(now)
+                  .updatedAt(now)
+                  .build());
+      Files.move(upload, getFile(job.getId()), StandardCopyOption.ATOMIC_MOVE);
+      submit(job.getId(), job.getAttempt());
+      return modelImportJobMapper.toDto(job);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deleteFile(upload);
+    }
+  }
+
+  private Path saveUpload(InputStream csv) {
+    try {
+      Path directory = Files.createDirectories(modelImportConfig.getDirectory());
+      Path upload = Files.createTempFile(directory, "upload-", FILE_EXTENSION);
+      Files.copy(csv, upload, StandardCopyOption.REPLACE_EXISTING);
+      return upload;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void checkHeader(Path file) throws IOException {
+    try {
+      openReader(file).close();
+    } catch (IllegalArgumentException e) {
+      throw new CsvNotValidException(e.getMessage());
+    }
+  }
+
+  @Override
+  public ModelImportJobDto getImport(UUID jobId) {
+    return modelImportJobRepository
+        .findById(jobId)
+        .map(modelImportJobMapper::toDto)
+        .orElseThrow(() -> new ModelImportNotFoundException(jobId));
+  }
+
+  /**
+   * Resumes a failed job, or a job whose node stopped while it was running, after its last
+   * committed batch. The file of the job has to be on this node.
+   *
+   * @param jobId - a job ID
+   * @return ModelImportJobDto - the resumed job
+   */
+  @Override
+  public ModelImportJobDto resumeImport(UUID jobId) {
+    ModelImportJobDto job = getImport(jobId);
+
+    if (job.getStatus() != Status.COMPLETED && Files.notExists(getFile(jobId))) {
+      throw new ModelImportNotResumableException(jobId);
+    }
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime stalledBefore = now.minus(modelImportConfig.getStalledAfter());
+    ModelImportJob resumedJob =
+        transactionTemplate.execute(
+            status ->
+                modelImportJobRepository.resume(jobId, stalledBefore, now) == 0
+                    ? null
+                    : modelImportJobRepository.findById(jobId).orElseThrow());
+
+    if (resumedJob == null) {
+      throw new ModelImportNotResumableException(jobId, getImport(jobId).getStatus());
+    }
+    submit(jobId, resumedJob.getAttempt());
+    return modelImportJobMapper.toDto(resumedJob);
+  }
+
+  private void submit(UUID jobId, int attempt) {
+    importExecutor.execute(() -> run(jobId, attempt));
+  }
+
+  private void run(UUID jobId, int attempt) {
+    try (CsvModelReader reader = openReader(getFile(jobId))) {
+      reader.skip(getImport(jobId).getProcessedRows());
+      Batch batch = reader.readBatch(modelImportConfig.getBatchSize());
+
+      while (!batch.isEmpty()) {
+        writeBatch(jobId, attempt, batch);
+        batch = reader.readBatch(modelImportConfig.getBatchSize());
+      }
+
+      if (updateStatus(jobId, attempt, Status.COMPLETED, null) == 1) {
+        deleteFile(getFile(jobId));
+        log.info("The model import {} is completed", jobId);
+      } else {
+        log.warn("The attempt {} of the model import {} is taken over", attempt, jobId);
+      }
+    } catch (Exception e) {
+      log.warn("The model import {} failed", jobId, e);
+      updateStatus(jobId, attempt, Status.FAILED, buildError(e));
+    } finally {
+      runAfterImport(jobId, "search index rebuild", modelSearchEngine::rebuild);
+      runAfterImport(jobId, "cache eviction", modelCacheInvalidator::evictAll);
+      runAfterImport(jobId, "reference data reload", referenceDataRegistry::reload);
+    }
+  }
+
+  private void runAfterImport(UUID jobId, String action, Runnable afterImport) {
+    try {
+      afterImport.run();
+    } catch (RuntimeException e) {
+      log.error("The {} after the model import {} failed", action, jobId, e);
+    }
+  }
+
+  private void writeBatch(UUID jobId, int attempt, Batch batch) {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          int importedModels = modelBatchRepository.upsertModels(batch.getModels());
+          int updatedJobs =
+              modelImportJobRepository.addProgress(
+                  jobId,
+                  attempt,
+                  Status.RUNNING,
+                  batch.getRows(),
+                  importedModels,
+                  batch.getRejectedRows(),
+                  LocalDateTime.now());
+
+          if (updatedJobs == 0) {
+            throw new IllegalStateException("The model import %s is not running".formatted(jobId));
+          }
+          modelCacheInvalidator.evictMisses();
+        });
+  }
+
+  private int updateStatus(UUID jobId, int attempt, Status status, String error) {
+    return transactionTemplate.execute(
+        transactionStatus ->
+            modelImportJobRepository.updateStatus(
+                jobId, attempt, Status.RUNNING, status, error, LocalDateTime.now()));
+  }
+
+  private String buildError(Exception e) {
+    String error = String.valueOf(e.getMessage());
+    return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+  }
+
+  private CsvModelReader openReader(Path file) throws IOException {
+    Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+
+    try {
+      return new CsvModelReader(reader);
+    } catch (RuntimeException e) {
+      reader.close();
+      throw e;
+    }
+  }
+
+  private Path getFile(UUID jobId) {
+    return modelImportConfig.getDirectory().resolve(jobId + FILE_EXTENSION);
+  }
+
+  private void deleteFile(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("The file {} of a model import is not deleted", file, e);
+    }
+  }
+}
@@ -1,64 +1,102 @@
 package ua.foxminded.cars.service.impls;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static ua.foxminded.cars.cache.CacheNames.GET_MODEL;
+import static ua.foxminded.cars.cache.CacheNames.GET_MODEL_BY_ID;
+import static ua.foxminded.cars.cache.CacheNames.SEARCH_MODELS;
 import static ua.foxminded.cars.exceptionhandler.ExceptionMessages.MODEL_ALREADY_EXIST_BY_PARAMETERS;
+import static ua.foxminded.cars.exceptionhandler.ExceptionMessages.MODEL_VERSION_MISMATCH;
 
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ua.foxminded.cars.cache.ModelCacheInvalidator;
+import ua.foxminded.cars.cache.ModelCountCache;
+import ua.foxminded.cars.cache.ModelInvalidation;
+import ua.foxminded.cars.cache.ModelMissCache;
 import ua.foxminded.cars.config.PageSortConfig;
+import ua.foxminded.cars.exceptionhandler.exceptions.CursorSortNotSupportedException;
 import ua.foxminded.cars.exceptionhandler.exceptions.ModelAlreadyExistsException;
 import ua.foxminded.cars.exceptionhandler.exceptions.ModelNotFoundException;
+import ua.foxminded.cars.exceptionhandler.exceptions.ModelNotValidException;
+import ua.foxminded.cars.exceptionhandler.exceptions.ModelVersionMismatchException;
 import ua.foxminded.cars.mapper.ModelMapper;
+import ua.foxminded.cars.repository.ModelBatchRepository;
+import ua.foxminded.cars.repository.ModelProjectionRepository;
 import ua.foxminded.cars.repository.ModelRepository;
+import ua.foxminded.cars.repository.ModelStatisticsRepository;
 import ua.foxminded.cars.repository.entity.Category;
 import ua.foxminded.cars.repository.entity.Manufacturer;
 import ua.foxminded.cars.repository.entity.Model;
 import ua.foxminded.cars.repository.entity.ModelYear;
-import ua.foxminded.cars.repository.specification.ModelSpecification;
+import ua.foxminded.cars.repository.specification.ModelCursor;
 import ua.foxminded.cars.repository.specification.SearchFilter;
 import ua.foxminded.cars.service.AbstractService;
 import ua.foxminded.cars.service.CategoryService;
 import ua.foxminded.cars.service.ManufacturerService;
 import ua.foxminded.cars.service.ModelService;
 import ua.foxminded.cars.service.ModelYearService;
-import ua.foxminded.cars.service.dto.CategoryDto;
-import ua.foxminded.cars.service.dto.ManufacturerDto;
+import ua.foxminded.cars.service.dto.ModelBatchResultDto;
+import ua.foxminded.cars.service.dto.ModelCursorPageDto;
 import ua.foxminded.cars.service.dto.ModelDto;
-import ua.foxminded.cars.service.dto.ModelYearDto;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
+import ua.foxminded.cars.service.search.ModelSearchEngine;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ModelServiceImpl extends AbstractService implements ModelService {
 
-  private static final String SEARCH_MODELS_CACHE = "searchModels";
-  private static final String GET_MODEL_BY_ID_CACHE = "getModelById";
-  private static final String GET_MODEL_CACHE = "getModel";
+  private static final String NAME = "name";
+  private static final SearchFilter NO_FILTER = new SearchFilter();
 
   private final ModelRepository modelRepository;
+  private final ModelProjectionRepository modelProjectionRepository;
   private final ModelMapper modelMapper;
   private final PageSortConfig pageSortConfig;
   private final ManufacturerService manufacturerService;
   private final ModelYearService modelYearService;
   private final CategoryService categoryService;
+  private final ModelCacheInvalidator modelCacheInvalidator;
+  private final ModelMissCache modelMissCache;
+  private final ModelSearchEngine modelSearchEngine;
+  private final ModelCountCache modelCountCache;
+  private final ModelStatisticsRepository modelStatisticsRepository;
+  private final ModelBatchRepository modelBatchRepository;
+  private final ReferenceDataRegistry referenceDataRegistry;
 
   /**
    * Updates a model, if there are no needed entities they will be created if after updating the
-   * previously related entities have no relations then they will be removed.
+   * previously related entities have no relations then they will be removed. If the target model
+   * has a version, the update is applied only when the model still has the same ID and version, the
+   * check and the version increment are done by a single compare-and-set statement.
+   *
+   * <p>The row of the model is locked when it is read, so concurrent updates of the model are
+   * applied one after another, each of them diffs the current categories and returns its own
+   * version. The categories are changed by a constant number of set-based statements. When the
+   * model already has the target categories, nothing is written and no cache entry is evicted.
    *
    * @param targetModelDto - the state of a model that should be in a database
    * @return - a model object that reflects a database state after updating
@@ -66,75 +104,103 @@ public class ModelServiceImpl extends AbstractService implements ModelService {
   @Override
   @Transactional
   @Caching(
-      evict = @CacheEvict(value = SEARCH_MODELS_CACHE, allEntries = true),
       put = {
         @CachePut(
-            value = GET_MODEL_CACHE,
+            value = GET_MODEL,
             key =
                 "{ 'getModel', #targetModelDto.manufacturer, #targetModelDto.name, #targetModelDto.year }"),
-        @CachePut(value = GET_MODEL_BY_ID_CACHE, key = "{ 'getModelById', #targetModelDto.id }")
+        @CachePut(value = GET_MODEL_BY_ID, key = "{ 'getModelById', #targetModelDto.id }")
       })
   public ModelDto updateModel(ModelDto targetModelDto) {
     String manufacturerName = targetModelDto.getManufacturer();
     String modelName = targetModelDto.getName();
     int year = targetModelDto.getYear();
-    Model sourceModel = findModelBySpecification(manufacturerName, modelName, year);
-    List<String> sourceCategories = getCategoryNames(sourceModel.getCategories());
-    List<String> targetCategories = targetModelDto.getCategories();
-    List<CategoryDto> shouldBeAssignedCategories =
-        selectCategoriesToAssign(sourceCategories, targetCategories);
-    List<CategoryDto> persistedCategories = createCategoriesIfNecessary(shouldBeAssignedCategories);
-    putModelToCategories(sourceModel.getId(), persistedCategories);
-    sourceCategories.removeAll(targetCategories);
-
-    if (!sourceCategories.isEmpty()) {
-      removeModelFromCategories(sourceModel.getId(), sourceCategories);
+    boolean isConditional = nonNull(targetModelDto.getVersion());
+    Model sourceModel = findModelForUpdate(manufacturerName, modelName, year);
+    Set<String> sourceCategories =
+        new LinkedHashSet<>(getCategoryNames(sourceModel.getCategories()));
+    Set<String> targetCategories = new LinkedHashSet<>(targetModelDto.getCategories());
+
+    if (sourceCategories.equals(targetCategories)) {
+      if (isConditional) {
+        verifyVersionMatches(targetModelDto, sourceModel);
+      }
+      targetModelDto.setId(sourceModel.getId());
+      targetModelDto.setVersion(sourceModel.getVersion());
+      return targetModelDto;
+    }
+
+    if (isConditional) {
+      incrementVersionIfMatches(targetModelDto);
+    } else {
+      modelRepository.incrementVersion(sourceModel.getId());
     }
+    long version = sourceModel.getVersion() + 1;
+    Set<String> affectedCategories = new LinkedHashSet<>(sourceCategories);
+    affectedCategories.addAll(targetCategories);
+    Set<String> removedCategories = new LinkedHashSet<>(sourceCategories);
+    removedCategories.removeAll(targetCategories);
+    Set<String> addedCategories = new LinkedHashSet<>(targetCategories);
+    addedCategories.removeAll(sourceCategories);
+    List<String> deletedCategories =
+        modelBatchRepository.replaceModelCategories(
+            sourceModel.getId(), targetCategories, removedCategories);
     targetModelDto.setId(sourceModel.getId());
+    targetModelDto.setVersion(version);
+    modelSearchEngine.index(targetModelDto);
+    referenceDataRegistry.addCategories(addedCategories);
+    deletedCategories.forEach(referenceDataRegistry::removeCategory);
+    modelCacheInvalidator.evictSearchPages(
+        ModelInvalidation.of(targetModelDto, affectedCategories));
     return targetModelDto;
   }
 
-  private List<CategoryDto> selectCategoriesToAssign(
-      Collection<String> sourceCategories, Collection<String> targetCategories) {
-    return targetCategories.stream()
-        .filter(category -> !sourceCategories.contains(category))
-        .map(category -> CategoryDto.builder().name(category).build())
-        .toList();
+  private void verifyVersionMatches(ModelDto modelDto, Model model) {
+    if (!model.getId().equals(modelDto.getId())
+        || !model.getVersion().equals(modelDto.getVersion())) {
+      String manufacturerName = modelDto.getManufacturer();
+      String modelName = modelDto.getName();
+      int year = modelDto.getYear();
+      log.debug(MODEL_VERSION_MISMATCH.formatted(manufacturerName, modelName, year));
+      throw new ModelVersionMismatchException(manufacturerName, modelName, year);
+    }
   }
 
-  private List<CategoryDto> createCategoriesIfNecessary(Collection<CategoryDto> categoriesDto) {
-    List<String> categoryNames = categoriesDto.stream().map(CategoryDto::getName).toList();
-    return createCategoriesIfNecessary(categoryNames);
+  private void incrementVersionIfMatches(ModelDto modelDto) {
+    String manufacturerName = modelDto.getManufacturer();
+    String modelName = modelDto.getName();
+    int year = modelDto.getYear();
+    int updatedModels =
+        modelRepository.incrementVersionIfMatches(
+            modelDto.getId(), modelDto.getVersion(), manufacturerName, modelName, Year.of(year));
+
+    if (updatedModels == 0) {
+      findModelForUpdate(manufacturerName, modelName, year);
+      log.debug(MODEL_VERSION_MISMATCH.formatted(manufacturerName, modelName, year));
+      throw new ModelVersionMismatchException(manufacturerName, modelName, year);
+    }
   }
 
   private List<String> getCategoryNames(Collection<Category> categories) {
     return categories.stream().map(Category::getName).collect(Collectors.toList());
   }
 
-  private void removeModelFromCategories(UUID modelId, Collection<String> categoryNames) {
-    for (String categoryName : categoryNames) {
-      modelRepository.removeModelFromCategory(String.valueOf(modelId), categoryName);
-      deleteCategoryIfNecessary(categoryName);
-    }
-  }
-
   /**
-   * Deletes a model and deletes related entities if they have no relations.
+   * Deletes a model and deletes related entities if they have no relations. The search row of the
+   * model is deleted by the database together with the model.
    *
    * @param modelId - a model ID
    */
   @Override
   @Transactional
-  @Caching(
-      evict = {
-        @CacheEvict(value = SEARCH_MODELS_CACHE, allEntries = true),
-        @CacheEvict(value = GET_MODEL_BY_ID_CACHE, key = "{ 'getModelById', #modelId }"),
-        @CacheEvict(value = GET_MODEL_CACHE, allEntries = true)
-      })
   public void deleteModelById(UUID modelId) {
     Model model =
         modelRepository.findById(modelId).orElseThrow(() -> new ModelNotFoundException(modelId));
+    ModelDto deletedModel = modelMapper.toDto(model);
     modelRepository.delete(model);
+    modelSearchEngine.remove(modelId);
+    modelCacheInvalidator.evictModel(
+        ModelInvalidation.of(deletedModel, deletedModel.getCategories()));
     deleteManufacturerIfNecessary(model.getManufacturer());
     deleteModelYearIfNecessary(model.getYear());
     deleteCategoriesIfNecessary(model.getCategories());
@@ -167,49 +233,201 @@ public class ModelServiceImpl extends AbstractService implements ModelService {
     }
   }
 
+  /**
+   * Returns a model by its ID, the model is read straight into a DTO without loading the entity. A
+   * missing model is remembered for a short time, so a repeated lookup of the ID throws the
+   * exception without a query.
+   *
+   * @param modelId - a model ID
+   * @return ModelDto
+   */
   @Override
-  @Cacheable(value = GET_MODEL_BY_ID_CACHE, key = "{ #root.methodName, #modelId }")
+  @Transactional(readOnly = true)
+  @Cacheable(value = GET_MODEL_BY_ID, key = "{ #root.methodName, #modelId }", sync = true)
   public ModelDto getModelById(UUID modelId) {
-    Model model =
-        modelRepository.findById(modelId).orElseThrow(() -> new ModelNotFoundException(modelId));
-    return modelMapper.toDto(model);
+    long generation = modelMissCache.getGeneration();
+
+    if (modelMissCache.isMissing(modelId)) {
+      throw new ModelNotFoundException(modelId);
+    }
+    return modelProjectionRepository
+        .findById(modelId)
+        .orElseThrow(
+            () -> {
+              modelMissCache.putMissing(modelId, generation);
+              return new ModelNotFoundException(modelId);
+            });
   }
 
+  /**
+   * Returns a model by its manufacturer, name and year, the model is read straight into a DTO
+   * without loading the entity. A missing model is remembered for a short time, so a repeated
+   * lookup throws the exception without a query.
+   *
+   * @param manufacturer - a manufacturer name
+   * @param name - a model name
+   * @param year - a model year
+   * @return ModelDto
+   */
   @Override
-  @Cacheable(value = GET_MODEL_CACHE, key = "{ #root.methodName,  #manufacturer, #name, #year }")
+  @Transactional(readOnly = true)
+  @Cacheable(
+      value = GET_MODEL,
+      key = "{ #root.methodName,  #manufacturer, #name, #year }",
+      sync = true)
   public ModelDto getModel(String manufacturer, String name, int year) {
-    Model model = findModelBySpecification(manufacturer, name, year);
-    return modelMapper.toDto(model);
+    long generation = modelMissCache.getGeneration();
+
+    if (modelMissCache.isMissing(manufacturer, name, year)) {
+      throw new ModelNotFoundException(manufacturer, name, year);
+    }
+    return modelProjectionRepository
+        .findOne(manufacturer, name, year)
+        .orElseThrow(
+            () -> {
+              modelMissCache.putMissing(manufacturer, name, year, generation);
+              return new ModelNotFoundException(manufacturer, name, year);
+            });
   }
 
-  private Model findModelBySpecification(String manufacturer, String modelName, int modelYear) {
-    Specification<Model> specification = buildSpecification(manufacturer, modelName, modelYear);
+  private Model findModelForUpdate(String manufacturer, String modelName, int modelYear) {
     return modelRepository
-        .findOne(specification)
+        .findForUpdate(manufacturer, modelName, Year.of(modelYear))
         .orElseThrow(() -> new ModelNotFoundException(manufacturer, modelName, modelYear));
   }
 
   /**
    * Searches for models by provided parameters if no parameters are present it returns all models
    * in a database. There is a validation, a value of the maxYear must be greater than a value of
-   * minYear one.
+   * minYear one. The total count of the search filter is cached apart from pages, so it is counted
+   * once for all pages of the filter, and it is not counted at all if the first page is not full.
    *
    * @param searchFilter - parameters for the search
    * @param pageable - parameter for a page
-   * @return Page<ModelDto> - a page containing models
+   * @return Page<ModelDto> - a page containing models, concurrent misses of a page are coalesced
+   *     into a single search of the {@link ModelSearchEngine}
    */
   @Override
-  @Cacheable(value = SEARCH_MODELS_CACHE, key = "{ #root.methodName, #searchFilter, #pageable }")
+  @Transactional(readOnly = true)
+  @Cacheable(
+      value = SEARCH_MODELS,
+      key = "{ #root.methodName, #searchFilter, #pageable }",
+      sync = true)
   public Page<ModelDto> searchModel(SearchFilter searchFilter, Pageable pageable) {
-    Specification<Model> specification = ModelSpecification.getSpecification(searchFilter);
-    pageable =
-        setDefaultSortIfNecessary(
-            pageable, pageSortConfig.getModelSortDirection(), pageSortConfig.getModelSortBy());
-    return modelRepository.findAll(specification, pageable).map(modelMapper::toDto);
+    pageable = setDefaultModelSortIfNecessary(pageable);
+    Slice<ModelDto> slice = modelSearchEngine.search(searchFilter, pageable);
+    return PageableExecutionUtils.getPage(
+        slice.getContent(), pageable, () -> countModels(searchFilter));
+  }
+
+  /**
+   * Searches for models like {@link #searchModel(SearchFilter, Pageable)} but returns a slice that
+   * only knows whether there is a next page, so no count is needed.
+   *
+   * @param searchFilter - parameters for the search
+   * @param pageable - parameter for a page
+   * @return Slice<ModelDto> - a slice containing models
+   */
+  @Override
+  @Transactional(readOnly = true)
+  @Cacheable(
+      value = SEARCH_MODELS,
+      key = "{ #root.methodName, #searchFilter, #pageable }",
+      sync = true)
+  public Slice<ModelDto> searchModelSlice(SearchFilter searchFilter, Pageable pageable) {
+    return modelSearchEngine.search(searchFilter, setDefaultModelSortIfNecessary(pageable));
+  }
+
+  /**
+   * Searches for models like {@link #searchModel(SearchFilter, Pageable)}, but the total count of
+   * all models is estimated by the database statistics instead of counting them. A filtered search
+   * has no estimate, its total count is exact.
+   *
+   * @param searchFilter - parameters for the search
+   * @param pageable - parameter for a page
+   * @return Page<ModelDto> - a page containing models with an estimated total count
+   */
+  @Override
+  @Transactional(readOnly = true)
+  @Cacheable(
+      value = SEARCH_MODELS,
+      key = "{ #root.methodName, #searchFilter, #pageable }",
+      sync = true)
+  public Page<ModelDto> searchModelWithEstimate(SearchFilter searchFilter, Pageable pageable) {
+    pageable = setDefaultModelSortIfNecessary(pageable);
+    Slice<ModelDto> slice = modelSearchEngine.search(searchFilter, pageable);
+
+    if (!NO_FILTER.equals(searchFilter)) {
+      return PageableExecutionUtils.getPage(
+          slice.getContent(), pageable, () -> countModels(searchFilter));
+    }
+    return PageableExecutionUtils.getPage(
+        slice.getContent(),
+        pageable,
+        () ->
+            modelStatisticsRepository
+                .estimateModelCount()
+                .orElseGet(() -> countModels(searchFilter)));
+  }
+
+  private Pageable setDefaultModelSortIfNecessary(Pageable pageable) {
+    return setDefaultSortIfNecessary(
+        pageable, pageSortConfig.getModelSortDirection(), pageSortConfig.getModelSortBy());
+  }
+
+  private long countModels(SearchFilter searchFilter) {
+    return modelCountCache.getCount(searchFilter, () -> modelSearchEngine.count(searchFilter));
+  }
+
+  /**
+   * Searches for models after a cursor, the query seeks to the cursor by the name and ID of models,
+   * so a deep page costs as much as the first one. The page has no total count, it has the cursor
+   * of the next page instead.
+   *
+   * @param searchFilter - parameters for the search
+   * @param after - the cursor of the page, an empty one starts from the first model
+   * @param pageable - the size of a page and its sort, models can be sorted only by name
+   * @return ModelCursorPageDto - a page containing models and the cursor of the next page
+   */
+  @Override
+  @Transactional(readOnly = true)
+  @Cacheable(
+      value = SEARCH_MODELS,
+      key = "{ #root.methodName, #searchFilter, #after, #pageable.pageSize, #pageable.sort }",
+      sync = true)
+  public ModelCursorPageDto searchModelAfter(
+      SearchFilter searchFilter, String after, Pageable pageable) {
+    Direction direction = getCursorDirection(pageable.getSort());
+    ModelCursor cursor = after.isEmpty() ? null : ModelCursor.fromToken(after);
+    int size = pageable.getPageSize();
+    List<ModelDto> models =
+        modelProjectionRepository.findAfter(searchFilter, cursor, direction, size + 1);
+    List<ModelDto> content = models.stream().limit(size).toList();
+    String next = models.size() > size ? getCursor(content.get(size - 1)).toToken() : null;
+    return ModelCursorPageDto.builder().content(content).size(size).next(next).build();
+  }
+
+  private Direction getCursorDirection(Sort sort) {
+    if (sort.isUnsorted()) {
+      return pageSortConfig.getModelSortDirection();
+    }
+
+    if (!sort.stream().map(Order::getProperty).allMatch(NAME::equals)) {
+      throw new CursorSortNotSupportedException(sort);
+    }
+    return sort.iterator().next().getDirection();
+  }
+
+  private ModelCursor getCursor(ModelDto modelDto) {
+    return ModelCursor.builder().name(modelDto.getName()).id(modelDto.getId()).build();
   }
 
   /**
-   * Creates a model. If a database has no necessary relations then they will be created.
+   * Creates a model. If a database has no necessary relations then they will be created. The
+   * existence of the model is checked by a single query, the manufacturer, the year and the
+   * categories are inserted if they are missing and the model with its relations is inserted by
+   * batched statements, so a create takes a constant number of statements whatever the number of
+   * categories.
    *
    * @param modelDto - DTO of a model
    * @return ModelDto
@@ -217,82 +435,120 @@ public class ModelServiceImpl extends AbstractService implements ModelService {
   @Override
   @Transactional
   @Caching(
-      evict = {
-        @CacheEvict(value = SEARCH_MODELS_CACHE, allEntries = true),
-        @CacheEvict(value = GET_MODEL_BY_ID_CACHE, allEntries = true)
-      },
       put = {
         @CachePut(
-            value = GET_MODEL_CACHE,
-            key = "{ 'getModel', #modelDto.manufacturer, #modelDto.name, #modelDto.year }")
+            value = GET_MODEL,
+            key = "{ 'getModel', #modelDto.manufacturer, #modelDto.name, #modelDto.year }"),
+        @CachePut(value = GET_MODEL_BY_ID, key = "{ 'getModelById', #result.id }")
       })
   public ModelDto createModel(ModelDto modelDto) {
-    verifyIfModelExists(modelDto.getManufacturer(), modelDto.getName(), modelDto.getYear());
-    createManufacturerIfNecessary(modelDto.getManufacturer());
-    createModelYearIfNecessary(modelDto.getYear());
-    ModelDto savedModel = saveModel(modelDto);
-    List<CategoryDto> persistedCategories = createCategoriesIfNecessary(modelDto.getCategories());
-    putModelToCategories(savedModel.getId(), persistedCategories);
-    modelDto.setId(savedModel.getId());
+    verifyIfModelExists(modelDto);
+    modelBatchRepository.insertModels(List.of(modelDto));
+    indexCreatedModel(modelDto);
+    modelCacheInvalidator.evictSearchPages(
+        ModelInvalidation.of(modelDto, modelDto.getCategories()));
     return modelDto;
   }
 
-  private void verifyIfModelExists(String manufacturerName, String modelName, int year) {
-    Specification<Model> specification = buildSpecification(manufacturerName, modelName, year);
-    modelRepository
-        .findOne(specification)
-        .ifPresent(
-            entity -> {
-              log.debug(
-                  MODEL_ALREADY_EXIST_BY_PARAMETERS.formatted(
-                      manufacturerName, modelName, year, entity.getId()));
-              throw new ModelAlreadyExistsException(
-                  manufacturerName, modelName, year, entity.getId());
-            });
-  }
+  private void verifyIfModelExists(ModelDto modelDto) {
+    UUID modelId = modelBatchRepository.findModelIds(List.of(modelDto)).get(0);
 
-  private Specification<Model> buildSpecification(String manufacturer, String name, int year) {
-    SearchFilter searchFilter =
-        SearchFilter.builder().manufacturer(manufacturer).name(name).year(year).build();
-    return ModelSpecification.getSpecification(searchFilter);
+    if (nonNull(modelId)) {
+      String manufacturerName = modelDto.getManufacturer();
+      String modelName = modelDto.getName();
+      int year = modelDto.getYear();
+      log.debug(
+          MODEL_ALREADY_EXIST_BY_PARAMETERS.formatted(manufacturerName, modelName, year, modelId));
+      throw new ModelAlreadyExistsException(manufacturerName, modelName, year, modelId);
+    }
   }
 
-  private void createManufacturerIfNecessary(String manufacturerName) {
-    if (!manufacturerService.isManufacturerExistByName(manufacturerName)) {
-      ManufacturerDto manufacturerDto = ManufacturerDto.builder().name(manufacturerName).build();
-      manufacturerService.createManufacturer(manufacturerDto);
+  /**
+   * Creates models of a batch in a single transaction. The existing models are found by a single
+   * query, the new models with their manufacturers, years and categories are inserted by batched
+   * statements, and the caches are invalidated once for the whole batch. A model that already
+   * exists, or that is repeated in the batch, is not created, its result is a conflict with the ID
+   * of the existing model.
+   *
+   * @param models - models with a manufacturer, a name, a year and categories
+   * @return List<ModelBatchResultDto> - the results in the order of the models
+   */
+  @Override
+  @Transactional
+  public List<ModelBatchResultDto> createModels(List<ModelDto> models) {
+    verifyBatchModels(models);
+    List<UUID> existingIds = modelBatchRepository.findModelIds(models);
+    Map<List<Object>, ModelDto> newModels = new LinkedHashMap<>();
+
+    for (int i = 0; i < models.size(); i++) {
+      if (isNull(existingIds.get(i))) {
+        newModels.putIfAbsent(getModelKey(models.get(i)), models.get(i));
+      }
     }
-  }
+    List<ModelDto> createdModels = new ArrayList<>(newModels.values());
+    modelBatchRepository.insertModels(createdModels);
+    createdModels.forEach(this::indexCreatedModel);
+    modelCacheInvalidator.evictSearchPages(
+        createdModels.stream()
+            .map(model -> ModelInvalidation.of(model, model.getCategories()))
+            .toList());
 
-  private List<CategoryDto> defineCategoriesToCreate(List<String> categoryNames) {
-    return categoryNames.stream()
-        .filter(categoryName -> !categoryService.isCategoryExist(categoryName))
-        .map(categoryName -> CategoryDto.builder().name(categoryName).build())
-        .toList();
-  }
+    List<ModelBatchResultDto> results = new ArrayList<>();
+
+    for (int i = 0; i < models.size(); i++) {
+      ModelDto model = models.get(i);
 
-  private void createModelYearIfNecessary(int year) {
-    if (!modelYearService.isModelYearExist(year)) {
-      ModelYearDto modelYearDto = ModelYearDto.builder().year(year).build();
-      modelYearService.createModelYear(modelYearDto);
+      if (nonNull(existingIds.get(i))) {
+        results.add(
+            buildBatchResult(i, model, ModelBatchResultDto.Status.CONFLICT, existingIds.get(i)));
+      } else {
+        ModelDto createdModel = newModels.get(getModelKey(model));
+        ModelBatchResultDto.Status status =
+            createdModel == model
+                ? ModelBatchResultDto.Status.CREATED
+                : ModelBatchResultDto.Status.CONFLICT;
+        results.add(buildBatchResult(i, model, status, createdModel.getId()));
+      }
     }
+    return results;
   }
 
-  private ModelDto saveModel(ModelDto modelDto) {
-    Model model = modelMapper.toEntity(modelDto);
-    Model createdModel = modelRepository.save(model);
-    return modelMapper.toDto(createdModel);
+  private ModelBatchResultDto buildBatchResult(
+      int index, ModelDto model, ModelBatchResultDto.Status status, UUID modelId) {
+    return ModelBatchResultDto.builder()
+        .index(index)
+        .status(status)
+        .id(modelId)
+        .manufacturer(model.getManufacturer())
+        .name(model.getName())
+        .year(model.getYear())
+        .build();
   }
 
-  private List<CategoryDto> createCategoriesIfNecessary(List<String> categories) {
-    List<CategoryDto> shouldBeCreatedCategories = defineCategoriesToCreate(categories);
-    categoryService.createCategories(shouldBeCreatedCategories);
-    return categoryService.getCategories(categories);
-  }
+  private void verifyBatchModels(List<ModelDto> models) {
+    for (int i = 0; i < models.size(); i++) {
+      ModelDto model = models.get(i);
 
-  private void putModelToCategories(UUID modelId, List<CategoryDto> categories) {
-    for (CategoryDto category : categories) {
-      modelRepository.putModelToCategory(modelId, category.getName());
+      if (isNull(model.getManufacturer())
+          || model.getManufacturer().isBlank()
+          || isNull(model.getName())
+          || model.getName().isBlank()
+          || isNull(model.getYear())
+          || model.getYear() <= 0) {
+        throw new ModelNotValidException(i);
+      }
     }
   }
+
+  private List<Object> getModelKey(ModelDto model) {
+    return List.of(model.getManufacturer(), model.getName(), model.getYear());
+  }
+
+  private void indexCreatedModel(ModelDto model) {
+    model.setVersion(0L);
+    modelSearchEngine.index(model);
+    referenceDataRegistry.addManufacturer(model.getManufacturer());
+    referenceDataRegistry.addYear(model.getYear());
+    referenceDataRegistry.addCategories(model.getCategories());
+  }
 }
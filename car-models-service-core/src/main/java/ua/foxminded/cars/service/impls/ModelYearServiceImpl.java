@@ -4,37 +4,43 @@ import java.time.Year;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import ua.foxminded.cars.exceptionhandler.exceptions.YearNotFoundException;
-import ua.foxminded.cars.mapper.ModelYearMapper;
 import ua.foxminded.cars.repository.ModelYearRepository;
-import ua.foxminded.cars.repository.entity.ModelYear;
 import ua.foxminded.cars.service.ModelYearService;
-import ua.foxminded.cars.service.dto.ModelYearDto;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
 
 @Service
 @RequiredArgsConstructor
 public class ModelYearServiceImpl implements ModelYearService {
 
   private final ModelYearRepository modelYearRepository;
-  private final ModelYearMapper modelYearMapper;
+  private final ReferenceDataRegistry referenceDataRegistry;
 
+  /**
+   * Checks a year in the registry, a year that is not there is checked in a database, since it
+   * could be created by another node.
+   *
+   * @param year - a model year
+   * @return true if a year exists
+   */
   @Override
   public boolean isModelYearExist(int year) {
-    return false;
+    if (referenceDataRegistry.containsYear(year)) {
+      return true;
+    }
+    boolean isExist = modelYearRepository.existsById(Year.of(year));
+
+    if (isExist) {
+      referenceDataRegistry.addYearLocally(year);
+    }
+    return isExist;
   }
 
   @Override
   public void deleteYear(int value) {
-    Year year = Year.of(value);
-    if (!modelYearRepository.existsById(year)) {
+    if (!isModelYearExist(value)) {
       throw new YearNotFoundException(value);
     }
-    modelYearRepository.deleteById(year);
-  }
-
-  @Override
-  public ModelYearDto createModelYear(ModelYearDto modelYearDto) {
-    ModelYear modelYear = modelYearMapper.toEntity(modelYearDto);
-    modelYearRepository.saveAndFlush(modelYear);
-    return modelYearMapper.toDto(modelYear);
+    modelYearRepository.deleteById(Year.of(value));
+    referenceDataRegistry.removeYear(value);
   }
 }
@@ -0,0 +1,214 @@
+package ua.foxminded.cars.service.imports;
+
+import static java.util.Objects.isNull;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+/**
+ * Reads models from a CSV file one batch at a time, so a file of any size is read in constant
+ * memory. The columns are found by the header, the {@code Make}, {@code Year}, {@code Model} and
+ * {@code Category} columns are required, other columns are ignored. A quoted field can contain
+ * commas, line breaks and doubled quotes, the category field is a comma separated list of category
+ * names. A row without a manufacturer or a name, or with a year that is not a positive number, is
+ * rejected.
+ */
+@Slf4j
+public class CsvModelReader implements Closeable {
+
+  static final String MANUFACTURER_COLUMN = "make";
+  static final String YEAR_COLUMN = "year";
+  static final String NAME_COLUMN = "model";
+  static final String CATEGORY_COLUMN = "category";
+
+  private static final char SEPARATOR = ',';
+  private static final char QUOTE = '"';
+  private static final char CARRIAGE_RETURN = '\r';
+  private static final char LINE_FEED = '\n';
+  private static final int END = -1;
+
+  private final BufferedReader reader;
+  private final int manufacturerIndex;
+  private final int yearIndex;
+  private final int nameIndex;
+  private final int categoryIndex;
+
+  @Getter private long rowNumber;
+
+  public CsvModelReader(Reader reader) {
+    this.reader = new BufferedReader(reader);
+    List<String> header = readRecord();
+
+    if (isNull(header)) {
+      throw new IllegalArgumentException("The CSV file has no header");
+    }
+    List<String> columns =
+        header.stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+    this.manufacturerIndex = indexOf(columns, MANUFACTURER_COLUMN);
+    this.yearIndex = indexOf(columns, YEAR_COLUMN);
+    this.nameIndex = indexOf(columns, NAME_COLUMN);
+    this.categoryIndex = indexOf(columns, CATEGORY_COLUMN);
+  }
+
+  private int indexOf(List<String> columns, String column) {
+    int index = columns.indexOf(column);
+
+    if (index < 0) {
+      throw new IllegalArgumentException("The CSV file has no '%s' column".formatted(column));
+    }
+    return index;
+  }
+
+  /**
+   * Skips the rows that are already imported by a previous run of a job.
+   *
+   * @param rows - the number of data rows to skip
+   */
+  public void skip(long rows) {
+    while (rowNumber < rows && readRecord() != null) {
+      rowNumber++;
+    }
+  }
+
+  /**
+   * Reads the next rows of the file.
+   *
+   * @param size - the maximum number of rows
+   * @return Batch - the models of the valid rows and the number of rejected rows, the batch is
+   *     empty at the end of the file
+   */
+  public Batch readBatch(int size) {
+    Batch batch = new Batch();
+    List<String> fields;
+
+    while (batch.getRows() < size && (fields = readRecord()) != null) {
+      rowNumber++;
+
+      if (fields.size() == 1 && fields.get(0).isBlank()) {
+        batch.rejectedRows++;
+        continue;
+      }
+      ModelDto model = toModel(fields);
+
+      if (isNull(model)) {
+        log.debug("The row {} of the CSV file is rejected: {}", rowNumber, fields);
+        batch.rejectedRows++;
+      } else {
+        batch.models.add(model);
+      }
+    }
+    return batch;
+  }
+
+  private ModelDto toModel(List<String> fields) {
+    String manufacturer = getField(fields, manufacturerIndex);
+    String name = getField(fields, nameIndex);
+    Integer year = parseYear(getField(fields, yearIndex));
+
+    if (manufacturer.isEmpty() || name.isEmpty() || isNull(year)) {
+      return null;
+    }
+    return ModelDto.builder()
+        .manufacturer(manufacturer)
+        .name(name)
+        .year(year)
+        .categories(parseCategories(getField(fields, categoryIndex)))
+        .build();
+  }
+
+  private String getField(List<String> fields, int index) {
+    return index < fields.size() ? fields.get(index).trim() : "";
+  }
+
+  private Integer parseYear(String year) {
+    try {
+      int value = Integer.parseInt(year);
+      return value > 0 ? value : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private List<String> parseCategories(String categories) {
+    return Arrays.stream(categories.split(String.valueOf(SEPARATOR)))
+        .map(String::trim)
+        .filter(category -> !category.isEmpty())
+        .distinct()
+        .toList();
+  }
+
+  private List<String> readRecord() {
+    try {
+      int character = reader.read();
+
+      if (character == END) {
+        return null;
+      }
+      List<String> fields = new ArrayList<>();
+      StringBuilder field = new StringBuilder();
+      boolean quoted = false;
+
+      while (character != END) {
+        if (quoted) {
+          if (character == QUOTE) {
+            reader.mark(1);
+
+            if (reader.read() == QUOTE) {
+              field.append(QUOTE);
+            } else {
+              reader.reset();
+              quoted = false;
+            }
+          } else {
+            field.append((char) character);
+          }
+        } else if (character == QUOTE) {
+          quoted = true;
+        } else if (character == SEPARATOR) {
+          fields.add(field.toString());
+          field.setLength(0);
+        } else if (character == LINE_FEED) {
+          break;
+        } else if (character != CARRIAGE_RETURN) {
+          field.append((char) character);
+        }
+        character = reader.read();
+      }
+      fields.add(field.toString());
+      return fields;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  /** The rows read from the file at once. */
+  @Getter
+  public static class Batch {
+
+    private final List<ModelDto> models = new ArrayList<>();
+    private int rejectedRows;
+
+    public int getRows() {
+      return models.size() + rejectedRows;
+    }
+
+    public boolean isEmpty() {
+      return getRows() == 0;
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package ua.foxminded.cars.service.registry;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Describes the manufacturers, years and categories added or deleted by a write. It is delivered to
+ * other nodes, so they apply it to their registries instead of reloading them, a missing list means
+ * no changes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ReferenceDataChange {
+
+  private List<String> addedManufacturers;
+  private List<String> removedManufacturers;
+  private List<Integer> addedYears;
+  private List<Integer> removedYears;
+  private List<String> addedCategories;
+  private List<String> removedCategories;
+}
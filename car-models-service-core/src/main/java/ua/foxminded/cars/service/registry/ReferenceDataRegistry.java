@@ -0,0 +1,213 @@
+package ua.foxminded.cars.service.registry;
+
+import static java.util.Objects.isNull;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.foxminded.cars.repository.CategoryRepository;
+import ua.foxminded.cars.repository.ManufacturerRepository;
+import ua.foxminded.cars.repository.ModelYearRepository;
+import ua.foxminded.cars.repository.entity.Category;
+import ua.foxminded.cars.repository.entity.Manufacturer;
+import ua.foxminded.cars.repository.entity.ModelYear;
+
+/**
+ * Keeps manufacturers, model years and categories in memory, these tables are small and rarely
+ * changed, so the existence checks and the reads of them are served without queries. The registry
+ * is loaded at the startup, the writes of this node are applied after the transaction commit. Each
+ * write is also published as a {@link ReferenceDataChange}, so other nodes apply the same names by
+ * {@link #applyLocally(ReferenceDataChange)}. A name that is already in the registry is not
+ * published when it is added again.
+ *
+ * <p>A name that is not in the registry is not proven to be missing, it could be created by another
+ * node, so the services check such a name in a database. A name found there is added only to this
+ * registry, it is already committed and the check may run on a read replica that cannot publish.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataRegistry {
+
+  private static final String NAME = "name";
+
+  private final ManufacturerRepository manufacturerRepository;
+  private final ModelYearRepository modelYearRepository;
+  private final CategoryRepository categoryRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private volatile NavigableSet<String> manufacturers = new ConcurrentSkipListSet<>();
+  private volatile NavigableSet<Integer> years = new ConcurrentSkipListSet<>();
+  private volatile NavigableSet<String> categories = new ConcurrentSkipListSet<>();
+
+  @PostConstruct
+  public void reload() {
+    manufacturers =
+        new ConcurrentSkipListSet<>(
+            manufacturerRepository.findAll().stream().map(Manufacturer::getName).toList());
+    years =
+        new ConcurrentSkipListSet<>(
+            modelYearRepository.findAll().stream()
+                .map(ModelYear::getValue)
+                .map(Year::getValue)
+                .toList());
+    categories =
+        new ConcurrentSkipListSet<>(
+            categoryRepository.findAll().stream().map(Category::getName).toList());
+    log.debug(
+        "The reference data registry is loaded with {} manufacturers, {} years and {} categories",
+        manufacturers.size(),
+        years.size(),
+        categories.size());
+  }
+
+  public boolean containsManufacturer(String name) {
+    return manufacturers.contains(name);
+  }
+
+  public boolean containsYear(int year) {
+    return years.contains(year);
+  }
+
+  public boolean containsCategory(String name) {
+    return categories.contains(name);
+  }
+
+  public boolean containsCategories(Collection<String> names) {
+    return categories.containsAll(names);
+  }
+
+  public void addManufacturer(String name) {
+    if (!manufacturers.contains(name)) {
+      eventPublisher.publishEvent(
+          ReferenceDataChange.builder().addedManufacturers(List.of(name)).build());
+    }
+    runAfterCommit(() -> manufacturers.add(name));
+  }
+
+  public void addManufacturerLocally(String name) {
+    manufacturers.add(name);
+  }
+
+  public void removeManufacturer(String name) {
+    eventPublisher.publishEvent(
+        ReferenceDataChange.builder().removedManufacturers(List.of(name)).build());
+    runAfterCommit(() -> manufacturers.remove(name));
+  }
+
+  public void addYear(int year) {
+    if (!years.contains(year)) {
+      eventPublisher.publishEvent(ReferenceDataChange.builder().addedYears(List.of(year)).build());
+    }
+    runAfterCommit(() -> years.add(year));
+  }
+
+  public void addYearLocally(int year) {
+    years.add(year);
+  }
+
+  public void removeYear(int year) {
+    eventPublisher.publishEvent(ReferenceDataChange.builder().removedYears(List.of(year)).build());
+    runAfterCommit(() -> years.remove(year));
+  }
+
+  public void addCategories(Collection<String> names) {
+    List<String> addedNames = List.copyOf(names);
+    List<String> newNames = addedNames.stream().filter(name -> !categories.contains(name)).toList();
+
+    if (!newNames.isEmpty()) {
+      eventPublisher.publishEvent(ReferenceDataChange.builder().addedCategories(newNames).build());
+    }
+    runAfterCommit(() -> categories.addAll(addedNames));
+  }
+
+  public void addCategoryLocally(String name) {
+    categories.add(name);
+  }
+
+  public void removeCategory(String name) {
+    eventPublisher.publishEvent(
+        ReferenceDataChange.builder().removedCategories(List.of(name)).build());
+    runAfterCommit(() -> categories.remove(name));
+  }
+
+  /**
+   * Applies a change written by another node, the change is already committed.
+   *
+   * @param change - the added and deleted names
+   */
+  public void applyLocally(ReferenceDataChange change) {
+    manufacturers.addAll(orEmpty(change.getAddedManufacturers()));
+    manufacturers.removeAll(orEmpty(change.getRemovedManufacturers()));
+    years.addAll(orEmpty(change.getAddedYears()));
+    years.removeAll(orEmpty(change.getRemovedYears()));
+    categories.addAll(orEmpty(change.getAddedCategories()));
+    categories.removeAll(orEmpty(change.getRemovedCategories()));
+  }
+
+  /**
+   * Checks whether a page can be served by the registry, the registry keeps only names, so it can
+   * sort a page only by a name.
+   *
+   * @param pageable - a requested page
+   * @return true if a page is not sorted or it is sorted only by a name
+   */
+  public boolean isSortedByName(Pageable pageable) {
+    return pageable.getSort().stream().map(Order::getProperty).allMatch(NAME::equals);
+  }
+
+  public Page<String> getManufacturers(Pageable pageable) {
+    return getPage(manufacturers, pageable);
+  }
+
+  public Page<String> getCategories(Pageable pageable) {
+    return getPage(categories, pageable);
+  }
+
+  private Page<String> getPage(NavigableSet<String> names, Pageable pageable) {
+    Order order = pageable.getSort().getOrderFor(NAME);
+    boolean isDescending = order != null && order.getDirection() == Sort.Direction.DESC;
+    List<String> sortedNames = new ArrayList<>(isDescending ? names.descendingSet() : names);
+
+    if (pageable.isUnpaged()) {
+      return new PageImpl<>(sortedNames, pageable, sortedNames.size());
+    }
+    int fromIndex = (int) Math.min(pageable.getOffset(), sortedNames.size());
+    int toIndex = Math.min(fromIndex + pageable.getPageSize(), sortedNames.size());
+    return new PageImpl<>(sortedNames.subList(fromIndex, toIndex), pageable, sortedNames.size());
+  }
+
+  private <T> List<T> orEmpty(List<T> names) {
+    return isNull(names) ? List.of() : names;
+  }
+
+  private void runAfterCommit(Runnable change) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+              change.run();
+            }
+          });
+    } else {
+      change.run();
+    }
+  }
+}
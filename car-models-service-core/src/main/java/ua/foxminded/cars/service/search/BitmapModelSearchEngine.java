@@ -0,0 +1,326 @@
+package ua.foxminded.cars.service.search;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.foxminded.cars.mapper.ModelMapper;
+import ua.foxminded.cars.repository.ModelProjectionRepository;
+import ua.foxminded.cars.repository.ModelRepository;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+/**
+ * Searches for models in memory. Every model gets an ordinal, the index keeps a compressed bitmap
+ * of ordinals for every manufacturer, name, category and year, so a search filter is answered by
+ * intersections of bitmaps, and the years are kept in a sorted map, so a period is a union of the
+ * bitmaps of its years. The ordinals are also kept sorted by a model name, a page of a large result
+ * is read from this order, a small result is sorted by itself.
+ *
+ * <p>The names are compared by their code points and the IDs as unsigned numbers, so the order is
+ * the order of the {@code "C"} collation and of the UUID type of a database.
+ *
+ * <p>The index is built at the startup, the writes of this node are applied after the transaction
+ * commit and the models written by other nodes are reloaded by {@link #refresh(UUID)}. A page
+ * sorted by anything but a name is searched in a database.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.search", name = "engine", havingValue = "bitmap")
+@Slf4j
+public class BitmapModelSearchEngine implements ModelSearchEngine {
+
+  private static final String NAME = "name";
+
+  /** A result smaller than the index divided by this ratio is sorted instead of scanning. */
+  private static final int SORT_RATIO = 8;
+
+  private final ModelRepository modelRepository;
+  private final ModelMapper modelMapper;
+  private final ModelSearchEngine databaseSearchEngine;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final List<ModelDto> models = new ArrayList<>();
+  private final Map<UUID, Integer> ordinals = new HashMap<>();
+  private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+  private final RoaringBitmap liveModels = new RoaringBitmap();
+  private final Map<String, RoaringBitmap> manufacturers = new HashMap<>();
+  private final Map<String, RoaringBitmap> names = new HashMap<>();
+  private final Map<String, RoaringBitmap> categories = new HashMap<>();
+  private final NavigableMap<Integer, RoaringBitmap> years = new TreeMap<>();
+  private final Comparator<Integer> nameComparator =
+      Comparator.comparing(
+              (Integer ordinal) -> models.get(ordinal).getName(),
+              BitmapModelSearchEngine::compareCodePoints)
+          .thenComparing(
+              ordinal -> models.get(ordinal).getId(), BitmapModelSearchEngine::compareUnsigned);
+  private final NavigableSet<Integer> nameOrder = new TreeSet<>(nameComparator);
+
+  public BitmapModelSearchEngine(
+      ModelRepository modelRepository,
+      ModelProjectionRepository modelProjectionRepository,
+      ModelMapper modelMapper) {
+    this.modelRepository = modelRepository;
+    this.modelMapper = modelMapper;
+    this.databaseSearchEngine = new DatabaseModelSearchEngine(modelProjectionRepository);
+  }
+
+  @Override
+  public Slice<ModelDto> search(SearchFilter searchFilter, Pageable pageable) {
+    if (!isSortedByName(pageable)) {
+      return databaseSearchEngine.search(searchFilter, pageable);
+    }
+    lock.readLock().lock();
+
+    try {
+      RoaringBitmap matches = match(searchFilter);
+      boolean hasNext =
+          pageable.isPaged()
+              && pageable.getOffset() + pageable.getPageSize() < matches.getCardinality();
+      return new SliceImpl<>(getPage(matches, pageable), pageable, hasNext);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public long count(SearchFilter searchFilter) {
+    lock.readLock().lock();
+
+    try {
+      return match(searchFilter).getLongCardinality();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void index(ModelDto modelDto) {
+    ModelDto indexedModel = copy(modelDto);
+    runAfterCommit(() -> write(() -> put(indexedModel)));
+  }
+
+  @Override
+  public void remove(UUID modelId) {
+    runAfterCommit(() -> write(() -> delete(modelId)));
+  }
+
+  @Override
+  public void refresh(UUID modelId) {
+    Optional<ModelDto> model = modelRepository.findById(modelId).map(modelMapper::toDto);
+    write(() -> model.ifPresentOrElse(this::put, () -> delete(modelId)));
+  }
+
+  @Override
+  @PostConstruct
+  public void rebuild() {
+    List<ModelDto> loadedModels =
+        modelRepository.findAllWithCategories().stream().map(modelMapper::toDto).toList();
+    write(
+        () -> {
+          clear();
+          loadedModels.forEach(this::put);
+        });
+    log.debug("The model search index is built with {} models", loadedModels.size());
+  }
+
+  private boolean isSortedByName(Pageable pageable) {
+    return pageable.getSort().stream()
+        .allMatch(order -> NAME.equals(order.getProperty()) && !order.isIgnoreCase());
+  }
+
+  private RoaringBitmap match(SearchFilter searchFilter) {
+    RoaringBitmap matches = liveModels.clone();
+    and(matches, manufacturers, searchFilter.getManufacturer());
+    and(matches, names, searchFilter.getName());
+    and(matches, categories, searchFilter.getCategory());
+    and(matches, years, searchFilter.getYear());
+
+    if (nonNull(searchFilter.getMinYear()) || nonNull(searchFilter.getMaxYear())) {
+      int minYear =
+          isNull(searchFilter.getMinYear()) ? Integer.MIN_VALUE : searchFilter.getMinYear();
+      int maxYear =
+          isNull(searchFilter.getMaxYear()) ? Integer.MAX_VALUE : searchFilter.getMaxYear();
+
+      if (minYear > maxYear) {
+        return new RoaringBitmap();
+      }
+      matches.and(RoaringBitmap.or(years.subMap(minYear, true, maxYear, true).values().iterator()));
+    }
+    return matches;
+  }
+
+  private <K> void and(RoaringBitmap matches, Map<K, RoaringBitmap> index, K value) {
+    if (nonNull(value)) {
+      matches.and(index.getOrDefault(value, new RoaringBitmap()));
+    }
+  }
+
+  private List<ModelDto> getPage(RoaringBitmap matches, Pageable pageable) {
+    boolean isDescending = pageable.getSort().stream().anyMatch(Order::isDescending);
+    Stream<Integer> sortedMatches = sort(matches, isDescending);
+
+    if (pageable.isPaged()) {
+      sortedMatches = sortedMatches.skip(pageable.getOffset()).limit(pageable.getPageSize());
+    }
+    return sortedMatches.map(models::get).map(this::copy).toList();
+  }
+
+  private Stream<Integer> sort(RoaringBitmap matches, boolean isDescending) {
+    if (matches.getCardinality() < liveModels.getCardinality() / SORT_RATIO) {
+      Comparator<Integer> order = isDescending ? nameComparator.reversed() : nameComparator;
+      return matches.stream().boxed().sorted(order);
+    }
+    NavigableSet<Integer> order = isDescending ? nameOrder.descendingSet() : nameOrder;
+    return order.stream().filter(matches::contains);
+  }
+
+  private static int compareCodePoints(String left, String right) {
+    int leftIndex = 0;
+    int rightIndex = 0;
+
+    while (leftIndex < left.length() && rightIndex < right.length()) {
+      int leftCodePoint = left.codePointAt(leftIndex);
+      int rightCodePoint = right.codePointAt(rightIndex);
+
+      if (leftCodePoint != rightCodePoint) {
+        return Integer.compare(leftCodePoint, rightCodePoint);
+      }
+      leftIndex += Character.charCount(leftCodePoint);
+      rightIndex += Character.charCount(rightCodePoint);
+    }
+    return Integer.compare(left.length() - leftIndex, right.length() - rightIndex);
+  }
+
+  private static int compareUnsigned(UUID left, UUID right) {
+    int result =
+        Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+    return result != 0
+        ? result
+        : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+  }
+
+  private void put(ModelDto model) {
+    delete(model.getId());
+    int ordinal = freeOrdinals.isEmpty() ? models.size() : freeOrdinals.pop();
+
+    if (ordinal == models.size()) {
+      models.add(model);
+    } else {
+      models.set(ordinal, model);
+    }
+    ordinals.put(model.getId(), ordinal);
+    liveModels.add(ordinal);
+    add(manufacturers, model.getManufacturer(), ordinal);
+    add(names, model.getName(), ordinal);
+    add(years, model.getYear(), ordinal);
+    model.getCategories().forEach(category -> add(categories, category, ordinal));
+    nameOrder.add(ordinal);
+  }
+
+  private void delete(UUID modelId) {
+    Integer ordinal = ordinals.remove(modelId);
+
+    if (isNull(ordinal)) {
+      return;
+    }
+    ModelDto model = models.get(ordinal);
+    nameOrder.remove(ordinal);
+    liveModels.remove(ordinal);
+    remove(manufacturers, model.getManufacturer(), ordinal);
+    remove(names, model.getName(), ordinal);
+    remove(years, model.getYear(), ordinal);
+    model.getCategories().forEach(category -> remove(categories, category, ordinal));
+    models.set(ordinal, null);
+    freeOrdinals.push(ordinal);
+  }
+
+  private <K> void add(Map<K, RoaringBitmap> index, K value, int ordinal) {
+    index.computeIfAbsent(value, key -> new RoaringBitmap()).add(ordinal);
+  }
+
+  private <K> void remove(Map<K, RoaringBitmap> index, K value, int ordinal) {
+    RoaringBitmap bitmap = index.get(value);
+
+    if (nonNull(bitmap)) {
+      bitmap.remove(ordinal);
+
+      if (bitmap.isEmpty()) {
+        index.remove(value);
+      }
+    }
+  }
+
+  private void clear() {
+    models.clear();
+    ordinals.clear();
+    freeOrdinals.clear();
+    liveModels.clear();
+    manufacturers.clear();
+    names.clear();
+    categories.clear();
+    years.clear();
+    nameOrder.clear();
+  }
+
+  private ModelDto copy(ModelDto model) {
+    return ModelDto.builder()
+        .id(model.getId())
+        .name(model.getName())
+        .year(model.getYear())
+        .manufacturer(model.getManufacturer())
+        .categories(new ArrayList<>(model.getCategories()))
+        .version(model.getVersion())
+        .build();
+  }
+
+  private void write(Runnable change) {
+    lock.writeLock().lock();
+
+    try {
+      change.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void runAfterCommit(Runnable change) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+              change.run();
+            }
+          });
+    } else {
+      change.run();
+    }
+  }
+}
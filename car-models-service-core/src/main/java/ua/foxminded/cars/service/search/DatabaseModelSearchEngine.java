@@ -0,0 +1,51 @@
+package ua.foxminded.cars.service.search;
+
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import ua.foxminded.cars.repository.ModelProjectionRepository;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+/**
+ * Searches for models in a database, the models are read straight into DTOs by the {@link
+ * ModelProjectionRepository} from the denormalized search table. A slice is read with one extra
+ * model to know whether there is a next one, so no count query is run for it, the count is done on
+ * the same table.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "application.search",
+    name = "engine",
+    havingValue = "database",
+    matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseModelSearchEngine implements ModelSearchEngine {
+
+  private final ModelProjectionRepository modelProjectionRepository;
+
+  @Override
+  public Slice<ModelDto> search(SearchFilter searchFilter, Pageable pageable) {
+    return modelProjectionRepository.findSlice(searchFilter, pageable);
+  }
+
+  @Override
+  public long count(SearchFilter searchFilter) {
+    return modelProjectionRepository.count(searchFilter);
+  }
+
+  @Override
+  public void index(ModelDto modelDto) {}
+
+  @Override
+  public void remove(UUID modelId) {}
+
+  @Override
+  public void refresh(UUID modelId) {}
+
+  @Override
+  public void rebuild() {}
+}
@@ -0,0 +1,47 @@
+package ua.foxminded.cars.service.search;
+
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+/**
+ * Answers the model searches. The engine is selected by the {@code application.search.engine}
+ * property, the {@code database} engine queries a database and the {@code bitmap} engine keeps an
+ * index of all models in memory. The writes of models are passed to the engine, so an engine with
+ * an index can keep it up to date, the other engines ignore them.
+ *
+ * <p>A search returns a slice without the total count, the count is a separate call, so it is
+ * requested only when needed and can be cached apart from pages.
+ */
+public interface ModelSearchEngine {
+
+  Slice<ModelDto> search(SearchFilter searchFilter, Pageable pageable);
+
+  long count(SearchFilter searchFilter);
+
+  /**
+   * Indexes a created or updated model, the change is applied after the transaction commit.
+   *
+   * @param modelDto - the state of a model in a database
+   */
+  void index(ModelDto modelDto);
+
+  /**
+   * Removes a deleted model from an index, the change is applied after the transaction commit.
+   *
+   * @param modelId - a model ID
+   */
+  void remove(UUID modelId);
+
+  /**
+   * Reloads a model written by another node from a database.
+   *
+   * @param modelId - a model ID
+   */
+  void refresh(UUID modelId);
+
+  /** Reloads all models from a database. */
+  void rebuild();
+}
@@ -0,0 +1,48 @@
+package ua.foxminded.cars.service.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.cars.repository.ModelRepository;
+
+/**
+ * Rebuilds the denormalized search table from the normalized tables when the service is started
+ * with the {@code --rebuild-model-search} option. The rows are replaced in one transaction, so the
+ * searches read either the old or the new rows. The rebuild runs before the cache warm-up.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class ModelSearchTableRebuild implements ApplicationRunner {
+
+  static final String REBUILD_OPTION = "rebuild-model-search";
+
+  private final ModelRepository modelRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  public ModelSearchTableRebuild(
+      ModelRepository modelRepository, PlatformTransactionManager transactionManager) {
+    this.modelRepository = modelRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (args.containsOption(REBUILD_OPTION)) {
+      log.info("The model search table is rebuilt with {} models", rebuild());
+    }
+  }
+
+  public int rebuild() {
+    return transactionTemplate.execute(
+        status -> {
+          modelRepository.deleteAllSearchRows();
+          return modelRepository.insertAllSearchRows();
+        });
+  }
+}
@@ -0,0 +1 @@
+ALTER TABLE models ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,16 @@
+-- The relations of a model were inserted twice on its creation, they are made distinct before the key is added.
+CREATE TABLE model_category_distinct AS SELECT DISTINCT model_id, category_name FROM model_category;
+DELETE FROM model_category;
+INSERT INTO model_category(model_id, category_name) SELECT model_id, category_name FROM model_category_distinct;
+DROP TABLE model_category_distinct;
+
+ALTER TABLE model_category ADD CONSTRAINT model_category_pkey PRIMARY KEY (model_id, category_name);
+
+CREATE INDEX model_category_category_name_model_id_idx ON model_category(category_name, model_id);
+
+ALTER TABLE models ADD CONSTRAINT models_manufacturer_name_name_model_year_key
+  UNIQUE (manufacturer_name, name, model_year);
+
+CREATE INDEX models_name_id_idx ON models(name, id);
+
+CREATE INDEX models_model_year_name_idx ON models(model_year, name);
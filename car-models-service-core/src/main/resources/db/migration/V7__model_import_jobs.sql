@@ -0,0 +1,10 @@
+CREATE TABLE model_import_jobs(
+  id UUID PRIMARY KEY,
+  status VARCHAR(16) NOT NULL,
+  processed_rows BIGINT NOT NULL DEFAULT 0,
+  imported_models BIGINT NOT NULL DEFAULT 0,
+  rejected_rows BIGINT NOT NULL DEFAULT 0,
+  error VARCHAR(1024),
+  created_at TIMESTAMP NOT NULL,
+  updated_at TIMESTAMP NOT NULL
+);
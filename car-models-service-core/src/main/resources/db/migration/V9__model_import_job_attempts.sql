@@ -0,0 +1 @@
+ALTER TABLE model_import_jobs ADD COLUMN attempt INTEGER NOT NULL DEFAULT 0;
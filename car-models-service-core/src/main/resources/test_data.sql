@@ -1,3 +1,4 @@
+delete from model_search;
 delete from model_category;
 delete from categories;
 delete from models;
@@ -9,6 +10,9 @@ insert into categories(name) values('Coupe');
 insert into model_years(year_value) values(2020);
 insert into manufacturers(name) values('Audi');
 insert into manufacturers(name) values('Ford');
-insert into models(id, model_year, manufacturer_name, name)
-  values ('52096834-48af-41d1-b422-93600eff629a', 2020, 'Audi', 'A7');
-insert into model_category (model_id, category_name) values ('52096834-48af-41d1-b422-93600eff629a', 'Sedan');
+insert into models(id, model_year, manufacturer_id, name)
+  values ('52096834-48af-41d1-b422-93600eff629a', 2020, (select id from manufacturers where name = 'Audi'), 'A7');
+insert into model_category (model_id, category_id)
+  values ('52096834-48af-41d1-b422-93600eff629a', (select id from categories where name = 'Sedan'));
+insert into model_search(model_id, manufacturer, model_year, name, categories, version)
+  values ('52096834-48af-41d1-b422-93600eff629a', 'Audi', 2020, 'A7', array['Sedan'], 0);
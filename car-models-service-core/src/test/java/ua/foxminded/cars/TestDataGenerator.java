@@ -4,13 +4,10 @@ import java.time.Year;
 import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
-import org.springframework.data.jpa.domain.Specification;
 import ua.foxminded.cars.repository.entity.Category;
 import ua.foxminded.cars.repository.entity.Manufacturer;
 import ua.foxminded.cars.repository.entity.Model;
 import ua.foxminded.cars.repository.entity.ModelYear;
-import ua.foxminded.cars.repository.specification.ModelSpecification;
-import ua.foxminded.cars.repository.specification.SearchFilter;
 import ua.foxminded.cars.service.dto.CategoryDto;
 import ua.foxminded.cars.service.dto.ManufacturerDto;
 import ua.foxminded.cars.service.dto.ModelDto;
@@ -39,12 +36,6 @@ public class TestDataGenerator {
     return Category.builder().name(CATEGORY_NAME).build();
   }
 
-  public static Specification<Model> generateSpecification() {
-    SearchFilter searchFilter =
-        SearchFilter.builder().manufacturer(MANUFACTURER_NAME).name(MODEL_NAME).year(YEAR).build();
-    return ModelSpecification.getSpecification(searchFilter);
-  }
-
   public static ModelDto generateModelDtoWithId() {
     ModelDto modelDto = generateModelDto();
     modelDto.setId(MODEL_ID);
@@ -74,6 +65,7 @@ public class TestDataGenerator {
         .manufacturer(manufacturer)
         .name(MODEL_NAME)
         .categories(new HashSet<>(List.of(category)))
+        .version(0L)
         .build();
   }
 }
@@ -0,0 +1,84 @@
+package ua.foxminded.cars.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ua.foxminded.cars.TestDataGenerator;
+import ua.foxminded.cars.config.WarmUpConfig;
+import ua.foxminded.cars.config.WarmUpConfig.ModelKey;
+import ua.foxminded.cars.exceptionhandler.exceptions.ModelNotFoundException;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.ModelService;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmUpTest {
+
+  private static final String MANUFACTURER_NAME = "Audi";
+  private static final String MODEL_NAME = "A7";
+  private static final int YEAR = 2020;
+  private static final int PAGE_SIZE = 1;
+
+  @Mock private ModelService modelService;
+
+  private WarmUpConfig warmUpConfig;
+  private CacheWarmUp cacheWarmUp;
+
+  @BeforeEach
+  void setUp() {
+    warmUpConfig = new WarmUpConfig();
+    warmUpConfig.setPages(3);
+    warmUpConfig.setPageSize(PAGE_SIZE);
+    cacheWarmUp = new CacheWarmUp(modelService, new ObjectMapper(), warmUpConfig);
+  }
+
+  @Test
+  void run_shouldLoadPagesUntilLastPage_whenSearchFiltersAreConfigured() {
+    SearchFilter manufacturerFilter =
+        SearchFilter.builder().manufacturer(MANUFACTURER_NAME).build();
+    warmUpConfig.setSearchFilters(List.of(manufacturerFilter));
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
+
+    when(modelService.searchModel(any(SearchFilter.class), any(Pageable.class)))
+        .thenAnswer(
+            invocation ->
+                new PageImpl<>(List.of(modelDto), invocation.getArgument(1), 2 * PAGE_SIZE));
+
+    cacheWarmUp.run(null);
+
+    verify(modelService).searchModel(new SearchFilter(), PageRequest.of(0, PAGE_SIZE));
+    verify(modelService).searchModel(new SearchFilter(), PageRequest.of(1, PAGE_SIZE));
+    verify(modelService, times(4)).searchModel(any(SearchFilter.class), any(Pageable.class));
+    verify(modelService).searchModel(manufacturerFilter, PageRequest.of(1, PAGE_SIZE));
+  }
+
+  @Test
+  void run_shouldSkipModel_whenModelIsNotFound() {
+    ModelKey missingModel = new ModelKey();
+    missingModel.setManufacturer(MANUFACTURER_NAME);
+    missingModel.setName(MODEL_NAME);
+    missingModel.setYear(YEAR);
+    warmUpConfig.setModels(List.of(missingModel, missingModel));
+
+    when(modelService.searchModel(any(SearchFilter.class), any(Pageable.class)))
+        .thenReturn(new PageImpl<>(List.of()));
+    when(modelService.getModel(MANUFACTURER_NAME, MODEL_NAME, YEAR))
+        .thenThrow(new ModelNotFoundException(MANUFACTURER_NAME, MODEL_NAME, YEAR));
+
+    cacheWarmUp.run(null);
+
+    verify(modelService, times(2)).getModel(MANUFACTURER_NAME, MODEL_NAME, YEAR);
+  }
+}
@@ -0,0 +1,142 @@
+package ua.foxminded.cars.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.cars.config.CacheConfig.CacheSpec;
+
+@SpringJUnitConfig(CoalescingCaffeineCacheRefreshTest.Config.class)
+class CoalescingCaffeineCacheRefreshTest {
+
+  private static final String CACHE_NAME = "getModel";
+  private static final String KEY = "key";
+
+  @Autowired private CachedLoader cachedLoader;
+
+  @Autowired private AtomicLong tickerNanos;
+
+  @Test
+  void get_shouldRefreshValueInReadOnlyTransaction_whenStaleValueIsReadThroughProxy()
+      throws Exception {
+    assertEquals(1, cachedLoader.load(KEY));
+    tickerNanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+    assertEquals(1, cachedLoader.load(KEY));
+    assertTrue(cachedLoader.awaitRefresh());
+
+    assertEquals(List.of(true, true), cachedLoader.getReadOnlyTransactions());
+  }
+
+  static class CachedLoader {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch refreshed = new CountDownLatch(1);
+    private final List<Boolean> readOnlyTransactions = new CopyOnWriteArrayList<>();
+
+    @Cacheable(cacheNames = CACHE_NAME, sync = true)
+    @Transactional(readOnly = true)
+    public int load(String key) {
+      readOnlyTransactions.add(
+          TransactionSynchronizationManager.isActualTransactionActive()
+              && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+
+      if (loads.incrementAndGet() > 1) {
+        refreshed.countDown();
+      }
+      return loads.get();
+    }
+
+    public boolean awaitRefresh() throws InterruptedException {
+      return refreshed.await(5, TimeUnit.SECONDS);
+    }
+
+    public List<Boolean> getReadOnlyTransactions() {
+      return readOnlyTransactions;
+    }
+  }
+
+  @Configuration
+  @EnableTransactionManagement
+  @EnableCaching
+  static class Config {
+
+    @Bean
+    AtomicLong tickerNanos() {
+      return new AtomicLong();
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    ExecutorService refreshExecutor() {
+      return Executors.newSingleThreadExecutor();
+    }
+
+    @Bean
+    DataSource dataSource() {
+      return new DriverManagerDataSource("jdbc:h2:mem:refresh");
+    }
+
+    @Bean
+    PlatformTransactionManager transactionManager(DataSource dataSource) {
+      return new DataSourceTransactionManager(dataSource);
+    }
+
+    @Bean
+    CacheManager cacheManager(
+        AtomicLong tickerNanos,
+        ExecutorService refreshExecutor,
+        PlatformTransactionManager transactionManager) {
+      CacheSpec cacheSpec = new CacheSpec();
+      cacheSpec.setRefreshAfterWrite(Duration.ofMinutes(1));
+      TransactionTemplate refreshTransaction = new TransactionTemplate(transactionManager);
+      refreshTransaction.setReadOnly(true);
+      SimpleCacheManager cacheManager = new SimpleCacheManager();
+      cacheManager.setCaches(
+          List.of(
+              new CoalescingCaffeineCache(
+                  CACHE_NAME,
+                  Caffeine.newBuilder()
+                      .expireAfterWrite(Duration.ofMinutes(5))
+                      .ticker(tickerNanos::get)
+                      .build(),
+                  cacheSpec,
+                  new SimpleMeterRegistry(),
+                  refreshExecutor,
+                  refreshTransaction,
+                  Duration.ZERO)));
+      return cacheManager;
+    }
+
+    @Bean
+    CachedLoader cachedLoader() {
+      return new CachedLoader();
+    }
+  }
+}
@@ -0,0 +1,217 @@
+package ua.foxminded.cars.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ua.foxminded.cars.cache.CoalescingCaffeineCache.COALESCED_LOADS_METRIC;
+import static ua.foxminded.cars.cache.CoalescingCaffeineCache.REFRESHES_METRIC;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+import ua.foxminded.cars.config.CacheConfig.CacheSpec;
+import ua.foxminded.cars.routing.ReadYourWritesContext;
+
+class CoalescingCaffeineCacheTest {
+
+  private static final String CACHE_NAME = "searchModels";
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+  private static final String NEW_VALUE = "new value";
+  private static final int CALLERS = 8;
+  private static final Duration REPLICATION_LAG = Duration.ofMinutes(1);
+
+  private MeterRegistry meterRegistry;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    executor = Executors.newFixedThreadPool(CALLERS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void get_shouldLoadValueOnce_whenConcurrentCallersMissKey() throws Exception {
+    CoalescingCaffeineCache cache = createCache(true);
+    AtomicInteger loads = new AtomicInteger();
+
+    List<String> values = getConcurrently(cache, loads);
+
+    assertEquals(1, loads.get());
+    assertEquals(CALLERS - 1, coalescedLoads());
+    values.forEach(value -> assertEquals(VALUE, value));
+  }
+
+  @Test
+  void get_shouldLoadValueByEveryCaller_whenSingleFlightIsDisabled() throws Exception {
+    CoalescingCaffeineCache cache = createCache(false);
+    AtomicInteger loads = new AtomicInteger();
+
+    List<String> values = getConcurrently(cache, loads);
+
+    assertEquals(CALLERS, loads.get());
+    assertEquals(0, coalescedLoads());
+    values.forEach(value -> assertEquals(VALUE, value));
+  }
+
+  @Test
+  void get_shouldReturnStaleValueAndRefreshIt_whenEntryIsOlderThanRefreshAfterWrite()
+      throws Exception {
+    FakeTicker ticker = new FakeTicker();
+    CacheSpec cacheSpec = new CacheSpec();
+    cacheSpec.setRefreshAfterWrite(Duration.ofMinutes(1));
+    CoalescingCaffeineCache cache =
+        new CoalescingCaffeineCache(
+            CACHE_NAME,
+            Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .ticker(ticker::read)
+                .build(),
+            cacheSpec,
+            meterRegistry,
+            executor,
+            TransactionOperations.withoutTransaction(),
+            REPLICATION_LAG);
+    cache.put(KEY, VALUE);
+    ticker.advance(Duration.ofMinutes(2));
+    CountDownLatch refreshed = new CountDownLatch(1);
+
+    Object staleValue =
+        cache.get(
+            KEY,
+            () -> {
+              refreshed.countDown();
+              return NEW_VALUE;
+            });
+
+    assertEquals(VALUE, staleValue);
+    assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+    waitForRefresh();
+    assertEquals(NEW_VALUE, cache.get(KEY).get());
+  }
+
+  private void waitForRefresh() throws InterruptedException {
+    for (int i = 0; i < 50 && refreshes() == 0; i++) {
+      Thread.sleep(100);
+    }
+  }
+
+  @Test
+  void get_shouldLoadValueFromReplica_whenKeyWasNotEvicted() {
+    CoalescingCaffeineCache cache = createCache(true);
+
+    boolean isPinnedWhileLoading = cache.get(KEY, ReadYourWritesContext::isPinnedToPrimary);
+
+    assertFalse(isPinnedWhileLoading);
+  }
+
+  @Test
+  void get_shouldLoadValueFromPrimary_whenKeyWasEvictedWithinReplicationLag() {
+    CoalescingCaffeineCache cache = createCache(true);
+    cache.put(KEY, false);
+    cache.evict(KEY);
+
+    boolean isPinnedWhileLoading = cache.get(KEY, ReadYourWritesContext::isPinnedToPrimary);
+
+    assertTrue(isPinnedWhileLoading);
+    assertFalse(ReadYourWritesContext.isPinnedToPrimary());
+  }
+
+  @Test
+  void get_shouldNotStoreValue_whenCacheIsClearedWhileValueIsLoaded() {
+    CoalescingCaffeineCache cache = createCache(false);
+
+    Object value =
+        cache.get(
+            KEY,
+            () -> {
+              cache.clear();
+              return VALUE;
+            });
+
+    assertEquals(VALUE, value);
+    assertNull(cache.get(KEY));
+  }
+
+  private CoalescingCaffeineCache createCache(boolean singleFlight) {
+    CacheSpec cacheSpec = new CacheSpec();
+    cacheSpec.setSingleFlight(singleFlight);
+    return new CoalescingCaffeineCache(
+        CACHE_NAME,
+        Caffeine.newBuilder().build(),
+        cacheSpec,
+        meterRegistry,
+        executor,
+        TransactionOperations.withoutTransaction(),
+        REPLICATION_LAG);
+  }
+
+  private List<String> getConcurrently(CoalescingCaffeineCache cache, AtomicInteger loads)
+      throws Exception {
+    CountDownLatch started = new CountDownLatch(CALLERS);
+    List<Future<String>> futures = new ArrayList<>();
+
+    for (int i = 0; i < CALLERS; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                started.countDown();
+                return cache.get(
+                    KEY,
+                    () -> {
+                      loads.incrementAndGet();
+                      started.await(5, TimeUnit.SECONDS);
+                      Thread.sleep(200);
+                      return VALUE;
+                    });
+              }));
+    }
+    List<String> values = new ArrayList<>();
+
+    for (Future<String> future : futures) {
+      values.add(future.get(10, TimeUnit.SECONDS));
+    }
+    return values;
+  }
+
+  private double coalescedLoads() {
+    return meterRegistry.get(COALESCED_LOADS_METRIC).tag("cache", CACHE_NAME).counter().count();
+  }
+
+  private double refreshes() {
+    return meterRegistry.get(REFRESHES_METRIC).tag("cache", CACHE_NAME).counter().count();
+  }
+
+  private static class FakeTicker {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    long read() {
+      return nanos.get();
+    }
+
+    void advance(Duration duration) {
+      nanos.addAndGet(duration.toNanos());
+    }
+  }
+}
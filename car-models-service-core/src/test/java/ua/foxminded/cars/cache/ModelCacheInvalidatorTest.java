@@ -0,0 +1,171 @@
+package ua.foxminded.cars.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ua.foxminded.cars.cache.CacheNames.GET_MODEL;
+import static ua.foxminded.cars.cache.CacheNames.GET_MODEL_BY_ID;
+import static ua.foxminded.cars.cache.CacheNames.MODEL_MISSES;
+import static ua.foxminded.cars.cache.CacheNames.SEARCH_MODELS;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+
+class ModelCacheInvalidatorTest {
+
+  private static final String SEARCH_MODEL_METHOD = "searchModel";
+  private static final UUID MODEL_ID = UUID.fromString("2bd84edb-70aa-4e74-9a41-c0e962fd36db");
+  private static final String MANUFACTURER_NAME = "BMW";
+  private static final String OTHER_MANUFACTURER_NAME = "Audi";
+  private static final String MODEL_NAME = "x6";
+  private static final int YEAR = 2021;
+  private static final String CATEGORY_NAME = "SUV";
+  private static final String OTHER_CATEGORY_NAME = "Sedan";
+  private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+  private CaffeineCacheManager cacheManager;
+  private ModelCacheInvalidator modelCacheInvalidator;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager =
+        new CaffeineCacheManager(SEARCH_MODELS, GET_MODEL_BY_ID, GET_MODEL, MODEL_MISSES);
+    modelCacheInvalidator = new ModelCacheInvalidator(cacheManager, event -> {});
+  }
+
+  @Test
+  void evictSearchPages_shouldEvictOnlyMatchingPages_whenModelIsWritten() {
+    Cache searchCache = cacheManager.getCache(SEARCH_MODELS);
+    List<Object> allModelsKey = searchKey(new SearchFilter());
+    List<Object> manufacturerKey =
+        searchKey(SearchFilter.builder().manufacturer(MANUFACTURER_NAME).build());
+    List<Object> otherManufacturerKey =
+        searchKey(SearchFilter.builder().manufacturer(OTHER_MANUFACTURER_NAME).build());
+    List<Object> categoryKey = searchKey(SearchFilter.builder().category(CATEGORY_NAME).build());
+    List<Object> otherCategoryKey =
+        searchKey(SearchFilter.builder().category(OTHER_CATEGORY_NAME).build());
+    List<Object> yearRangeKey =
+        searchKey(SearchFilter.builder().minYear(2015).maxYear(2022).build());
+    List<Object> otherYearRangeKey =
+        searchKey(SearchFilter.builder().minYear(2022).maxYear(2024).build());
+    List.of(
+            allModelsKey,
+            manufacturerKey,
+            otherManufacturerKey,
+            categoryKey,
+            otherCategoryKey,
+            yearRangeKey,
+            otherYearRangeKey)
+        .forEach(key -> searchCache.put(key, List.of()));
+
+    modelCacheInvalidator.evictSearchPages(generateInvalidation());
+
+    assertNull(searchCache.get(allModelsKey));
+    assertNull(searchCache.get(manufacturerKey));
+    assertNull(searchCache.get(categoryKey));
+    assertNull(searchCache.get(yearRangeKey));
+    assertNotNull(searchCache.get(otherManufacturerKey));
+    assertNotNull(searchCache.get(otherCategoryKey));
+    assertNotNull(searchCache.get(otherYearRangeKey));
+  }
+
+  @Test
+  void evictSearchPages_shouldEvictPagesOfAnyModel_whenBatchIsWritten() {
+    Cache searchCache = cacheManager.getCache(SEARCH_MODELS);
+    List<Object> manufacturerKey =
+        searchKey(SearchFilter.builder().manufacturer(MANUFACTURER_NAME).build());
+    List<Object> otherManufacturerKey =
+        searchKey(SearchFilter.builder().manufacturer(OTHER_MANUFACTURER_NAME).build());
+    List<Object> otherCategoryKey =
+        searchKey(SearchFilter.builder().category(OTHER_CATEGORY_NAME).build());
+    List.of(manufacturerKey, otherManufacturerKey, otherCategoryKey)
+        .forEach(key -> searchCache.put(key, List.of()));
+    ModelInvalidation otherInvalidation = generateInvalidation();
+    otherInvalidation.setManufacturer(OTHER_MANUFACTURER_NAME);
+
+    modelCacheInvalidator.evictSearchPages(List.of(generateInvalidation(), otherInvalidation));
+
+    assertNull(searchCache.get(manufacturerKey));
+    assertNull(searchCache.get(otherManufacturerKey));
+    assertNotNull(searchCache.get(otherCategoryKey));
+  }
+
+  @Test
+  void evictModel_shouldEvictModelEntries_whenModelIsDeleted() {
+    Cache modelByIdCache = cacheManager.getCache(GET_MODEL_BY_ID);
+    Cache modelCache = cacheManager.getCache(GET_MODEL);
+    List<Object> modelByIdKey = List.of(GET_MODEL_BY_ID, MODEL_ID);
+    List<Object> modelKey = List.of(GET_MODEL, MANUFACTURER_NAME, MODEL_NAME, YEAR);
+    modelByIdCache.put(modelByIdKey, MODEL_ID);
+    modelCache.put(modelKey, MODEL_ID);
+
+    modelCacheInvalidator.evictModel(generateInvalidation());
+
+    assertNull(modelByIdCache.get(modelByIdKey));
+    assertNull(modelCache.get(modelKey));
+  }
+
+  @Test
+  void evictSearchPages_shouldEvictMisses_whenModelIsCreated() {
+    ModelMissCache modelMissCache = new ModelMissCache(cacheManager, modelCacheInvalidator);
+    long generation = modelMissCache.getGeneration();
+    modelMissCache.putMissing(MODEL_ID, generation);
+    modelMissCache.putMissing(MANUFACTURER_NAME, MODEL_NAME, YEAR, generation);
+    modelMissCache.putMissing(OTHER_MANUFACTURER_NAME, MODEL_NAME, YEAR, generation);
+
+    modelCacheInvalidator.evictSearchPages(generateInvalidation());
+
+    assertFalse(modelMissCache.isMissing(MODEL_ID));
+    assertFalse(modelMissCache.isMissing(MANUFACTURER_NAME, MODEL_NAME, YEAR));
+    assertTrue(modelMissCache.isMissing(OTHER_MANUFACTURER_NAME, MODEL_NAME, YEAR));
+  }
+
+  @Test
+  void putMissing_shouldNotRememberMiss_whenModelIsWrittenDuringLookup() {
+    ModelMissCache modelMissCache = new ModelMissCache(cacheManager, modelCacheInvalidator);
+    long generation = modelMissCache.getGeneration();
+
+    modelCacheInvalidator.evictSearchPages(generateInvalidation());
+    modelMissCache.putMissing(MODEL_ID, generation);
+    modelMissCache.putMissing(MANUFACTURER_NAME, MODEL_NAME, YEAR, generation);
+
+    assertFalse(modelMissCache.isMissing(MODEL_ID));
+    assertFalse(modelMissCache.isMissing(MANUFACTURER_NAME, MODEL_NAME, YEAR));
+  }
+
+  @Test
+  void evictMisses_shouldEvictMissesOfAllModels_whenBatchIsWritten() {
+    ModelMissCache modelMissCache = new ModelMissCache(cacheManager, modelCacheInvalidator);
+    modelMissCache.putMissing(MODEL_ID, modelMissCache.getGeneration());
+    modelMissCache.putMissing(
+        OTHER_MANUFACTURER_NAME, MODEL_NAME, YEAR, modelMissCache.getGeneration());
+
+    modelCacheInvalidator.evictMisses();
+
+    assertFalse(modelMissCache.isMissing(MODEL_ID));
+    assertFalse(modelMissCache.isMissing(OTHER_MANUFACTURER_NAME, MODEL_NAME, YEAR));
+  }
+
+  private List<Object> searchKey(SearchFilter searchFilter) {
+    return List.of(SEARCH_MODEL_METHOD, searchFilter, FIRST_PAGE);
+  }
+
+  private ModelInvalidation generateInvalidation() {
+    return ModelInvalidation.builder()
+        .id(MODEL_ID)
+        .manufacturer(MANUFACTURER_NAME)
+        .name(MODEL_NAME)
+        .year(YEAR)
+        .categories(Set.of(CATEGORY_NAME))
+        .build();
+  }
+}
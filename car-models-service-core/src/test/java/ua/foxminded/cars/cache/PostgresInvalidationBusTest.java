@@ -0,0 +1,108 @@
+package ua.foxminded.cars.cache;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.foxminded.cars.cache.PostgresInvalidationBus.Message;
+import ua.foxminded.cars.config.CacheConfig;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
+import ua.foxminded.cars.service.search.ModelSearchEngine;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresInvalidationBusTest {
+
+  private static final String OTHER_NODE = "other-node";
+  private static final UUID FIRST_MODEL_ID = UUID.randomUUID();
+  private static final UUID SECOND_MODEL_ID = UUID.randomUUID();
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Mock private ModelCacheInvalidator modelCacheInvalidator;
+
+  @Mock private ReferenceDataRegistry referenceDataRegistry;
+
+  @Mock private ModelSearchEngine modelSearchEngine;
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private PGConnection connection;
+
+  private PostgresInvalidationBus invalidationBus;
+
+  @BeforeEach
+  void setUp() {
+    invalidationBus =
+        new PostgresInvalidationBus(
+            modelCacheInvalidator,
+            referenceDataRegistry,
+            modelSearchEngine,
+            jdbcTemplate,
+            objectMapper,
+            new CacheConfig(),
+            "jdbc:postgresql://localhost/cars",
+            "user",
+            "password");
+    ReflectionTestUtils.setField(invalidationBus, "running", true);
+  }
+
+  @Test
+  void receiveNotifications_shouldApplyNextMessage_whenMessageFailsToBeApplied() throws Exception {
+    ModelInvalidation firstModel = buildInvalidation(FIRST_MODEL_ID);
+    ModelInvalidation secondModel = buildInvalidation(SECOND_MODEL_ID);
+    PGNotification[] notifications = {
+      buildNotification(firstModel), buildNotification(secondModel)
+    };
+    doThrow(new IllegalStateException("The database is not available"))
+        .when(modelSearchEngine)
+        .refresh(FIRST_MODEL_ID);
+    when(connection.getNotifications(anyInt()))
+        .thenReturn(notifications)
+        .thenAnswer(
+            invocation -> {
+              ReflectionTestUtils.setField(invalidationBus, "running", false);
+              return null;
+            });
+
+    invalidationBus.receiveNotifications(connection);
+
+    verify(modelSearchEngine).rebuild();
+    verify(modelCacheInvalidator).evictAllLocally();
+    verify(referenceDataRegistry).reload();
+    verify(modelSearchEngine).refresh(SECOND_MODEL_ID);
+    verify(modelCacheInvalidator).evictModelLocally(secondModel);
+  }
+
+  private ModelInvalidation buildInvalidation(UUID modelId) {
+    return ModelInvalidation.builder()
+        .id(modelId)
+        .manufacturer("BMW")
+        .name("x6")
+        .year(2021)
+        .categories(Set.of("SUV"))
+        .build();
+  }
+
+  private PGNotification buildNotification(ModelInvalidation invalidation) throws Exception {
+    PGNotification notification = mock(PGNotification.class);
+    when(notification.getParameter())
+        .thenReturn(
+            objectMapper.writeValueAsString(
+                new Message(OTHER_NODE, invalidation, null, null, null)));
+    return notification;
+  }
+}
@@ -0,0 +1,153 @@
+package ua.foxminded.cars.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static ua.foxminded.cars.cache.CacheNames.SEARCH_MODEL_RESPONSES;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class SerializedResponseCacheFilterTest {
+
+  private static final String MODELS_URL = "/v1/models";
+  private static final String MANUFACTURER_NAME = "Audi";
+  private static final String ETAG = "\"page\"";
+  private static final String CACHE_CONTROL = "max-age=30, private";
+  private static final String BODY = "{\"content\":[" + "{\"name\":\"A7\"},".repeat(50) + "{}]}";
+
+  private final AtomicInteger controllerCalls = new AtomicInteger();
+  private CaffeineCacheManager cacheManager;
+  private ModelCacheInvalidator modelCacheInvalidator;
+  private SerializedResponseCacheFilter filter;
+  private Runnable duringController = () -> {};
+
+  @BeforeEach
+  void setUp() {
+    cacheManager = new CaffeineCacheManager(SEARCH_MODEL_RESPONSES);
+    modelCacheInvalidator = new ModelCacheInvalidator(cacheManager, event -> {});
+    filter =
+        new SerializedResponseCacheFilter(
+            new SerializedResponseCache(cacheManager, modelCacheInvalidator));
+  }
+
+  @Test
+  void doFilter_shouldWriteCachedBody_whenRequestIsRepeatedWithOtherParameterOrder()
+      throws Exception {
+    MockHttpServletResponse firstResponse = perform(request("manufacturer", "page"));
+    MockHttpServletResponse secondResponse = perform(request("page", "manufacturer"));
+
+    assertEquals(1, controllerCalls.get());
+    assertEquals(BODY, firstResponse.getContentAsString());
+    assertEquals(BODY, secondResponse.getContentAsString());
+    assertEquals(ETAG, secondResponse.getHeader(HttpHeaders.ETAG));
+    assertEquals(CACHE_CONTROL, secondResponse.getHeader(HttpHeaders.CACHE_CONTROL));
+    assertNull(secondResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  @Test
+  void doFilter_shouldWriteGzipBody_whenClientAcceptsGzip() throws Exception {
+    perform(request("manufacturer"));
+    MockHttpServletRequest request = request("manufacturer");
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+    MockHttpServletResponse response = perform(request);
+
+    assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    assertArrayEquals(
+        BODY.getBytes(StandardCharsets.UTF_8), gunzip(response.getContentAsByteArray()));
+  }
+
+  @Test
+  void doFilter_shouldReturnStatus304_whenIfNoneMatchIsCachedETag() throws Exception {
+    perform(request("manufacturer"));
+    MockHttpServletRequest request = request("manufacturer");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+    MockHttpServletResponse response = perform(request);
+
+    assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+    assertEquals(0, response.getContentLength());
+  }
+
+  @Test
+  void doFilter_shouldCallController_whenResponseIsEvictedByWrittenModel() throws Exception {
+    perform(request("manufacturer"));
+
+    evictWrittenModel();
+    perform(request("manufacturer"));
+
+    assertEquals(2, controllerCalls.get());
+  }
+
+  @Test
+  void doFilter_shouldNotStoreResponse_whenModelIsWrittenWhileResponseIsBuilt() throws Exception {
+    duringController = this::evictWrittenModel;
+    perform(request("manufacturer"));
+
+    duringController = () -> {};
+    perform(request("manufacturer"));
+
+    assertEquals(2, controllerCalls.get());
+  }
+
+  private void evictWrittenModel() {
+    modelCacheInvalidator.evictSearchPages(
+        ModelInvalidation.builder()
+            .manufacturer(MANUFACTURER_NAME)
+            .name("Q5")
+            .year(2024)
+            .categories(Set.of())
+            .build());
+  }
+
+  private MockHttpServletRequest request(String... parameters) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", MODELS_URL);
+
+    for (String parameter : parameters) {
+      request.addParameter(parameter, parameter.equals("page") ? "0" : MANUFACTURER_NAME);
+    }
+    return request;
+  }
+
+  private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain filterChain = new MockFilterChain(new SearchServlet());
+    filter.doFilter(request, response, filterChain);
+    return response;
+  }
+
+  private byte[] gunzip(byte[] bytes) throws IOException {
+    try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+      return inputStream.readAllBytes();
+    }
+  }
+
+  private class SearchServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+      controllerCalls.incrementAndGet();
+      duringController.run();
+      response.setHeader(HttpHeaders.ETAG, ETAG);
+      response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+      response.setContentType("application/json");
+      response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -3,31 +3,43 @@ package ua.foxminded.cars.controller;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Year;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ua.foxminded.cars.TestDataGenerator;
+import ua.foxminded.cars.exceptionhandler.exceptions.CursorNotValidException;
 import ua.foxminded.cars.exceptionhandler.exceptions.ModelAlreadyExistsException;
 import ua.foxminded.cars.exceptionhandler.exceptions.ModelNotFoundException;
 import ua.foxminded.cars.service.ModelService;
+import ua.foxminded.cars.service.dto.ModelBatchResultDto;
 import ua.foxminded.cars.service.dto.ModelDto;
 
 @WebMvcTest(controllers = ModelController.class)
@@ -38,6 +50,7 @@ class ModelControllerTest {
   private static final String MODEL_ID_PATH = "/models/{modelId}";
   private static final String MODEL_PATH = "/manufacturers/{manufacturer}/models/{name}/{year}";
   private static final String MODELS_PATH = "/models";
+  private static final String MODELS_BATCH_PATH = "/models:batch";
   private static final String MANUFACTURER_NAME = "Audi";
   private static final String MODEL_NAME = "A7";
   private static final int YEAR = 2020;
@@ -84,6 +97,42 @@ class ModelControllerTest {
         .andExpect(jsonPath("$.errorCode", is(400)));
   }
 
+  @Test
+  void searchModelsAfter_shouldReturnStatus400AndErrorBody_whenCursorIsNotValid() throws Exception {
+    String cursor = "not-a-cursor";
+    when(modelService.searchModelAfter(any(), eq(cursor), any()))
+        .thenThrow(new CursorNotValidException(cursor));
+
+    mockMvc
+        .perform(get(V1 + MODELS_PATH).param("after", cursor))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.details").hasJsonPath())
+        .andExpect(jsonPath("$.errorCode", is(400)));
+  }
+
+  @Test
+  void searchModelsSlice_shouldReturnSliceWithoutTotal_whenTotalIsNone() throws Exception {
+    when(modelService.searchModelSlice(any(), any()))
+        .thenReturn(new SliceImpl<>(List.of(TestDataGenerator.generateModelDtoWithId())));
+
+    mockMvc
+        .perform(get(V1 + MODELS_PATH).param("total", "none"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].name").exists())
+        .andExpect(jsonPath("$.totalElements").doesNotExist())
+        .andExpect(header().exists(HttpHeaders.ETAG));
+  }
+
+  @Test
+  void searchModels_shouldReturnStatus400AndErrorBody_whenTotalModeIsUnknown() throws Exception {
+    mockMvc
+        .perform(get(V1 + MODELS_PATH).param("total", "approximate"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.details").hasJsonPath())
+        .andExpect(jsonPath("$.errorCode", is(400)));
+    verifyNoInteractions(modelService);
+  }
+
   @Test
   void searchModels_shouldReturnStatus400AndErrorBody_whenYearIsNegative() throws Exception {
     String negativeYear = "-2023";
@@ -149,6 +198,50 @@ class ModelControllerTest {
         .andExpect(jsonPath("$.errorCode", is(400)));
   }
 
+  @Test
+  void createModels_shouldReturnResultOfEveryModel_whenBatchIsValid() throws Exception {
+    ModelDto modelDto = TestDataGenerator.generateModelDto();
+    modelDto.setManufacturer(MANUFACTURER_NAME);
+    modelDto.setName(MODEL_NAME);
+    modelDto.setYear(YEAR);
+    String requestBody = objectMapper.writeValueAsString(List.of(modelDto));
+    ModelBatchResultDto result =
+        ModelBatchResultDto.builder()
+            .index(0)
+            .status(ModelBatchResultDto.Status.CONFLICT)
+            .id(MODEL_ID)
+            .manufacturer(MANUFACTURER_NAME)
+            .name(MODEL_NAME)
+            .year(YEAR)
+            .build();
+    when(modelService.createModels(anyList())).thenReturn(List.of(result));
+
+    mockMvc
+        .perform(
+            post(V1 + MODELS_BATCH_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].status", is("CONFLICT")))
+        .andExpect(jsonPath("$[0].id", is(MODEL_ID.toString())));
+  }
+
+  @Test
+  void createModels_shouldReturnStatus400AndErrorBody_whenModelHasNoCategories() throws Exception {
+    ModelDto modelDto = TestDataGenerator.generateModelDto();
+    modelDto.setCategories(null);
+    String requestBody = objectMapper.writeValueAsString(List.of(modelDto));
+
+    mockMvc
+        .perform(
+            post(V1 + MODELS_BATCH_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode", is(400)));
+    verify(modelService, never()).createModels(anyList());
+  }
+
   @Test
   void updateModel_shouldReturnStatus404AndErrorBody_whenNoModelInDb() throws Exception {
     ModelDto modelDto = TestDataGenerator.generateModelDto();
@@ -167,6 +260,38 @@ class ModelControllerTest {
         .andExpect(jsonPath("$.errorCode", is(404)));
   }
 
+  @Test
+  void updateModel_shouldReturnStatus412AndErrorBody_whenIfMatchIsNotModelETag() throws Exception {
+    ModelDto modelDto = TestDataGenerator.generateModelDto();
+    String requestBody = objectMapper.writeValueAsString(modelDto);
+
+    mockMvc
+        .perform(
+            put(V1 + MODEL_PATH, MANUFACTURER_NAME, MODEL_NAME, YEAR)
+                .header(HttpHeaders.IF_MATCH, "\"not-a-model-etag\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+        .andExpect(status().isPreconditionFailed())
+        .andExpect(jsonPath("$.details").hasJsonPath())
+        .andExpect(jsonPath("$.timestamp").exists())
+        .andExpect(jsonPath("$.errorCode", is(412)));
+  }
+
+  @Test
+  void getModelById_shouldReturnStatus304_whenIfNoneMatchIsCurrentETag() throws Exception {
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
+    modelDto.setVersion(0L);
+
+    when(modelService.getModelById(modelDto.getId())).thenReturn(modelDto);
+
+    mockMvc
+        .perform(
+            get(V1 + MODEL_ID_PATH, modelDto.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, ModelETags.of(modelDto)))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, ModelETags.of(modelDto)));
+  }
+
   @Test
   void updateModel_shouldReturn400AndErrorBody_whenYearIsNegative() throws Exception {
     ModelDto modelDto = TestDataGenerator.generateModelDto();
@@ -0,0 +1,120 @@
+package ua.foxminded.cars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+@JdbcTest
+@Import({ModelBatchRepository.class, ModelProjectionRepository.class})
+@Sql(scripts = "/db/model-test-data.sql")
+class ModelBatchRepositoryTest {
+
+  private static final UUID MODEL_ID = UUID.fromString("52096834-48af-41d1-b422-93600eff629a");
+
+  @Autowired private ModelBatchRepository modelBatchRepository;
+
+  @Autowired private ModelProjectionRepository modelProjectionRepository;
+
+  @Test
+  void upsertModels_shouldInsertModelAndReferenceData_whenModelIsNotInDb() {
+    ModelDto model = buildModel("Tesla", "Model S", 2023, "Sedan", "Electric");
+
+    int newModels = modelBatchRepository.upsertModels(List.of(model));
+
+    assertEquals(1, newModels);
+    assertNotNull(model.getId());
+    ModelDto searchRow = modelProjectionRepository.findById(model.getId()).orElseThrow();
+    assertEquals("Tesla", searchRow.getManufacturer());
+    assertEquals(2023, searchRow.getYear());
+    assertEquals(List.of("Electric", "Sedan"), searchRow.getCategories());
+  }
+
+  @Test
+  void upsertModels_shouldAddMissingCategories_whenModelIsInDb() {
+    ModelDto model = buildModel("Audi", "A7", 2020, "Sedan", "Coupe");
+
+    int newModels = modelBatchRepository.upsertModels(List.of(model));
+
+    assertEquals(0, newModels);
+    assertEquals(MODEL_ID, model.getId());
+    assertEquals(
+        List.of("Coupe", "Sedan"),
+        modelProjectionRepository.findById(MODEL_ID).orElseThrow().getCategories());
+  }
+
+  @Test
+  void upsertModels_shouldWriteModelOnce_whenModelIsRepeated() {
+    ModelDto firstRow = buildModel("Ford", "Mustang", 2020, "Coupe");
+    ModelDto secondRow = buildModel("Ford", "Mustang", 2020, "Convertible");
+
+    int newModels = modelBatchRepository.upsertModels(List.of(firstRow, secondRow));
+
+    assertEquals(1, newModels);
+    assertEquals(firstRow.getId(), secondRow.getId());
+    assertEquals(
+        List.of("Convertible", "Coupe"),
+        modelProjectionRepository.findById(firstRow.getId()).orElseThrow().getCategories());
+  }
+
+  @Test
+  void insertModels_shouldInsertModelWithAllCategories_whenModelIsNew() {
+    ModelDto model = buildModel("Audi", "A6", 2021, "Sedan", "Wagon", "Sedan");
+
+    modelBatchRepository.insertModels(List.of(model));
+
+    assertNotNull(model.getId());
+    ModelDto searchRow = modelProjectionRepository.findById(model.getId()).orElseThrow();
+    assertEquals(2021, searchRow.getYear());
+    assertEquals(List.of("Sedan", "Wagon"), searchRow.getCategories());
+  }
+
+  @Test
+  void findModelIds_shouldReturnIdsInOrderOfModels_whenSomeModelsAreInDb() {
+    List<ModelDto> models =
+        List.of(buildModel("Ford", "Mustang", 2020), buildModel("Audi", "A7", 2020));
+
+    assertEquals(Arrays.asList(null, MODEL_ID), modelBatchRepository.findModelIds(models));
+  }
+
+  @Test
+  void replaceModelCategories_shouldDeleteOrphanCategory_whenModelIsRemovedFromIt() {
+    List<String> deletedCategories =
+        modelBatchRepository.replaceModelCategories(
+            MODEL_ID, List.of("Coupe", "Wagon"), List.of("Sedan"));
+
+    assertEquals(List.of("Sedan"), deletedCategories);
+    assertEquals(
+        List.of("Coupe", "Wagon"),
+        modelProjectionRepository.findById(MODEL_ID).orElseThrow().getCategories());
+  }
+
+  @Test
+  void replaceModelCategories_shouldRemoveModelFromAllCategories_whenNoCategoriesAreGiven() {
+    List<String> deletedCategories =
+        modelBatchRepository.replaceModelCategories(MODEL_ID, List.of(), List.of("Sedan"));
+
+    assertEquals(List.of("Sedan"), deletedCategories);
+    assertTrue(
+        modelProjectionRepository.findById(MODEL_ID).orElseThrow().getCategories().isEmpty());
+  }
+
+  private ModelDto buildModel(String manufacturer, String name, int year, String... categories) {
+    return ModelDto.builder()
+        .manufacturer(manufacturer)
+        .name(name)
+        .year(year)
+        .categories(new ArrayList<>(List.of(categories)))
+        .build();
+  }
+}
@@ -0,0 +1,136 @@
+package ua.foxminded.cars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.test.context.jdbc.Sql;
+import ua.foxminded.cars.repository.specification.ModelCursor;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+@JdbcTest
+@Import(ModelProjectionRepository.class)
+@Sql(scripts = {"/db/model-test-data.sql", "/db/model-batch-test-data.sql"})
+class ModelProjectionRepositoryTest {
+
+  private static final UUID MODEL_ID = UUID.fromString("2c3d4e5f-6a7b-4c8d-8e9f-1a2b3c4d5e6f");
+  private static final UUID A6_MODEL_ID = UUID.fromString("1b2c3d4e-5f6a-4b7c-9d8e-0f1a2b3c4d5e");
+  private static final String MANUFACTURER = "BMW";
+  private static final String MODEL_NAME = "M3";
+  private static final int YEAR = 2020;
+  private static final String NAME = "name";
+
+  @Autowired private ModelProjectionRepository modelProjectionRepository;
+
+  @Test
+  void findById_shouldReturnModelWithAggregatedCategories_whenModelIsInDb() {
+    ModelDto expectedModel =
+        ModelDto.builder()
+            .id(MODEL_ID)
+            .name(MODEL_NAME)
+            .year(YEAR)
+            .manufacturer(MANUFACTURER)
+            .categories(List.of("Coupe", "Sedan"))
+            .version(0L)
+            .build();
+
+    Optional<ModelDto> actualModel = modelProjectionRepository.findById(MODEL_ID);
+
+    assertEquals(Optional.of(expectedModel), actualModel);
+  }
+
+  @Test
+  void findById_shouldReturnEmptyOptional_whenNoModelInDb() {
+    assertTrue(modelProjectionRepository.findById(UUID.randomUUID()).isEmpty());
+  }
+
+  @Test
+  void findOne_shouldReturnModel_whenModelIsInDb() {
+    Optional<ModelDto> actualModel =
+        modelProjectionRepository.findOne(MANUFACTURER, MODEL_NAME, YEAR);
+
+    assertEquals(MODEL_ID, actualModel.orElseThrow().getId());
+  }
+
+  @Test
+  void findSlice_shouldReturnPagesInSortOrder_whenPageIsRequested() {
+    Sort sort = Sort.by(Direction.DESC, NAME);
+
+    Slice<ModelDto> firstSlice =
+        modelProjectionRepository.findSlice(new SearchFilter(), PageRequest.of(0, 4, sort));
+    Slice<ModelDto> lastSlice =
+        modelProjectionRepository.findSlice(new SearchFilter(), PageRequest.of(1, 4, sort));
+
+    assertEquals(List.of("X5", "Mustang", "M3", "A7"), getNames(firstSlice));
+    assertTrue(firstSlice.hasNext());
+    assertEquals(List.of("A6", "A4"), getNames(lastSlice));
+    assertFalse(lastSlice.hasNext());
+  }
+
+  @Test
+  void findSlice_shouldReturnModelsWithAllCategories_whenFilterHasCategory() {
+    SearchFilter searchFilter = SearchFilter.builder().category("Coupe").minYear(YEAR).build();
+
+    Slice<ModelDto> slice =
+        modelProjectionRepository.findSlice(searchFilter, PageRequest.of(0, 10, Sort.by(NAME)));
+
+    assertEquals(List.of("M3", "Mustang"), getNames(slice));
+    assertEquals(List.of("Coupe", "Sedan"), slice.getContent().get(0).getCategories());
+  }
+
+  @Test
+  void findSlice_shouldThrowPropertyReferenceException_whenSortPropertyIsUnknown() {
+    PageRequest pageable = PageRequest.of(0, 10, Sort.by("color"));
+    SearchFilter searchFilter = new SearchFilter();
+
+    assertThrows(
+        PropertyReferenceException.class,
+        () -> modelProjectionRepository.findSlice(searchFilter, pageable));
+  }
+
+  @Test
+  void count_shouldCountModelsOfCategory_whenFilterHasCategory() {
+    SearchFilter searchFilter = SearchFilter.builder().category("Sedan").build();
+
+    assertEquals(5, modelProjectionRepository.count(searchFilter));
+  }
+
+  @Test
+  void findAfter_shouldReturnModelsAfterCursor_whenDirectionIsAscending() {
+    ModelCursor cursor = ModelCursor.builder().name("A6").id(A6_MODEL_ID).build();
+
+    List<ModelDto> models =
+        modelProjectionRepository.findAfter(new SearchFilter(), cursor, Direction.ASC, 2);
+
+    assertEquals(List.of("A7", "M3"), models.stream().map(ModelDto::getName).toList());
+  }
+
+  @Test
+  void findAfter_shouldReturnModelsBeforeCursor_whenDirectionIsDescending() {
+    ModelCursor cursor = ModelCursor.builder().name("A6").id(A6_MODEL_ID).build();
+    SearchFilter searchFilter = SearchFilter.builder().manufacturer("Audi").build();
+
+    List<ModelDto> models =
+        modelProjectionRepository.findAfter(searchFilter, cursor, Direction.DESC, 10);
+
+    assertEquals(List.of("A4"), models.stream().map(ModelDto::getName).toList());
+  }
+
+  private List<String> getNames(Slice<ModelDto> slice) {
+    return slice.getContent().stream().map(ModelDto::getName).toList();
+  }
+}
@@ -0,0 +1,264 @@
+package ua.foxminded.cars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import jakarta.persistence.EntityManager;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.jdbc.Sql;
+import ua.foxminded.cars.repository.entity.Model;
+import ua.foxminded.cars.repository.specification.ModelCursor;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+  ModelBatchRepository.class,
+  ModelProjectionRepository.class,
+  ModelRepositoryStatementCountTest.StatementCounter.class
+})
+@Sql(scripts = {"/db/model-test-data.sql", "/db/model-batch-test-data.sql"})
+class ModelRepositoryStatementCountTest {
+
+  private static final int MODELS_COUNT = 6;
+  private static final Pageable FIRST_PART_PAGE = PageRequest.of(0, 4, Sort.by("name"));
+  private static final UUID MODEL_ID = UUID.fromString("2c3d4e5f-6a7b-4c8d-8e9f-1a2b3c4d5e6f");
+
+  @Autowired private ModelRepository modelRepository;
+
+  @Autowired private ModelProjectionRepository modelProjectionRepository;
+
+  @Autowired private ModelBatchRepository modelBatchRepository;
+
+  @Autowired private StatementCounter statementCounter;
+
+  @Autowired private EntityManager entityManager;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    entityManager.clear();
+    statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    statementCounter.reset();
+  }
+
+  @Test
+  void findSlice_shouldLoadPageWithRelationsInSingleQuery_whenPageHasManyModels() {
+    Slice<ModelDto> slice =
+        modelProjectionRepository.findSlice(new SearchFilter(), FIRST_PART_PAGE);
+
+    assertEquals(FIRST_PART_PAGE.getPageSize(), slice.getNumberOfElements());
+    assertRelationsAreRead(slice.getContent());
+    assertEquals(1, statementCounter.getCount());
+  }
+
+  @Test
+  void findAfter_shouldLoadModelsWithRelationsInSingleQuery_whenCursorIsGiven() {
+    SearchFilter filter = SearchFilter.builder().category("Sedan").build();
+    ModelCursor cursor = ModelCursor.builder().name("A").id(MODEL_ID).build();
+
+    List<ModelDto> models = modelProjectionRepository.findAfter(filter, cursor, Direction.ASC, 10);
+
+    assertRelationsAreRead(models);
+    assertEquals(1, statementCounter.getCount());
+  }
+
+  @Test
+  void count_shouldCountModelsInSingleQuery_whenFilterIsEmpty() {
+    assertEquals(MODELS_COUNT, modelProjectionRepository.count(new SearchFilter()));
+    assertEquals(1, statementCounter.getCount());
+  }
+
+  @Test
+  void findById_shouldLoadModelWithRelationsInSingleQuery_whenModelIsInDb() {
+    Model model = modelRepository.findById(MODEL_ID).orElseThrow();
+
+    assertRelationsAreLoaded(List.of(model));
+    assertEquals(2, model.getCategories().size());
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void insertModels_shouldCreateModelInSameNumberOfStatements_whenModelHasMoreCategories() {
+    ModelDto firstModel = buildModel("Model S", getCategories(1));
+    ModelDto secondModel = buildModel("Model X", getCategories(10));
+
+    int oneCategoryStatements = countStatements(() -> insertModel(firstModel));
+    int tenCategoriesStatements = countStatements(() -> insertModel(secondModel));
+
+    assertEquals(oneCategoryStatements, tenCategoriesStatements);
+    assertEquals(
+        getCategories(10),
+        modelProjectionRepository.findById(secondModel.getId()).orElseThrow().getCategories());
+  }
+
+  @Test
+  void
+      replaceModelCategories_shouldUpdateModelInSameNumberOfStatements_whenModelHasMoreCategories() {
+    List<String> oneCategory = getCategories(1);
+    List<String> tenCategories = getCategories(10);
+
+    int oneCategoryStatements =
+        countStatements(
+            () ->
+                modelBatchRepository.replaceModelCategories(
+                    MODEL_ID, oneCategory, List.of("Coupe", "Sedan")));
+    int tenCategoriesStatements =
+        countStatements(
+            () ->
+                modelBatchRepository.replaceModelCategories(MODEL_ID, tenCategories, oneCategory));
+
+    assertEquals(oneCategoryStatements, tenCategoriesStatements);
+    assertEquals(
+        tenCategories, modelProjectionRepository.findById(MODEL_ID).orElseThrow().getCategories());
+  }
+
+  private void insertModel(ModelDto model) {
+    modelBatchRepository.insertModels(List.of(model));
+  }
+
+  private int countStatements(Runnable statements) {
+    statementCounter.reset();
+    statements.run();
+    return statementCounter.getCount();
+  }
+
+  private List<String> getCategories(int count) {
+    return IntStream.rangeClosed(1, count).mapToObj("Category %02d"::formatted).toList();
+  }
+
+  private ModelDto buildModel(String name, List<String> categories) {
+    return ModelDto.builder()
+        .manufacturer("Tesla")
+        .name(name)
+        .year(2023)
+        .categories(new ArrayList<>(categories))
+        .build();
+  }
+
+  private void assertRelationsAreRead(List<ModelDto> models) {
+    assertFalse(models.isEmpty());
+    models.forEach(
+        model -> {
+          assertNotNull(model.getManufacturer());
+          assertNotNull(model.getYear());
+          assertFalse(model.getCategories().isEmpty());
+        });
+  }
+
+  private void assertRelationsAreLoaded(List<Model> models) {
+    models.forEach(
+        model -> {
+          assertNotNull(model.getManufacturer().getName());
+          assertNotNull(model.getYear().getValue());
+          assertFalse(model.getCategories().isEmpty());
+        });
+  }
+
+  /**
+   * Counts the statements executed on the connections of the data source, every row of a JDBC batch
+   * is counted as a statement, so a statement per category is not hidden by a batch.
+   */
+  @TestComponent
+  static class StatementCounter implements BeanPostProcessor {
+
+    private static final Set<String> STATEMENT_METHODS =
+        Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS =
+        Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    int getCount() {
+      return count.get();
+    }
+
+    void reset() {
+      count.set(0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+      if (!(bean instanceof DataSource dataSource)) {
+        return bean;
+      }
+      return new DelegatingDataSource(dataSource) {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+          return countStatements(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+          return countStatements(super.getConnection(username, password));
+        }
+      };
+    }
+
+    private Connection countStatements(Connection connection) {
+      return (Connection)
+          Proxy.newProxyInstance(
+              getClass().getClassLoader(),
+              new Class<?>[] {Connection.class},
+              (proxy, method, arguments) -> {
+                Object result = invoke(connection, method, arguments);
+                return STATEMENT_METHODS.contains(method.getName())
+                    ? countExecutions((Statement) result, method.getReturnType())
+                    : result;
+              });
+    }
+
+    private Object countExecutions(Statement statement, Class<?> statementType) {
+      return Proxy.newProxyInstance(
+          getClass().getClassLoader(),
+          new Class<?>[] {statementType},
+          (proxy, method, arguments) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+              count.incrementAndGet();
+            }
+            return invoke(statement, method, arguments);
+          });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] arguments)
+        throws Throwable {
+      try {
+        return method.invoke(target, arguments);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    }
+  }
+}
@@ -2,23 +2,20 @@ package ua.foxminded.cars.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Year;
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.jdbc.Sql;
 import ua.foxminded.cars.repository.entity.Model;
-import ua.foxminded.cars.repository.specification.ModelSpecification;
-import ua.foxminded.cars.repository.specification.SearchFilter;
 
 @DataJpaTest
+@Import(ModelProjectionRepository.class)
 @Sql(scripts = "/db/model-test-data.sql")
 class ModelRepositoryTest {
 
@@ -28,36 +25,22 @@ class ModelRepositoryTest {
   private static final int MODEL_YEAR = 2020;
   private static final Year NOT_EXISTING_MODEL_YEAR = Year.of(2035);
   private static final String CATEGORY = "Sedan";
-  private static final String CATEGORY_WITHOUT_RELATIONS = "Coupe";
   private static final String NOT_EXISTING_CATEGORY = "Pickup";
   private static final UUID MODEL_ID = UUID.fromString("52096834-48af-41d1-b422-93600eff629a");
-  private static final UUID NOT_EXISTING_MODEL_ID = UUID.randomUUID();
 
   @Autowired private ModelRepository modelRepository;
 
-  @Test
-  void removeModelFromCategory_shouldRemoveRelationship_whenRelationshipExists() {
-    modelRepository.removeModelFromCategory(String.valueOf(MODEL_ID), CATEGORY);
-
-    boolean isExistByCategory = modelRepository.existsByCategoriesName(CATEGORY);
-
-    assertFalse(isExistByCategory);
-  }
-
-  @Test
-  void putModelToCategory_shouldThrowException_whenNoModelAndCategoryInDB() {
-    assertThrows(
-        DataIntegrityViolationException.class,
-        () -> modelRepository.putModelToCategory(NOT_EXISTING_MODEL_ID, NOT_EXISTING_CATEGORY));
-  }
+  @Autowired private ModelProjectionRepository modelProjectionRepository;
 
   @Test
-  void putModelToCategory_shouldCreateRelationship_whenCategoryAndModelAreInDb() {
-    modelRepository.putModelToCategory(MODEL_ID, CATEGORY_WITHOUT_RELATIONS);
+  void save_shouldGenerateTimeOrderedIds_whenModelsAreCreated() {
+    Model existingModel = modelRepository.findById(MODEL_ID).orElseThrow();
 
-    boolean isExistByCategory = modelRepository.existsByCategoriesName(CATEGORY_WITHOUT_RELATIONS);
+    Model firstModel = modelRepository.save(buildModel(existingModel, "A5"));
+    Model secondModel = modelRepository.save(buildModel(existingModel, "A3"));
 
-    assertTrue(isExistByCategory);
+    assertEquals(7, firstModel.getId().version());
+    assertTrue(firstModel.getId().compareTo(secondModel.getId()) < 0);
   }
 
   @Test
@@ -103,30 +86,52 @@ class ModelRepositoryTest {
   }
 
   @Test
-  void findOne_shouldReturnEmptyOptional_whenModelIsInDb() {
-    SearchFilter filter =
-        SearchFilter.builder()
-            .name(MODEL)
-            .manufacturer(NOT_EXISTING_MANUFACTURER)
-            .year(MODEL_YEAR)
-            .build();
-    Specification<Model> specification = ModelSpecification.getSpecification(filter);
-
-    Optional<Model> modelOptional = modelRepository.findOne(specification);
-
-    assertTrue(modelOptional.isEmpty());
+  void findForUpdate_shouldReturnModel_whenModelIsInDb() {
+    Model model = modelRepository.findForUpdate(MANUFACTURE, MODEL, Year.of(MODEL_YEAR)).get();
+
+    assertEquals(MODEL_ID, model.getId());
+    assertEquals(CATEGORY, model.getCategories().iterator().next().getName());
+  }
+
+  @Test
+  void findForUpdate_shouldReturnEmptyOptional_whenNoModelInDb() {
+    assertTrue(
+        modelRepository
+            .findForUpdate(NOT_EXISTING_MANUFACTURER, MODEL, Year.of(MODEL_YEAR))
+            .isEmpty());
+  }
+
+  @Test
+  void findAllWithCategories_shouldReturnModelsWithCategories_whenModelsAreInDb() {
+    List<Model> models = modelRepository.findAllWithCategories();
+
+    assertEquals(1, models.size());
+    Model model = models.get(0);
+    assertEquals(MODEL_ID, model.getId());
+    assertEquals(CATEGORY, model.getCategories().iterator().next().getName());
+  }
+
+  @Test
+  void insertAllSearchRows_shouldWriteRowOfEveryModel_whenTableIsRebuilt() {
+    modelRepository.deleteAllSearchRows();
+
+    assertEquals(1, modelRepository.insertAllSearchRows());
+    assertTrue(modelProjectionRepository.findById(MODEL_ID).isPresent());
   }
 
   @Test
-  void findOne_shouldReturnModel_whenModelIsInDb() {
-    SearchFilter filter =
-        SearchFilter.builder().name(MODEL).manufacturer(MANUFACTURE).year(MODEL_YEAR).build();
-    Specification<Model> specification = ModelSpecification.getSpecification(filter);
+  void delete_shouldDeleteSearchRow_whenModelIsDeleted() {
+    modelRepository.deleteById(MODEL_ID);
+    modelRepository.flush();
 
-    Model model = modelRepository.findOne(specification).get();
+    assertTrue(modelProjectionRepository.findById(MODEL_ID).isEmpty());
+  }
 
-    assertEquals(MODEL, model.getName());
-    assertEquals(MANUFACTURE, model.getManufacturer().getName());
-    assertEquals(Year.of(MODEL_YEAR), model.getYear().getValue());
+  private Model buildModel(Model existingModel, String name) {
+    return Model.builder()
+        .name(name)
+        .manufacturer(existingModel.getManufacturer())
+        .year(existingModel.getYear())
+        .build();
   }
 }
@@ -0,0 +1,38 @@
+package ua.foxminded.cars.repository.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+  private static final int UUIDS_COUNT = 100_000;
+
+  @Test
+  void nextUuid_shouldReturnVersion7Uuid_whenCalled() {
+    long before = System.currentTimeMillis();
+
+    UUID uuid = UuidV7Generator.nextUuid();
+
+    long timestamp = uuid.getMostSignificantBits() >>> 16;
+    assertEquals(7, uuid.version());
+    assertEquals(2, uuid.variant());
+    assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1);
+  }
+
+  @Test
+  void nextUuid_shouldReturnIncreasingUuids_whenManyUuidsAreGeneratedInSameMillisecond() {
+    UUID previousUuid = UuidV7Generator.nextUuid();
+
+    for (int i = 0; i < UUIDS_COUNT; i++) {
+      UUID uuid = UuidV7Generator.nextUuid();
+
+      assertTrue(
+          Long.compareUnsigned(uuid.getMostSignificantBits(), previousUuid.getMostSignificantBits())
+              > 0);
+      previousUuid = uuid;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package ua.foxminded.cars.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ua.foxminded.cars.routing.ReadYourWritesFilter.COOKIE_NAME;
+
+import jakarta.servlet.http.Cookie;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ReadYourWritesFilterTest {
+
+  private static final String MODELS_URL = "/v1/models";
+  private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+  private static final Duration WINDOW = Duration.ofSeconds(5);
+
+  private final ReadYourWritesFilter filter =
+      new ReadYourWritesFilter(WINDOW, Clock.fixed(NOW, ZoneOffset.UTC));
+  private final AtomicBoolean isPinnedInRequest = new AtomicBoolean();
+
+  @Test
+  void doFilter_shouldPinReadsAndSetCookie_whenRequestIsWrite() throws Exception {
+    MockHttpServletResponse response = perform(new MockHttpServletRequest("POST", MODELS_URL));
+
+    Cookie cookie = response.getCookie(COOKIE_NAME);
+    assertTrue(isPinnedInRequest.get());
+    assertEquals(String.valueOf(NOW.plus(WINDOW).toEpochMilli()), cookie.getValue());
+    assertEquals(WINDOW.toSeconds(), cookie.getMaxAge());
+    assertFalse(ReadYourWritesContext.isPinnedToPrimary());
+  }
+
+  @Test
+  void doFilter_shouldPinReads_whenReadFollowsWriteWithinWindow() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", MODELS_URL);
+    request.setCookies(new Cookie(COOKIE_NAME, String.valueOf(NOW.toEpochMilli() + 1)));
+
+    MockHttpServletResponse response = perform(request);
+
+    assertTrue(isPinnedInRequest.get());
+    assertNull(response.getCookie(COOKIE_NAME));
+  }
+
+  @Test
+  void doFilter_shouldNotPinReads_whenWindowIsOver() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", MODELS_URL);
+    request.setCookies(new Cookie(COOKIE_NAME, String.valueOf(NOW.toEpochMilli())));
+
+    perform(request);
+
+    assertFalse(isPinnedInRequest.get());
+  }
+
+  private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(
+        request,
+        response,
+        (servletRequest, servletResponse) ->
+            isPinnedInRequest.set(ReadYourWritesContext.isPinnedToPrimary()));
+    return response;
+  }
+}
@@ -0,0 +1,97 @@
+package ua.foxminded.cars.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.cars.config.DataSourceRoutingConfig;
+
+class ReplicaRoutingDataSourceTest {
+
+  private static final String PRIMARY = "primary";
+  private static final String REPLICA = "replica";
+  private static final String IN_SYNC_QUERY = "select 0";
+  private static final String LAGGING_QUERY = "select 60";
+
+  private final DataSourceRoutingConfig settings = new DataSourceRoutingConfig();
+  private ReplicaRoutingDataSource routingDataSource;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readOnlyTransaction;
+  private TransactionTemplate readWriteTransaction;
+
+  @BeforeEach
+  void setUp() {
+    routingDataSource =
+        new ReplicaRoutingDataSource(buildDatabase(PRIMARY), List.of(buildDatabase(REPLICA)));
+    DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    readWriteTransaction = new TransactionTemplate(transactionManager);
+    settings.setMaxReplicationLag(Duration.ofSeconds(5));
+    settings.setLagQuery(IN_SYNC_QUERY);
+    new ReplicaLagMonitor(routingDataSource, settings).checkReplicas();
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReadYourWritesContext.clear();
+  }
+
+  @Test
+  void getConnection_shouldRouteToReplica_whenTransactionIsReadOnly() {
+    assertEquals(REPLICA, readOnlyTransaction.execute(status -> readNodeName()));
+  }
+
+  @Test
+  void getConnection_shouldRouteToPrimary_whenTransactionIsReadWrite() {
+    assertEquals(PRIMARY, readWriteTransaction.execute(status -> readNodeName()));
+  }
+
+  @Test
+  void getConnection_shouldRouteToPrimary_whenReadsArePinnedToPrimary() {
+    ReadYourWritesContext.pinToPrimary();
+
+    assertEquals(PRIMARY, readOnlyTransaction.execute(status -> readNodeName()));
+  }
+
+  @Test
+  void getConnection_shouldRouteToPrimary_whenReplicaLagsBehind() {
+    settings.setLagQuery(LAGGING_QUERY);
+    new ReplicaLagMonitor(routingDataSource, settings).checkReplicas();
+
+    assertEquals(PRIMARY, readOnlyTransaction.execute(status -> readNodeName()));
+  }
+
+  @Test
+  void getConnection_shouldRouteToPrimary_whenReplicaLagIsNotKnown() {
+    settings.setLagQuery("select pg_last_wal_replay_lsn()");
+    new ReplicaLagMonitor(routingDataSource, settings).checkReplicas();
+
+    assertEquals(PRIMARY, readOnlyTransaction.execute(status -> readNodeName()));
+  }
+
+  private String readNodeName() {
+    return jdbcTemplate.queryForObject("select name from node", String.class);
+  }
+
+  private DataSource buildDatabase(String name) {
+    DataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+    JdbcTemplate template = new JdbcTemplate(dataSource);
+    template.execute("create table if not exists node(name varchar(20))");
+    template.update("delete from node");
+    template.update("insert into node(name) values(?)", name);
+    return dataSource;
+  }
+}
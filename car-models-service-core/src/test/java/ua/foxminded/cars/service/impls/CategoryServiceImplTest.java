@@ -5,18 +5,16 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.Collections;
 import java.util.List;
-import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
 import org.mockito.ArgumentCaptor;
-import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -28,12 +26,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.test.util.ReflectionTestUtils;
 import ua.foxminded.cars.TestDataGenerator;
 import ua.foxminded.cars.config.PageSortConfig;
-import ua.foxminded.cars.exceptionhandler.exceptions.CategoryAlreadyExistsException;
 import ua.foxminded.cars.exceptionhandler.exceptions.CategoryNotFoundException;
 import ua.foxminded.cars.mapper.CategoryMapper;
 import ua.foxminded.cars.repository.CategoryRepository;
 import ua.foxminded.cars.repository.entity.Category;
 import ua.foxminded.cars.service.dto.CategoryDto;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class CategoryServiceImplTest {
@@ -48,6 +46,8 @@ class CategoryServiceImplTest {
 
   @Mock private PageSortConfig pageSortConfig;
 
+  @Mock private ReferenceDataRegistry referenceDataRegistry;
+
   @BeforeEach
   void setUp() {
     CategoryMapper categoryMapper = Mappers.getMapper(CategoryMapper.class);
@@ -99,7 +99,7 @@ class CategoryServiceImplTest {
 
   @Test
   void isCategoryExist_shouldReturnFalse_whenNoCategoryInDb() {
-    when(categoryRepository.existsById(CATEGORY_NAME)).thenReturn(false);
+    when(categoryRepository.existsByName(CATEGORY_NAME)).thenReturn(false);
 
     boolean isCategoryExist = categoryService.isCategoryExist(CATEGORY_NAME);
 
@@ -108,85 +108,29 @@ class CategoryServiceImplTest {
 
   @Test
   void isCategoryExist_shouldReturnTrue_whenCategoryIsInDb() {
-    when(categoryRepository.existsById(CATEGORY_NAME)).thenReturn(true);
+    when(categoryRepository.existsByName(CATEGORY_NAME)).thenReturn(true);
 
     boolean isCategoryExist = categoryService.isCategoryExist(CATEGORY_NAME);
 
     assertTrue(isCategoryExist);
-  }
-
-  @Test
-  void getCategories_shouldReturnCategories_whenCategoriesAreInDb() {
-    List<String> categoryNames = List.of(CATEGORY_NAME);
-    Category category = TestDataGenerator.generateCategoryEntity();
-    List<Category> categories = List.of(category);
-    CategoryDto expectedCategoryDto = TestDataGenerator.generateCategoryDto();
-    List<CategoryDto> expectedCategoryDtos = List.of(expectedCategoryDto);
-
-    when(categoryRepository.findAllById(categoryNames)).thenReturn(categories);
-
-    List<CategoryDto> receivedCategoryDtos = categoryService.getCategories(categoryNames);
-
-    assertEquals(expectedCategoryDtos, receivedCategoryDtos);
-  }
-
-  @Test
-  void getCategories_shouldThrowCategoryNotFoundException_whenNoCategoriesInDb() {
-    List<String> categoryNames = List.of(CATEGORY_NAME);
-    List<Category> categories = Collections.emptyList();
-
-    when(categoryRepository.findAllById(categoryNames)).thenReturn(categories);
-
-    assertThrows(
-        CategoryNotFoundException.class, () -> categoryService.getCategories(categoryNames));
+    verify(referenceDataRegistry).addCategoryLocally(CATEGORY_NAME);
+    verify(referenceDataRegistry, never()).addCategories(any());
   }
 
   @Test
   void deleteCategory_shouldDeleteCategory_whenCategoryIsInDb() {
-    when(categoryRepository.existsById(CATEGORY_NAME)).thenReturn(true);
+    when(categoryRepository.existsByName(CATEGORY_NAME)).thenReturn(true);
 
     categoryService.deleteCategory(CATEGORY_NAME);
 
-    verify(categoryRepository).deleteById(CATEGORY_NAME);
+    verify(categoryRepository).deleteByName(CATEGORY_NAME);
   }
 
   @Test
   void deleteCategory_shouldThrowCategoryNotFoundException_whenNoCategoryInDb() {
-    when(categoryRepository.existsById(CATEGORY_NAME)).thenReturn(false);
+    when(categoryRepository.existsByName(CATEGORY_NAME)).thenReturn(false);
 
     assertThrows(
         CategoryNotFoundException.class, () -> categoryService.deleteCategory(CATEGORY_NAME));
   }
-
-  @Test
-  void createCategories_shouldCreateAndReturnCategories_whenNoCategoriesInDb() {
-    CategoryDto categoryDto = TestDataGenerator.generateCategoryDto();
-    List<CategoryDto> categoryDtos = List.of(categoryDto);
-
-    Category category = TestDataGenerator.generateCategoryEntity();
-    List<Category> categories = List.of(category);
-
-    when(categoryRepository.findAllById(ArgumentMatchers.<List<String>>any()))
-        .thenReturn(Collections.emptyList());
-    when(categoryRepository.saveAllAndFlush(ArgumentMatchers.<List<Category>>any()))
-        .thenReturn(categories);
-
-    List<CategoryDto> createdCategories = categoryService.createCategories(categoryDtos);
-
-    assertEquals(categoryDtos, createdCategories);
-  }
-
-  @Test
-  void createCategories_shouldThrowCategoryAlreadyExistException_whenCategoriesAreInDb() {
-    Category category = TestDataGenerator.generateCategoryEntity();
-    List<Category> categories = List.of(category);
-    CategoryDto categoryDto = TestDataGenerator.generateCategoryDto();
-    List<CategoryDto> categoryDtos = List.of(categoryDto);
-
-    when(categoryRepository.findAllById(ArgumentMatchers.<List<String>>any()))
-        .thenReturn(categories);
-
-    Assertions.assertThrows(
-        CategoryAlreadyExistsException.class, () -> categoryService.createCategories(categoryDtos));
-  }
 }
@@ -2,7 +2,11 @@ package ua.foxminded.cars.service.impls;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
@@ -27,6 +31,7 @@ import ua.foxminded.cars.mapper.ManufacturerMapper;
 import ua.foxminded.cars.repository.ManufacturerRepository;
 import ua.foxminded.cars.repository.entity.Manufacturer;
 import ua.foxminded.cars.service.dto.ManufacturerDto;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class ManufacturerServiceImplTest {
@@ -42,6 +47,8 @@ class ManufacturerServiceImplTest {
 
   @Mock private PageSortConfig pageSortConfig;
 
+  @Mock private ReferenceDataRegistry referenceDataRegistry;
+
   @BeforeEach
   void setUp() {
     ManufacturerMapper manufacturerMapper = Mappers.getMapper(ManufacturerMapper.class);
@@ -85,7 +92,8 @@ class ManufacturerServiceImplTest {
   void getManufacturer_shouldReturnManufacturer_whenManufacturerIsInDb() {
     Manufacturer manufacturer = TestDataGenerator.generateManufacturer();
 
-    when(manufacturerRepository.findById(MANUFACTURER_NAME)).thenReturn(Optional.of(manufacturer));
+    when(manufacturerRepository.findByName(MANUFACTURER_NAME))
+        .thenReturn(Optional.of(manufacturer));
 
     ManufacturerDto manufacturerDto = manufacturerService.getManufacturer(MANUFACTURER_NAME);
 
@@ -94,10 +102,42 @@ class ManufacturerServiceImplTest {
 
   @Test
   void getManufacturer_shouldThrowException_whenNoManufacturerInDb() {
-    when(manufacturerRepository.findById(NOT_EXISTING_MANUFACTURER)).thenReturn(Optional.empty());
+    when(manufacturerRepository.findByName(NOT_EXISTING_MANUFACTURER)).thenReturn(Optional.empty());
 
     assertThrows(
         ManufacturerNotFoundException.class,
         () -> manufacturerService.getManufacturer(NOT_EXISTING_MANUFACTURER));
   }
+
+  @Test
+  void getAllManufacturers_shouldReturnPageFromRegistry_whenPageIsSortedByName() {
+    Pageable pageable = PageRequest.of(FIRST_PAGE, FIVE_ELEMENTS, Sort.by("name"));
+
+    when(referenceDataRegistry.isSortedByName(pageable)).thenReturn(true);
+    when(referenceDataRegistry.getManufacturers(pageable))
+        .thenReturn(new PageImpl<>(List.of(MANUFACTURER_NAME)));
+
+    Page<ManufacturerDto> actualManufacturersPage =
+        manufacturerService.getAllManufacturers(pageable);
+
+    assertEquals(MANUFACTURER_NAME, actualManufacturersPage.getContent().get(0).getName());
+    verifyNoInteractions(manufacturerRepository);
+  }
+
+  @Test
+  void isManufacturerExistByName_shouldNotQueryDb_whenManufacturerIsInRegistry() {
+    when(referenceDataRegistry.containsManufacturer(MANUFACTURER_NAME)).thenReturn(true);
+
+    assertTrue(manufacturerService.isManufacturerExistByName(MANUFACTURER_NAME));
+    verifyNoInteractions(manufacturerRepository);
+  }
+
+  @Test
+  void isManufacturerExistByName_shouldAddManufacturerToRegistry_whenManufacturerIsOnlyInDb() {
+    when(manufacturerRepository.existsByName(MANUFACTURER_NAME)).thenReturn(true);
+
+    assertTrue(manufacturerService.isManufacturerExistByName(MANUFACTURER_NAME));
+    verify(referenceDataRegistry).addManufacturerLocally(MANUFACTURER_NAME);
+    verify(referenceDataRegistry, never()).addManufacturer(MANUFACTURER_NAME);
+  }
 }
@@ -1,17 +1,22 @@
 package ua.foxminded.cars.service.impls;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.Year;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,35 +24,48 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
 import org.mockito.ArgumentCaptor;
-import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.util.ReflectionTestUtils;
 import ua.foxminded.cars.TestDataGenerator;
+import ua.foxminded.cars.cache.ModelCacheInvalidator;
+import ua.foxminded.cars.cache.ModelCountCache;
+import ua.foxminded.cars.cache.ModelInvalidation;
+import ua.foxminded.cars.cache.ModelMissCache;
 import ua.foxminded.cars.config.PageSortConfig;
+import ua.foxminded.cars.exceptionhandler.exceptions.CursorNotValidException;
+import ua.foxminded.cars.exceptionhandler.exceptions.CursorSortNotSupportedException;
 import ua.foxminded.cars.exceptionhandler.exceptions.ModelAlreadyExistsException;
 import ua.foxminded.cars.exceptionhandler.exceptions.ModelNotFoundException;
+import ua.foxminded.cars.exceptionhandler.exceptions.ModelNotValidException;
+import ua.foxminded.cars.exceptionhandler.exceptions.ModelVersionMismatchException;
 import ua.foxminded.cars.mapper.CategoryMapper;
 import ua.foxminded.cars.mapper.ModelMapper;
 import ua.foxminded.cars.mapper.ModelYearMapper;
+import ua.foxminded.cars.repository.ModelBatchRepository;
+import ua.foxminded.cars.repository.ModelProjectionRepository;
 import ua.foxminded.cars.repository.ModelRepository;
+import ua.foxminded.cars.repository.ModelStatisticsRepository;
 import ua.foxminded.cars.repository.entity.Category;
 import ua.foxminded.cars.repository.entity.Model;
+import ua.foxminded.cars.repository.specification.ModelCursor;
 import ua.foxminded.cars.repository.specification.SearchFilter;
 import ua.foxminded.cars.service.CategoryService;
 import ua.foxminded.cars.service.ManufacturerService;
 import ua.foxminded.cars.service.ModelYearService;
-import ua.foxminded.cars.service.dto.CategoryDto;
-import ua.foxminded.cars.service.dto.ManufacturerDto;
+import ua.foxminded.cars.service.dto.ModelBatchResultDto;
+import ua.foxminded.cars.service.dto.ModelBatchResultDto.Status;
+import ua.foxminded.cars.service.dto.ModelCursorPageDto;
 import ua.foxminded.cars.service.dto.ModelDto;
-import ua.foxminded.cars.service.dto.ModelYearDto;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
+import ua.foxminded.cars.service.search.ModelSearchEngine;
 
 @ExtendWith(MockitoExtension.class)
 class ModelServiceImplTest {
@@ -69,6 +87,8 @@ class ModelServiceImplTest {
 
   @Mock private ModelRepository modelRepository;
 
+  @Mock private ModelProjectionRepository modelProjectionRepository;
+
   @Mock private ManufacturerService manufacturerService;
 
   @Mock private ModelYearService modelYearService;
@@ -77,6 +97,20 @@ class ModelServiceImplTest {
 
   @Mock private PageSortConfig pageSortConfig;
 
+  @Mock private ModelCacheInvalidator modelCacheInvalidator;
+
+  @Mock private ModelMissCache modelMissCache;
+
+  @Mock private ModelSearchEngine modelSearchEngine;
+
+  @Mock private ModelCountCache modelCountCache;
+
+  @Mock private ModelStatisticsRepository modelStatisticsRepository;
+
+  @Mock private ModelBatchRepository modelBatchRepository;
+
+  @Mock private ReferenceDataRegistry referenceDataRegistry;
+
   @BeforeEach
   void setUp() {
     ModelMapper modelMapper = Mappers.getMapper(ModelMapper.class);
@@ -94,14 +128,15 @@ class ModelServiceImplTest {
     Category category = Category.builder().name(NOT_NEEDED_CATEGORY).build();
     model.getCategories().add(category);
 
-    when(modelRepository.findOne(ArgumentMatchers.<Specification<Model>>any()))
+    when(modelRepository.findForUpdate(MANUFACTURER_NAME, MODEL_NAME, Year.of(YEAR)))
         .thenReturn(Optional.of(model));
-    when(categoryService.createCategories(ArgumentMatchers.<List<CategoryDto>>any()))
-        .thenReturn(new ArrayList<>());
+    when(modelBatchRepository.replaceModelCategories(
+            MODEL_ID, Set.of(CATEGORY_NAME), Set.of(NOT_NEEDED_CATEGORY)))
+        .thenReturn(List.of(NOT_NEEDED_CATEGORY));
 
     ModelDto actualModelDto = modelService.updateModel(modelDto);
 
-    verify(categoryService).createCategories(ArgumentMatchers.<List<CategoryDto>>any());
+    verify(referenceDataRegistry).removeCategory(NOT_NEEDED_CATEGORY);
     verifyModelDto(actualModelDto);
   }
 
@@ -111,20 +146,102 @@ class ModelServiceImplTest {
     Model model = TestDataGenerator.generateModelEntityWithId();
     model.setCategories(Set.of(Category.builder().name(NOT_NEEDED_CATEGORY).build()));
 
-    when(modelRepository.findOne(ArgumentMatchers.<Specification<Model>>any()))
+    when(modelRepository.findForUpdate(MANUFACTURER_NAME, MODEL_NAME, Year.of(YEAR)))
         .thenReturn(Optional.of(model));
 
     ModelDto actualModelDto = modelService.updateModel(modelDto);
 
-    verify(modelRepository).removeModelFromCategory(String.valueOf(MODEL_ID), NOT_NEEDED_CATEGORY);
+    verify(modelBatchRepository)
+        .replaceModelCategories(MODEL_ID, Set.of(CATEGORY_NAME), Set.of(NOT_NEEDED_CATEGORY));
+    verify(referenceDataRegistry).addCategories(Set.of(CATEGORY_NAME));
+    verify(referenceDataRegistry, never()).removeCategory(any());
     verifyModelDto(actualModelDto);
   }
 
+  @Test
+  void updateModel_shouldNotWriteModel_whenCategoriesAreNotChanged() {
+    ModelDto modelDto = TestDataGenerator.generateModelDto();
+    Model model = TestDataGenerator.generateModelEntityWithId();
+
+    when(modelRepository.findForUpdate(MANUFACTURER_NAME, MODEL_NAME, Year.of(YEAR)))
+        .thenReturn(Optional.of(model));
+
+    ModelDto actualModelDto = modelService.updateModel(modelDto);
+
+    verify(modelRepository, never()).incrementVersion(any(UUID.class));
+    verifyNoInteractions(modelBatchRepository, modelSearchEngine, modelCacheInvalidator);
+    assertEquals(MODEL_ID, actualModelDto.getId());
+    assertEquals(0L, actualModelDto.getVersion());
+  }
+
+  @Test
+  void updateModel_shouldThrowModelVersionMismatchException_whenNotChangedModelHasOtherVersion() {
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
+    modelDto.setVersion(1L);
+    Model model = TestDataGenerator.generateModelEntityWithId();
+
+    when(modelRepository.findForUpdate(MANUFACTURER_NAME, MODEL_NAME, Year.of(YEAR)))
+        .thenReturn(Optional.of(model));
+
+    assertThrows(ModelVersionMismatchException.class, () -> modelService.updateModel(modelDto));
+    verifyNoInteractions(modelBatchRepository, modelCacheInvalidator);
+  }
+
+  @Test
+  void updateModel_shouldIncrementVersion_whenUpdateIsNotConditional() {
+    ModelDto modelDto = TestDataGenerator.generateModelDto();
+    Model model = TestDataGenerator.generateModelEntityWithId();
+    model.setCategories(Set.of(Category.builder().name(NOT_NEEDED_CATEGORY).build()));
+
+    when(modelRepository.findForUpdate(MANUFACTURER_NAME, MODEL_NAME, Year.of(YEAR)))
+        .thenReturn(Optional.of(model));
+
+    ModelDto actualModelDto = modelService.updateModel(modelDto);
+
+    verify(modelRepository).incrementVersion(MODEL_ID);
+    assertEquals(1L, actualModelDto.getVersion());
+  }
+
+  @Test
+  void updateModel_shouldThrowModelVersionMismatchException_whenVersionIsChanged() {
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
+    modelDto.setVersion(0L);
+    Model model = TestDataGenerator.generateModelEntityWithId();
+    model.setCategories(Set.of(Category.builder().name(NOT_NEEDED_CATEGORY).build()));
+
+    when(modelRepository.incrementVersionIfMatches(
+            MODEL_ID, 0L, MANUFACTURER_NAME, MODEL_NAME, Year.of(YEAR)))
+        .thenReturn(0);
+    when(modelRepository.findForUpdate(MANUFACTURER_NAME, MODEL_NAME, Year.of(YEAR)))
+        .thenReturn(Optional.of(model));
+
+    assertThrows(ModelVersionMismatchException.class, () -> modelService.updateModel(modelDto));
+  }
+
+  @Test
+  void updateModel_shouldNotReadVersion_whenVersionMatches() {
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
+    modelDto.setVersion(0L);
+    Model model = TestDataGenerator.generateModelEntityWithId();
+    model.setCategories(Set.of(Category.builder().name(NOT_NEEDED_CATEGORY).build()));
+
+    when(modelRepository.incrementVersionIfMatches(
+            MODEL_ID, 0L, MANUFACTURER_NAME, MODEL_NAME, Year.of(YEAR)))
+        .thenReturn(1);
+    when(modelRepository.findForUpdate(MANUFACTURER_NAME, MODEL_NAME, Year.of(YEAR)))
+        .thenReturn(Optional.of(model));
+
+    ModelDto actualModelDto = modelService.updateModel(modelDto);
+
+    verify(modelRepository, never()).incrementVersion(any(UUID.class));
+    assertEquals(1L, actualModelDto.getVersion());
+  }
+
   @Test
   void updateModel_shouldThrowModelNotFoundException_whenNoModelInDb() {
     ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
 
-    when(modelRepository.findOne(ArgumentMatchers.<Specification<Model>>any()))
+    when(modelRepository.findForUpdate(MANUFACTURER_NAME, MODEL_NAME, Year.of(YEAR)))
         .thenReturn(Optional.empty());
 
     assertThrows(ModelNotFoundException.class, () -> modelService.updateModel(modelDto));
@@ -156,6 +273,8 @@ class ModelServiceImplTest {
     modelService.deleteModelById(MODEL_ID);
 
     verify(modelRepository).delete(any(Model.class));
+    verify(modelSearchEngine).remove(MODEL_ID);
+    verify(modelCacheInvalidator).evictModel(any(ModelInvalidation.class));
     verify(manufacturerService).deleteManufacturer(MANUFACTURER_NAME);
     verify(modelYearService).deleteYear(YEAR);
     verify(categoryService).deleteCategory(CATEGORY_NAME);
@@ -170,9 +289,9 @@ class ModelServiceImplTest {
 
   @Test
   void getModelById_shouldReturnModel_whenModelIsInDb() {
-    Model model = TestDataGenerator.generateModelEntityWithId();
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
 
-    when(modelRepository.findById(MODEL_ID)).thenReturn(Optional.of(model));
+    when(modelProjectionRepository.findById(MODEL_ID)).thenReturn(Optional.of(modelDto));
 
     ModelDto actualModelDto = modelService.getModelById(MODEL_ID);
 
@@ -181,16 +300,25 @@ class ModelServiceImplTest {
 
   @Test
   void getModelById_shouldThrowModelNotFoundException_whenNoModelInDb() {
-    when(modelRepository.findById(MODEL_ID)).thenReturn(Optional.empty());
+    when(modelProjectionRepository.findById(MODEL_ID)).thenReturn(Optional.empty());
+
+    assertThrows(ModelNotFoundException.class, () -> modelService.getModelById(MODEL_ID));
+    verify(modelMissCache).putMissing(MODEL_ID, 0L);
+  }
+
+  @Test
+  void getModelById_shouldThrowModelNotFoundExceptionWithoutQuery_whenMissIsCached() {
+    when(modelMissCache.isMissing(MODEL_ID)).thenReturn(true);
 
     assertThrows(ModelNotFoundException.class, () -> modelService.getModelById(MODEL_ID));
+    verifyNoInteractions(modelProjectionRepository);
   }
 
   @Test
   void getModel_shouldReturnModel_whenModelIsInDb() {
-    Model model = TestDataGenerator.generateModelEntityWithId();
-    when(modelRepository.findOne(ArgumentMatchers.<Specification<Model>>any()))
-        .thenReturn(Optional.of(model));
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
+    when(modelProjectionRepository.findOne(MANUFACTURER_NAME, MODEL_NAME, YEAR))
+        .thenReturn(Optional.of(modelDto));
 
     ModelDto actualModel = modelService.getModel(MANUFACTURER_NAME, MODEL_NAME, YEAR);
 
@@ -199,98 +327,225 @@ class ModelServiceImplTest {
 
   @Test
   void getModel_shouldThrowModelNotFoundException_whenNoModelInDb() {
-    when(modelRepository.findOne(ArgumentMatchers.<Specification<Model>>any()))
+    when(modelProjectionRepository.findOne(MANUFACTURER_NAME, MODEL_NAME, YEAR))
         .thenReturn(Optional.empty());
 
     assertThrows(
         ModelNotFoundException.class,
         () -> modelService.getModel(MANUFACTURER_NAME, MODEL_NAME, YEAR));
+    verify(modelMissCache).putMissing(MANUFACTURER_NAME, MODEL_NAME, YEAR, 0L);
+  }
+
+  @Test
+  void getModel_shouldThrowModelNotFoundExceptionWithoutQuery_whenMissIsCached() {
+    when(modelMissCache.isMissing(MANUFACTURER_NAME, MODEL_NAME, YEAR)).thenReturn(true);
+
+    assertThrows(
+        ModelNotFoundException.class,
+        () -> modelService.getModel(MANUFACTURER_NAME, MODEL_NAME, YEAR));
+    verifyNoInteractions(modelProjectionRepository);
   }
 
   @Test
   void searchModel_shouldReturnSortedPage_whenRequestHasSorting() {
     SearchFilter filter = SearchFilter.builder().manufacturer(MANUFACTURER_NAME).build();
     Pageable pageable = PageRequest.of(PAGE_NUMBER, PAGE_SIZE, Sort.Direction.DESC, "name");
-    Model model = TestDataGenerator.generateModelEntityWithId();
-    Page<Model> modelsPage = new PageImpl<>(List.of(model));
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
 
-    when(modelRepository.findAll(ArgumentMatchers.<Specification<Model>>any(), any(Pageable.class)))
-        .thenReturn(modelsPage);
+    when(modelSearchEngine.search(eq(filter), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(modelDto)));
 
     Page<ModelDto> actualPage = modelService.searchModel(filter, pageable);
 
     ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-    verify(modelRepository).findAll(ArgumentMatchers.<Specification<Model>>any(), captor.capture());
+    verify(modelSearchEngine).search(eq(filter), captor.capture());
     Sort sort = captor.getValue().getSort();
     assertTrue(sort.isSorted());
     assertEquals(sort.iterator().next().getDirection(), Sort.Direction.DESC);
-    ModelDto actualModelDto = actualPage.getContent().get(0);
-    verifyModelDto(actualModelDto);
+    assertEquals(modelDto, actualPage.getContent().get(0));
+    verifyNoInteractions(modelProjectionRepository);
   }
 
   @Test
   void searchModel_shouldReturnSortedPage_whenRequestHasNoSorting() {
     SearchFilter filter = SearchFilter.builder().manufacturer(MANUFACTURER_NAME).build();
     Pageable pageable = Pageable.ofSize(PAGE_SIZE);
-    Model model = TestDataGenerator.generateModelEntityWithId();
-    Page<Model> modelsPage = new PageImpl<>(List.of(model));
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
 
     when(pageSortConfig.getModelSortDirection()).thenReturn(Sort.Direction.DESC);
     when(pageSortConfig.getModelSortBy()).thenReturn(SORT_BY_NAME);
-    when(modelRepository.findAll(ArgumentMatchers.<Specification<Model>>any(), any(Pageable.class)))
-        .thenReturn(modelsPage);
+    when(modelSearchEngine.search(eq(filter), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(modelDto)));
 
     Page<ModelDto> actualPage = modelService.searchModel(filter, pageable);
 
     ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-    verify(modelRepository).findAll(ArgumentMatchers.<Specification<Model>>any(), captor.capture());
+    verify(modelSearchEngine).search(eq(filter), captor.capture());
     Sort sort = captor.getValue().getSort();
     assertTrue(sort.isSorted());
-    ModelDto actualModelDto = actualPage.getContent().get(0);
-    verifyModelDto(actualModelDto);
+    assertEquals(Sort.Order.desc(SORT_BY_NAME), sort.iterator().next());
+    assertEquals(modelDto, actualPage.getContent().get(0));
   }
 
   @Test
-  void
-      createModel_shouldCreateModelAndOmitRelatedEntities_whenNoModelInDbButRelatedEntitiesAreInDb() {
+  void searchModel_shouldReturnCachedTotal_whenSliceHasNextPage() {
+    SearchFilter filter = SearchFilter.builder().manufacturer(MANUFACTURER_NAME).build();
+    Pageable pageable = PageRequest.of(0, 1, Sort.by(SORT_BY_NAME));
     ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
-    Model model = TestDataGenerator.generateModelEntityWithId();
-    CategoryDto categoryDto = CategoryDto.builder().name(CATEGORY_NAME).build();
 
-    when(modelRepository.findOne(ArgumentMatchers.<Specification<Model>>any()))
-        .thenReturn(Optional.empty());
-    when(manufacturerService.isManufacturerExistByName(MANUFACTURER_NAME)).thenReturn(true);
-    when(modelYearService.isModelYearExist(YEAR)).thenReturn(true);
-    when(modelRepository.save(any(Model.class))).thenReturn(model);
-    when(categoryService.getCategories(ArgumentMatchers.<List<String>>any()))
-        .thenReturn(List.of(categoryDto));
+    when(modelSearchEngine.search(filter, pageable))
+        .thenReturn(new SliceImpl<>(List.of(modelDto), pageable, true));
+    when(modelCountCache.getCount(eq(filter), any())).thenReturn(7L);
 
-    ModelDto createdModel = modelService.createModel(modelDto);
+    Page<ModelDto> actualPage = modelService.searchModel(filter, pageable);
 
-    verify(modelRepository).putModelToCategory(any(UUID.class), anyString());
-    verifyModelDto(createdModel);
+    assertEquals(7, actualPage.getTotalElements());
+    verify(modelSearchEngine, never()).count(any());
   }
 
   @Test
-  void createModel_shouldCreateModelAndRelatedEntities_whenNoModelAndRelatedEntitiesInDb() {
+  void searchModel_shouldNotCountModels_whenFirstPageIsNotFull() {
+    SearchFilter filter = new SearchFilter();
+    Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by(SORT_BY_NAME));
     ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
-    Model model = TestDataGenerator.generateModelEntityWithId();
-    CategoryDto categoryDto = CategoryDto.builder().name(CATEGORY_NAME).build();
 
-    when(modelRepository.findOne(ArgumentMatchers.<Specification<Model>>any()))
-        .thenReturn(Optional.empty());
-    when(manufacturerService.isManufacturerExistByName(MANUFACTURER_NAME)).thenReturn(false);
-    when(modelYearService.isModelYearExist(YEAR)).thenReturn(false);
-    when(modelRepository.save(any(Model.class))).thenReturn(model);
-    when(categoryService.getCategories(ArgumentMatchers.<List<String>>any()))
-        .thenReturn(List.of(categoryDto));
+    when(modelSearchEngine.search(filter, pageable))
+        .thenReturn(new SliceImpl<>(List.of(modelDto), pageable, false));
+
+    Page<ModelDto> actualPage = modelService.searchModel(filter, pageable);
+
+    assertEquals(1, actualPage.getTotalElements());
+    verifyNoInteractions(modelCountCache);
+  }
+
+  @Test
+  void searchModelSlice_shouldNotCountModels_whenSliceIsRequested() {
+    SearchFilter filter = new SearchFilter();
+    Pageable pageable = PageRequest.of(PAGE_NUMBER, PAGE_SIZE, Sort.by(SORT_BY_NAME));
+    Slice<ModelDto> slice =
+        new SliceImpl<>(List.of(TestDataGenerator.generateModelDtoWithId()), pageable, true);
+
+    when(modelSearchEngine.search(filter, pageable)).thenReturn(slice);
+
+    Slice<ModelDto> actualSlice = modelService.searchModelSlice(filter, pageable);
+
+    assertEquals(slice, actualSlice);
+    verifyNoInteractions(modelCountCache, modelStatisticsRepository);
+  }
+
+  @Test
+  void searchModelWithEstimate_shouldReturnEstimatedTotal_whenSearchHasNoFilter() {
+    SearchFilter filter = new SearchFilter();
+    Pageable pageable = PageRequest.of(0, 1, Sort.by(SORT_BY_NAME));
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
+
+    when(modelSearchEngine.search(filter, pageable))
+        .thenReturn(new SliceImpl<>(List.of(modelDto), pageable, true));
+    when(modelStatisticsRepository.estimateModelCount()).thenReturn(OptionalLong.of(10_000));
+
+    Page<ModelDto> actualPage = modelService.searchModelWithEstimate(filter, pageable);
+
+    assertEquals(10_000, actualPage.getTotalElements());
+    verifyNoInteractions(modelCountCache);
+  }
+
+  @Test
+  void searchModelWithEstimate_shouldReturnExactTotal_whenSearchHasFilter() {
+    SearchFilter filter = SearchFilter.builder().manufacturer(MANUFACTURER_NAME).build();
+    Pageable pageable = PageRequest.of(0, 1, Sort.by(SORT_BY_NAME));
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
+
+    when(modelSearchEngine.search(filter, pageable))
+        .thenReturn(new SliceImpl<>(List.of(modelDto), pageable, true));
+    when(modelCountCache.getCount(eq(filter), any())).thenReturn(3L);
+
+    Page<ModelDto> actualPage = modelService.searchModelWithEstimate(filter, pageable);
+
+    assertEquals(3, actualPage.getTotalElements());
+    verifyNoInteractions(modelStatisticsRepository);
+  }
+
+  @Test
+  void searchModelAfter_shouldReturnNextCursor_whenMoreModelsAreAfterPage() {
+    SearchFilter filter = new SearchFilter();
+    Pageable pageable = PageRequest.of(0, 1, Sort.Direction.ASC, SORT_BY_NAME);
+    ModelDto model = TestDataGenerator.generateModelDtoWithId();
+    ModelDto nextModel = TestDataGenerator.generateModelDto();
+    nextModel.setId(UUID.randomUUID());
+
+    when(modelProjectionRepository.findAfter(filter, null, Sort.Direction.ASC, 2))
+        .thenReturn(List.of(model, nextModel));
+
+    ModelCursorPageDto actualPage = modelService.searchModelAfter(filter, "", pageable);
+
+    assertEquals(1, actualPage.getContent().size());
+    verifyModelDto(actualPage.getContent().get(0));
+    ModelCursor nextCursor = ModelCursor.fromToken(actualPage.getNext());
+    assertEquals(MODEL_ID, nextCursor.getId());
+    assertEquals(MODEL_NAME, nextCursor.getName());
+  }
+
+  @Test
+  void searchModelAfter_shouldReturnNoNextCursor_whenPageIsLast() {
+    Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.Direction.DESC, SORT_BY_NAME);
+    ModelCursor cursor = ModelCursor.builder().name(MODEL_NAME).id(MODEL_ID).build();
+
+    when(modelProjectionRepository.findAfter(
+            any(SearchFilter.class), eq(cursor), eq(Sort.Direction.DESC), eq(PAGE_SIZE + 1)))
+        .thenReturn(List.of(TestDataGenerator.generateModelDtoWithId()));
+
+    ModelCursorPageDto actualPage =
+        modelService.searchModelAfter(new SearchFilter(), cursor.toToken(), pageable);
+
+    assertEquals(1, actualPage.getContent().size());
+    assertNull(actualPage.getNext());
+  }
+
+  @Test
+  void searchModelAfter_shouldThrowCursorSortNotSupportedException_whenSortIsNotByName() {
+    Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("year"));
+    SearchFilter filter = new SearchFilter();
+
+    assertThrows(
+        CursorSortNotSupportedException.class,
+        () -> modelService.searchModelAfter(filter, "", pageable));
+    verifyNoInteractions(modelProjectionRepository);
+  }
+
+  @Test
+  void searchModelAfter_shouldThrowCursorNotValidException_whenCursorIsMalformed() {
+    Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by(SORT_BY_NAME));
+    SearchFilter filter = new SearchFilter();
+
+    assertThrows(
+        CursorNotValidException.class,
+        () -> modelService.searchModelAfter(filter, "not-a-cursor", pageable));
+  }
+
+  @Test
+  void createModel_shouldInsertModelWithRelatedEntities_whenNoModelInDb() {
+    ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
+    modelDto.setId(null);
+    List<ModelDto> models = List.of(modelDto);
+
+    when(modelBatchRepository.findModelIds(models)).thenReturn(Arrays.asList((UUID) null));
+    doAnswer(
+            invocation -> {
+              modelDto.setId(MODEL_ID);
+              return null;
+            })
+        .when(modelBatchRepository)
+        .insertModels(models);
 
     ModelDto createdModel = modelService.createModel(modelDto);
 
-    verify(manufacturerService).createManufacturer(any(ManufacturerDto.class));
-    verify(modelYearService).createModelYear(any(ModelYearDto.class));
-    verify(categoryService).createCategories(ArgumentMatchers.<List<CategoryDto>>any());
-    verify(modelRepository).putModelToCategory(any(UUID.class), anyString());
+    verify(modelBatchRepository).insertModels(models);
+    verify(modelSearchEngine).index(createdModel);
+    verify(referenceDataRegistry).addManufacturer(MANUFACTURER_NAME);
+    verify(referenceDataRegistry).addYear(YEAR);
+    verify(modelCacheInvalidator).evictSearchPages(any(ModelInvalidation.class));
+    verifyNoInteractions(manufacturerService, modelYearService, categoryService, modelRepository);
+    assertEquals(0L, createdModel.getVersion());
     verifyModelDto(createdModel);
   }
 
@@ -306,10 +561,60 @@ class ModelServiceImplTest {
   @Test
   void createModel_shouldThrowModelAlreadyExistsException_whenModelIsInDb() {
     ModelDto modelDto = TestDataGenerator.generateModelDtoWithId();
+    List<ModelDto> models = List.of(modelDto);
 
-    when(modelRepository.findOne(ArgumentMatchers.<Specification<Model>>any()))
-        .thenReturn(Optional.of(new Model()));
+    when(modelBatchRepository.findModelIds(models)).thenReturn(List.of(MODEL_ID));
 
     assertThrows(ModelAlreadyExistsException.class, () -> modelService.createModel(modelDto));
+    verify(modelBatchRepository, never()).insertModels(any());
+  }
+
+  @Test
+  void createModels_shouldCreateOnlyNewModels_whenBatchHasExistingAndRepeatedModels() {
+    UUID existingModelId = UUID.randomUUID();
+    ModelDto existingModel = buildBatchModel("A7");
+    ModelDto newModel = buildBatchModel(MODEL_NAME);
+    ModelDto repeatedModel = buildBatchModel(MODEL_NAME);
+    List<ModelDto> models = List.of(existingModel, newModel, repeatedModel);
+    when(modelBatchRepository.findModelIds(models))
+        .thenReturn(Arrays.asList(existingModelId, null, null));
+    doAnswer(
+            invocation -> {
+              newModel.setId(MODEL_ID);
+              return null;
+            })
+        .when(modelBatchRepository)
+        .insertModels(List.of(newModel));
+
+    List<ModelBatchResultDto> results = modelService.createModels(models);
+
+    assertEquals(
+        List.of(Status.CONFLICT, Status.CREATED, Status.CONFLICT),
+        results.stream().map(ModelBatchResultDto::getStatus).toList());
+    assertEquals(
+        List.of(existingModelId, MODEL_ID, MODEL_ID),
+        results.stream().map(ModelBatchResultDto::getId).toList());
+    verify(modelSearchEngine).index(newModel);
+    verify(modelCacheInvalidator)
+        .evictSearchPages(List.of(ModelInvalidation.of(newModel, newModel.getCategories())));
+  }
+
+  @Test
+  void createModels_shouldThrowModelNotValidException_whenModelHasNoManufacturer() {
+    ModelDto model = buildBatchModel(MODEL_NAME);
+    model.setManufacturer(null);
+    List<ModelDto> models = List.of(model);
+
+    assertThrows(ModelNotValidException.class, () -> modelService.createModels(models));
+    verifyNoInteractions(modelBatchRepository);
+  }
+
+  private ModelDto buildBatchModel(String name) {
+    return ModelDto.builder()
+        .manufacturer(MANUFACTURER_NAME)
+        .name(name)
+        .year(YEAR)
+        .categories(List.of(CATEGORY_NAME))
+        .build();
   }
 }
@@ -0,0 +1,85 @@
+package ua.foxminded.cars.service.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import ua.foxminded.cars.service.dto.ModelDto;
+import ua.foxminded.cars.service.imports.CsvModelReader.Batch;
+
+class CsvModelReaderTest {
+
+  private static final String HEADER = "objectId,Make,Year,Model,Category\n";
+
+  @Test
+  void readBatch_shouldSplitQuotedCategories_whenCategoryHasSeveralValues() {
+    CsvModelReader reader =
+        new CsvModelReader(
+            new StringReader(
+                HEADER + "LUzyWMYJpW,Chevrolet,2020,Corvette,\"Coupe, Convertible\"\n"));
+
+    Batch batch = reader.readBatch(10);
+
+    ModelDto expectedModel =
+        ModelDto.builder()
+            .manufacturer("Chevrolet")
+            .name("Corvette")
+            .year(2020)
+            .categories(List.of("Coupe", "Convertible"))
+            .build();
+    assertEquals(List.of(expectedModel), batch.getModels());
+  }
+
+  @Test
+  void readBatch_shouldReadQuotedField_whenFieldHasQuotesAndLineBreaks() {
+    CsvModelReader reader =
+        new CsvModelReader(
+            new StringReader(HEADER + "1,Audi,2020,\"A4 \"\"Avant\"\"\r\nquattro\",Wagon\r\n"));
+
+    Batch batch = reader.readBatch(10);
+
+    assertEquals("A4 \"Avant\"\r\nquattro", batch.getModels().get(0).getName());
+    assertEquals(List.of("Wagon"), batch.getModels().get(0).getCategories());
+  }
+
+  @Test
+  void readBatch_shouldRejectRows_whenRowsAreNotValid() {
+    CsvModelReader reader =
+        new CsvModelReader(
+            new StringReader(HEADER + "1,Audi,year,A4,Sedan\n2,,2020,A4,Sedan\n3,Audi,2020,A6,\n"));
+
+    Batch batch = reader.readBatch(10);
+
+    assertEquals(2, batch.getRejectedRows());
+    assertEquals(1, batch.getModels().size());
+    assertTrue(batch.getModels().get(0).getCategories().isEmpty());
+  }
+
+  @Test
+  void readBatch_shouldReadRowsAfterSkippedRows_whenRowsAreSkipped() {
+    CsvModelReader reader =
+        new CsvModelReader(
+            new StringReader(
+                HEADER + "1,Audi,2020,A4,Sedan\n2,Audi,2020,A6,Sedan\n3,Audi,2020,A7,Sedan\n"));
+
+    reader.skip(1);
+    Batch firstBatch = reader.readBatch(1);
+    Batch secondBatch = reader.readBatch(1);
+    Batch lastBatch = reader.readBatch(1);
+
+    assertEquals("A6", firstBatch.getModels().get(0).getName());
+    assertEquals("A7", secondBatch.getModels().get(0).getName());
+    assertTrue(lastBatch.isEmpty());
+    assertEquals(3, reader.getRowNumber());
+  }
+
+  @Test
+  void constructor_shouldThrowException_whenHeaderHasNoRequiredColumn() {
+    StringReader csv = new StringReader("objectId,Year,Model,Category\n");
+
+    assertThrows(IllegalArgumentException.class, () -> new CsvModelReader(csv));
+  }
+}
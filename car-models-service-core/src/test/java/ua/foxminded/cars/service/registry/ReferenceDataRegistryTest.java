@@ -0,0 +1,135 @@
+package ua.foxminded.cars.service.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Year;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ua.foxminded.cars.repository.CategoryRepository;
+import ua.foxminded.cars.repository.ManufacturerRepository;
+import ua.foxminded.cars.repository.ModelYearRepository;
+import ua.foxminded.cars.repository.entity.Category;
+import ua.foxminded.cars.repository.entity.Manufacturer;
+import ua.foxminded.cars.repository.entity.ModelYear;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataRegistryTest {
+
+  private static final String AUDI = "Audi";
+  private static final String BMW = "BMW";
+  private static final String FORD = "Ford";
+  private static final String SEDAN = "Sedan";
+  private static final String COUPE = "Coupe";
+  private static final int YEAR = 2020;
+
+  @InjectMocks private ReferenceDataRegistry referenceDataRegistry;
+
+  @Mock private ManufacturerRepository manufacturerRepository;
+
+  @Mock private ModelYearRepository modelYearRepository;
+
+  @Mock private CategoryRepository categoryRepository;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @BeforeEach
+  void setUp() {
+    when(manufacturerRepository.findAll())
+        .thenReturn(
+            List.of(
+                Manufacturer.builder().name(FORD).build(),
+                Manufacturer.builder().name(AUDI).build(),
+                Manufacturer.builder().name(BMW).build()));
+    when(modelYearRepository.findAll())
+        .thenReturn(List.of(ModelYear.builder().value(Year.of(YEAR)).build()));
+    when(categoryRepository.findAll()).thenReturn(List.of(Category.builder().name(SEDAN).build()));
+    referenceDataRegistry.reload();
+  }
+
+  @Test
+  void reload_shouldLoadReferenceData_whenDataIsInDb() {
+    assertTrue(referenceDataRegistry.containsManufacturer(AUDI));
+    assertTrue(referenceDataRegistry.containsYear(YEAR));
+    assertTrue(referenceDataRegistry.containsCategories(List.of(SEDAN)));
+    assertFalse(referenceDataRegistry.containsCategory(COUPE));
+  }
+
+  @Test
+  void getManufacturers_shouldReturnSortedPage_whenPageIsSortedByNameDescending() {
+    PageRequest pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name"));
+
+    Page<String> page = referenceDataRegistry.getManufacturers(pageable);
+
+    assertEquals(List.of(FORD, BMW), page.getContent());
+    assertEquals(3, page.getTotalElements());
+  }
+
+  @Test
+  void removeManufacturer_shouldRemoveManufacturer_whenNoTransaction() {
+    referenceDataRegistry.removeManufacturer(AUDI);
+    referenceDataRegistry.addManufacturer("Lexus");
+
+    assertFalse(referenceDataRegistry.containsManufacturer(AUDI));
+    assertTrue(referenceDataRegistry.containsManufacturer("Lexus"));
+  }
+
+  @Test
+  void addCategories_shouldPublishOnlyNewCategories_whenSomeCategoriesAreKnown() {
+    referenceDataRegistry.addCategories(List.of(SEDAN, COUPE));
+
+    verify(eventPublisher)
+        .publishEvent(ReferenceDataChange.builder().addedCategories(List.of(COUPE)).build());
+    assertTrue(referenceDataRegistry.containsCategories(List.of(SEDAN, COUPE)));
+  }
+
+  @Test
+  void addManufacturer_shouldNotPublishChange_whenManufacturerIsKnown() {
+    referenceDataRegistry.addManufacturer(AUDI);
+
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void addManufacturerLocally_shouldNotPublishChange_whenManufacturerIsFoundInDb() {
+    referenceDataRegistry.addManufacturerLocally("Lexus");
+
+    assertTrue(referenceDataRegistry.containsManufacturer("Lexus"));
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void applyLocally_shouldApplyChangeWithoutReload_whenChangeIsReceived() {
+    referenceDataRegistry.applyLocally(
+        ReferenceDataChange.builder()
+            .addedCategories(List.of(COUPE))
+            .removedManufacturers(List.of(AUDI))
+            .addedYears(List.of(2021))
+            .build());
+
+    assertTrue(referenceDataRegistry.containsCategory(COUPE));
+    assertFalse(referenceDataRegistry.containsManufacturer(AUDI));
+    assertTrue(referenceDataRegistry.containsYear(2021));
+    verify(manufacturerRepository).findAll();
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void isSortedByName_shouldReturnFalse_whenPageIsSortedByOtherProperty() {
+    assertTrue(referenceDataRegistry.isSortedByName(PageRequest.of(0, 5)));
+    assertFalse(referenceDataRegistry.isSortedByName(PageRequest.of(0, 5, Sort.by("id"))));
+  }
+}
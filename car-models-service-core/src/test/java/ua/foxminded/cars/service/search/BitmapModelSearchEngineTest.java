@@ -0,0 +1,199 @@
+package ua.foxminded.cars.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import ua.foxminded.cars.mapper.ModelMapper;
+import ua.foxminded.cars.repository.ModelProjectionRepository;
+import ua.foxminded.cars.repository.ModelRepository;
+import ua.foxminded.cars.repository.entity.Model;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+@ExtendWith(MockitoExtension.class)
+class BitmapModelSearchEngineTest {
+
+  private static final String AUDI = "Audi";
+  private static final String BMW = "BMW";
+  private static final String SEDAN = "Sedan";
+  private static final String SUV = "SUV";
+  private static final String NAME = "name";
+  private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by(NAME));
+
+  private static final ModelDto A4 = buildModel(AUDI, "A4", 2018, SEDAN);
+  private static final ModelDto A6 = buildModel(AUDI, "A6", 2020, SEDAN);
+  private static final ModelDto Q7 = buildModel(AUDI, "Q7", 2022, SUV);
+  private static final ModelDto X5 = buildModel(BMW, "X5", 2020, SUV, SEDAN);
+
+  @Mock private ModelRepository modelRepository;
+
+  @Mock private ModelProjectionRepository modelProjectionRepository;
+
+  @Mock private ModelMapper modelMapper;
+
+  private BitmapModelSearchEngine searchEngine;
+
+  @BeforeEach
+  void setUp() {
+    Model a4 = Model.builder().id(A4.getId()).build();
+    Model a6 = Model.builder().id(A6.getId()).build();
+    when(modelRepository.findAllWithCategories()).thenReturn(List.of(a4, a6));
+    when(modelMapper.toDto(a4)).thenReturn(A4);
+    when(modelMapper.toDto(a6)).thenReturn(A6);
+    searchEngine =
+        new BitmapModelSearchEngine(modelRepository, modelProjectionRepository, modelMapper);
+    searchEngine.rebuild();
+    searchEngine.index(X5);
+    searchEngine.index(Q7);
+  }
+
+  @Test
+  void search_shouldReturnAllModelsSortedByName_whenFilterIsEmpty() {
+    Slice<ModelDto> actualPage = searchEngine.search(new SearchFilter(), FIRST_PAGE);
+
+    assertEquals(List.of(A4, A6, Q7, X5), actualPage.getContent());
+    assertFalse(actualPage.hasNext());
+  }
+
+  @Test
+  void search_shouldIntersectIndexes_whenFilterHasSeveralParameters() {
+    SearchFilter filter = SearchFilter.builder().manufacturer(AUDI).category(SEDAN).build();
+
+    Slice<ModelDto> actualPage = searchEngine.search(filter, FIRST_PAGE);
+
+    assertEquals(List.of(A4, A6), actualPage.getContent());
+  }
+
+  @Test
+  void search_shouldScanYearRange_whenFilterHasPeriod() {
+    SearchFilter filter = SearchFilter.builder().minYear(2019).maxYear(2021).build();
+
+    Slice<ModelDto> actualPage = searchEngine.search(filter, FIRST_PAGE);
+
+    assertEquals(List.of(A6, X5), actualPage.getContent());
+  }
+
+  @Test
+  void search_shouldReturnRequestedPageInDescendingOrder_whenSortIsDescending() {
+    Pageable pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, NAME));
+
+    Slice<ModelDto> actualPage = searchEngine.search(new SearchFilter(), pageable);
+
+    assertEquals(List.of(A6, A4), actualPage.getContent());
+    assertFalse(actualPage.hasNext());
+  }
+
+  @Test
+  void search_shouldReturnEmptyPage_whenNoModelMatchesFilter() {
+    SearchFilter filter = SearchFilter.builder().manufacturer(BMW).year(2018).build();
+
+    Slice<ModelDto> actualPage = searchEngine.search(filter, FIRST_PAGE);
+
+    assertTrue(actualPage.isEmpty());
+    assertEquals(0, searchEngine.count(filter));
+  }
+
+  @Test
+  void search_shouldReturnSliceWithNextPage_whenMoreModelsMatchFilter() {
+    SearchFilter filter = SearchFilter.builder().manufacturer(AUDI).build();
+    Pageable pageable = PageRequest.of(0, 2, Sort.by(NAME));
+
+    Slice<ModelDto> actualPage = searchEngine.search(filter, pageable);
+
+    assertEquals(List.of(A4, A6), actualPage.getContent());
+    assertTrue(actualPage.hasNext());
+    assertEquals(3, searchEngine.count(filter));
+  }
+
+  @Test
+  void index_shouldReplacePreviousState_whenModelIsUpdated() {
+    ModelDto updatedModel = buildModel(AUDI, "A4", 2018, SUV);
+    updatedModel.setId(A4.getId());
+
+    searchEngine.index(updatedModel);
+
+    SearchFilter sedans = SearchFilter.builder().category(SEDAN).build();
+    SearchFilter suvs = SearchFilter.builder().category(SUV).build();
+    assertEquals(List.of(A6, X5), searchEngine.search(sedans, FIRST_PAGE).getContent());
+    assertEquals(List.of(updatedModel, Q7, X5), searchEngine.search(suvs, FIRST_PAGE).getContent());
+  }
+
+  @Test
+  void remove_shouldExcludeModelFromSearch_whenModelIsDeleted() {
+    searchEngine.remove(A6.getId());
+
+    SearchFilter filter = SearchFilter.builder().year(2020).build();
+    assertEquals(List.of(X5), searchEngine.search(filter, FIRST_PAGE).getContent());
+  }
+
+  @Test
+  void refresh_shouldRemoveModel_whenModelIsNotInDb() {
+    when(modelRepository.findById(Q7.getId())).thenReturn(Optional.empty());
+
+    searchEngine.refresh(Q7.getId());
+
+    SearchFilter filter = SearchFilter.builder().category(SUV).build();
+    assertEquals(List.of(X5), searchEngine.search(filter, FIRST_PAGE).getContent());
+  }
+
+  @Test
+  void search_shouldSortByCodePointsAndUnsignedIds_whenNamesAreMixed() {
+    ModelDto lowerCase = buildModel(BMW, "a8", 2020);
+    ModelDto nonAscii = buildModel(BMW, "\u00c9-tron", 2020);
+    ModelDto ligature = buildModel(BMW, "\ufb01at", 2020);
+    ModelDto supplementary = buildModel(BMW, "\ud835\udc9c", 2020);
+    ModelDto lowId = buildModel(BMW, "M3", 2020);
+    lowId.setId(UUID.fromString("00000000-0000-7000-8000-000000000000"));
+    ModelDto highId = buildModel(BMW, "M3", 2020);
+    highId.setId(UUID.fromString("80000000-0000-7000-8000-000000000000"));
+    List.of(supplementary, ligature, nonAscii, lowerCase, highId, lowId)
+        .forEach(searchEngine::index);
+    SearchFilter filter = SearchFilter.builder().manufacturer(BMW).build();
+
+    Slice<ModelDto> actualPage = searchEngine.search(filter, FIRST_PAGE);
+
+    assertEquals(
+        List.of(lowId, highId, X5, lowerCase, nonAscii, ligature, supplementary),
+        actualPage.getContent());
+  }
+
+  @Test
+  void search_shouldQueryDatabase_whenPageIsNotSortedByName() {
+    Pageable pageable = PageRequest.of(0, 10, Sort.by("year"));
+    SearchFilter searchFilter = new SearchFilter();
+    when(modelProjectionRepository.findSlice(searchFilter, pageable))
+        .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+    searchEngine.search(searchFilter, pageable);
+
+    verify(modelProjectionRepository).findSlice(searchFilter, pageable);
+  }
+
+  private static ModelDto buildModel(
+      String manufacturer, String name, int year, String... categories) {
+    return ModelDto.builder()
+        .id(UUID.randomUUID())
+        .manufacturer(manufacturer)
+        .name(name)
+        .year(year)
+        .categories(List.of(categories))
+        .version(0L)
+        .build();
+  }
+}
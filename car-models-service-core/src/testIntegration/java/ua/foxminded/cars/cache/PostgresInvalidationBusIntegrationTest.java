@@ -0,0 +1,130 @@
+package ua.foxminded.cars.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ua.foxminded.cars.CarModelsApplication;
+import ua.foxminded.cars.repository.specification.SearchFilter;
+import ua.foxminded.cars.service.ModelService;
+import ua.foxminded.cars.service.dto.ModelDto;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresInvalidationBusIntegrationTest {
+
+  private static final String MANUFACTURER_NAME = "Audi";
+  private static final String MODEL_NAME = "A7";
+  private static final int YEAR = 2020;
+  private static final String SOURCE_CATEGORY = "Sedan";
+  private static final String TARGET_CATEGORY = "Coupe";
+  private static final Duration DELIVERY_TIMEOUT = Duration.ofSeconds(10);
+
+  @Container
+  private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+  private ConfigurableApplicationContext firstNode;
+  private ConfigurableApplicationContext secondNode;
+
+  @BeforeEach
+  void setUp() {
+    firstNode = startNode();
+    secondNode = startNode();
+    ResourceDatabasePopulator populator =
+        new ResourceDatabasePopulator(new ClassPathResource("db/model-test-data.sql"));
+    populator.execute(firstNode.getBean(DataSource.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    secondNode.close();
+    firstNode.close();
+  }
+
+  @Test
+  void updateModel_shouldEvictModelCachedByOtherNode_whenModelIsUpdated() throws Exception {
+    ModelService firstNodeService = firstNode.getBean(ModelService.class);
+    ModelService secondNodeService = secondNode.getBean(ModelService.class);
+    ModelDto cachedModel = secondNodeService.getModel(MANUFACTURER_NAME, MODEL_NAME, YEAR);
+    assertEquals(List.of(SOURCE_CATEGORY), cachedModel.getCategories());
+
+    ModelDto targetModel =
+        ModelDto.builder()
+            .manufacturer(MANUFACTURER_NAME)
+            .name(MODEL_NAME)
+            .year(YEAR)
+            .categories(List.of(TARGET_CATEGORY))
+            .build();
+    firstNodeService.updateModel(targetModel);
+
+    assertEquals(List.of(TARGET_CATEGORY), awaitCategories(secondNodeService));
+  }
+
+  @Test
+  void deleteModelById_shouldEvictSearchPageCachedByOtherNode_whenModelIsDeleted()
+      throws Exception {
+    ModelService firstNodeService = firstNode.getBean(ModelService.class);
+    ModelService secondNodeService = secondNode.getBean(ModelService.class);
+    SearchFilter searchFilter = SearchFilter.builder().manufacturer(MANUFACTURER_NAME).build();
+    PageRequest pageRequest = PageRequest.of(0, 10);
+    Page<ModelDto> cachedPage = secondNodeService.searchModel(searchFilter, pageRequest);
+    assertEquals(1, cachedPage.getTotalElements());
+
+    firstNodeService.deleteModelById(cachedPage.getContent().get(0).getId());
+
+    long deadline = System.nanoTime() + DELIVERY_TIMEOUT.toNanos();
+    long totalElements = cachedPage.getTotalElements();
+
+    while (totalElements != 0 && System.nanoTime() < deadline) {
+      Thread.sleep(100);
+      totalElements = secondNodeService.searchModel(searchFilter, pageRequest).getTotalElements();
+    }
+    assertEquals(0, totalElements);
+  }
+
+  private List<String> awaitCategories(ModelService modelService) throws InterruptedException {
+    long deadline = System.nanoTime() + DELIVERY_TIMEOUT.toNanos();
+    List<String> categories = List.of(SOURCE_CATEGORY);
+
+    while (!categories.contains(TARGET_CATEGORY) && System.nanoTime() < deadline) {
+      Thread.sleep(100);
+      categories = modelService.getModel(MANUFACTURER_NAME, MODEL_NAME, YEAR).getCategories();
+    }
+    return categories;
+  }
+
+  private ConfigurableApplicationContext startNode() {
+    return new SpringApplicationBuilder(CarModelsApplication.class)
+        .initializers(
+            context ->
+                context
+                    .getBeanFactory()
+                    .registerSingleton(
+                        "clientRegistrationRepository", mock(ClientRegistrationRepository.class)))
+        .properties(
+            "server.port=0",
+            "spring.datasource.driver-class-name=org.postgresql.Driver",
+            "spring.datasource.url=" + postgres.getJdbcUrl(),
+            "spring.datasource.username=" + postgres.getUsername(),
+            "spring.datasource.password=" + postgres.getPassword(),
+            "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+            "spring.sql.init.mode=never",
+            "application.cache.invalidation-bus.enabled=true",
+            "application.cache.invalidation-bus.poll-timeout=100ms")
+        .run();
+  }
+}
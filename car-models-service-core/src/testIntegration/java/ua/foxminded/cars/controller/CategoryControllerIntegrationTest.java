@@ -5,6 +5,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -15,6 +16,7 @@ import org.springframework.security.oauth2.client.registration.ClientRegistratio
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
 
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters = false)
@@ -30,6 +32,13 @@ class CategoryControllerIntegrationTest {
 
   @Autowired private MockMvc mockMvc;
 
+  @Autowired private ReferenceDataRegistry referenceDataRegistry;
+
+  @BeforeEach
+  void setUp() {
+    referenceDataRegistry.reload();
+  }
+
   @Test
   void getAllCategories_shouldReturnStatus200AndBody_whenCategoriesAreInDb() throws Exception {
     mockMvc
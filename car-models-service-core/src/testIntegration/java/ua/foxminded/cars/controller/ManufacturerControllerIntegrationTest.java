@@ -5,6 +5,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -14,6 +15,7 @@ import org.springframework.security.oauth2.client.registration.ClientRegistratio
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
 
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters = false)
@@ -30,6 +32,13 @@ class ManufacturerControllerIntegrationTest {
 
   @Autowired private MockMvc mockMvc;
 
+  @Autowired private ReferenceDataRegistry referenceDataRegistry;
+
+  @BeforeEach
+  void setUp() {
+    referenceDataRegistry.reload();
+  }
+
   @Test
   void getAllManufacturers_shouldReturnStatus200AndPage_whenManufacturersAreInDb()
       throws Exception {
@@ -11,11 +11,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.test.context.TestPropertySource;
@@ -23,6 +25,7 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import ua.foxminded.cars.TestDataGenerator;
 import ua.foxminded.cars.service.dto.ModelDto;
+import ua.foxminded.cars.service.registry.ReferenceDataRegistry;
 
 @SpringBootTest
 @AutoConfigureMockMvc(addFilters = false)
@@ -38,6 +41,7 @@ class ModelControllerIntegrationTest {
   private static final int NEW_YEAR = 2024;
   private static final String MODEL_NAME = "A7";
   private static final String NEW_MODEL_NAME = "Q8";
+  private static final String MISSING_MODEL_NAME = "Q5";
   private static final String MANUFACTURER_NAME = "Audi";
   private static final String NEW_MANUFACTURER_NAME = "Audi";
   private static final String MODEL_ID = "52096834-48af-41d1-b422-93600eff629a";
@@ -47,8 +51,15 @@ class ModelControllerIntegrationTest {
 
   @Autowired private MockMvc mockMvc;
 
+  @Autowired private ReferenceDataRegistry referenceDataRegistry;
+
   @Autowired private ObjectMapper objectMapper;
 
+  @BeforeEach
+  void setUp() {
+    referenceDataRegistry.reload();
+  }
+
   @Test
   void getModel_shouldReturnStatus200AndBody_whenModelIsInDb() throws Exception {
     mockMvc
@@ -70,7 +81,47 @@ class ModelControllerIntegrationTest {
         .andExpect(jsonPath("$.content[0].name", is(MODEL_NAME)))
         .andExpect(jsonPath("$.content[0].manufacturer", is(MANUFACTURER_NAME)))
         .andExpect(jsonPath("$.content[0].year", is(YEAR)))
-        .andExpect(jsonPath("$.content[0].categories[0]", is(CATEGORY_NAME)));
+        .andExpect(jsonPath("$.content[0].categories[0]", is(CATEGORY_NAME)))
+        .andExpect(
+            header()
+                .string(
+                    HttpHeaders.CACHE_CONTROL,
+                    "max-age=30, private, stale-if-error=600, stale-while-revalidate=30"));
+  }
+
+  @Test
+  @Sql(scripts = {"/db/model-test-data.sql", "/db/model-keyset-test-data.sql"})
+  void searchModelsAfter_shouldReturnPagesInNameOrder_whenCursorsAreFollowed() throws Exception {
+    String firstPage =
+        mockMvc
+            .perform(get(V1 + MODELS_PATH).param("after", "").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].name", is("A4")))
+            .andExpect(jsonPath("$.content[1].name", is(MODEL_NAME)))
+            .andExpect(jsonPath("$.content[1].year", is(2021)))
+            .andExpect(jsonPath("$.next").exists())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    String next = objectMapper.readTree(firstPage).get("next").asText();
+
+    mockMvc
+        .perform(get(V1 + MODELS_PATH).param("after", next).param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].name", is(MODEL_NAME)))
+        .andExpect(jsonPath("$.content[0].year", is(YEAR)))
+        .andExpect(jsonPath("$.content[1].name", is("Focus")))
+        .andExpect(jsonPath("$.next").doesNotExist());
+  }
+
+  @Test
+  @Sql(scripts = {"/db/model-test-data.sql", "/db/model-keyset-test-data.sql"})
+  void searchModels_shouldReturnTotalOfAllPages_whenTotalIsEstimated() throws Exception {
+    mockMvc
+        .perform(get(V1 + MODELS_PATH).param("total", "estimate").param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].name", is("A4")))
+        .andExpect(jsonPath("$.totalElements", is(4)));
   }
 
   @Test
@@ -99,6 +150,33 @@ class ModelControllerIntegrationTest {
         .andExpect(header().string("Location", containsString(V1 + "/models/")));
   }
 
+  @Test
+  void getModel_shouldReturnStatus200_whenMissingModelIsCreated() throws Exception {
+    ModelDto modelDto = TestDataGenerator.generateModelDto();
+    String requestBody = objectMapper.writeValueAsString(modelDto);
+
+    mockMvc
+        .perform(get(V1 + MODEL_PATH, MANUFACTURER_NAME, MISSING_MODEL_NAME, NEW_YEAR))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.errorCode", is(404)));
+    mockMvc
+        .perform(get(V1 + MODEL_PATH, MANUFACTURER_NAME, MISSING_MODEL_NAME, NEW_YEAR))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.errorCode", is(404)));
+
+    mockMvc
+        .perform(
+            post(V1 + MODEL_PATH, MANUFACTURER_NAME, MISSING_MODEL_NAME, NEW_YEAR)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+        .andExpect(status().isCreated());
+
+    mockMvc
+        .perform(get(V1 + MODEL_PATH, MANUFACTURER_NAME, MISSING_MODEL_NAME, NEW_YEAR))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name", is(MISSING_MODEL_NAME)));
+  }
+
   @Test
   void updateModel_shouldReturnStatus200_whenModelIsInDb() throws Exception {
     ModelDto modelDto = TestDataGenerator.generateModelDto();
@@ -112,6 +190,51 @@ class ModelControllerIntegrationTest {
         .andExpect(status().isOk());
   }
 
+  @Test
+  void getModelById_shouldReturnStatus304_whenIfNoneMatchIsCurrentETag() throws Exception {
+    String eTag =
+        mockMvc
+            .perform(get(V1 + MODEL_ID_PATH, MODEL_ID))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    mockMvc
+        .perform(get(V1 + MODEL_ID_PATH, MODEL_ID).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  void updateModel_shouldReturnStatus412_whenIfMatchIsOutdated() throws Exception {
+    ModelDto modelDto = TestDataGenerator.generateModelDto();
+    String requestBody = objectMapper.writeValueAsString(modelDto);
+    String eTag =
+        mockMvc
+            .perform(get(V1 + MODEL_PATH, MANUFACTURER_NAME, MODEL_NAME, YEAR))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    mockMvc
+        .perform(
+            put(V1 + MODEL_PATH, MANUFACTURER_NAME, MODEL_NAME, YEAR)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG));
+
+    mockMvc
+        .perform(
+            put(V1 + MODEL_PATH, MANUFACTURER_NAME, MODEL_NAME, YEAR)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+        .andExpect(status().isPreconditionFailed())
+        .andExpect(jsonPath("$.errorCode", is(412)));
+  }
+
   @Test
   void deleteModelById_shouldReturn204_whenModelIsInDb() throws Exception {
     mockMvc.perform(delete(V1 + MODEL_ID_PATH, MODEL_ID)).andExpect(status().isNoContent());
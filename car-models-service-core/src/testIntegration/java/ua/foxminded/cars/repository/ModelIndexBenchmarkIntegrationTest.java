@@ -0,0 +1,112 @@
+package ua.foxminded.cars.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Compares the query plans of the model catalog hot paths at 1M models before and after the index
+ * migration. The queries address the models by the manufacturer and category names, so the schema
+ * is migrated up to the surrogate keys only. It takes a few minutes, so it runs only with {@code
+ * -Dbenchmark=true}, the plans are written to the log.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class ModelIndexBenchmarkIntegrationTest {
+
+  private static final MigrationVersion VERSION_WITHOUT_INDEXES = MigrationVersion.fromVersion("2");
+  private static final MigrationVersion VERSION_WITH_INDEXES = MigrationVersion.fromVersion("4");
+  private static final String SEQUENTIAL_SCAN = "Seq Scan";
+  private static final String EXPLAIN = "explain (analyze, buffers) ";
+  private static final Map<String, String> HOT_QUERIES = new LinkedHashMap<>();
+
+  static {
+    HOT_QUERIES.put(
+        "default page sorted by name", "select id from models order by name, id limit 21");
+    HOT_QUERIES.put(
+        "manufacturer filter sorted by name",
+        "select id from models where manufacturer_name = 'Manufacturer 43'"
+            + " order by name, id limit 21");
+    HOT_QUERIES.put(
+        "year filter sorted by name",
+        "select id from models where model_year = 1956 order by name, id limit 21");
+    HOT_QUERIES.put(
+        "model lookup by manufacturer, name and year",
+        "select id from models where manufacturer_name = 'Manufacturer 43'"
+            + " and name = 'Model 4242' and model_year = 1956");
+    HOT_QUERIES.put(
+        "manufacturer relation check",
+        "select 1 from models where manufacturer_name = 'Manufacturer 43' limit 1");
+    HOT_QUERIES.put("year relation check", "select 1 from models where model_year = 1956 limit 1");
+    HOT_QUERIES.put(
+        "category relation check",
+        "select 1 from model_category where category_name = 'Category 7' limit 1");
+    HOT_QUERIES.put(
+        "category filter",
+        "select m.id from models m where exists (select 1 from model_category c"
+            + " where c.model_id = m.id and c.category_name = 'Category 7')"
+            + " order by m.name, m.id limit 21");
+    HOT_QUERIES.put(
+        "categories of a page",
+        "select category_name from model_category where model_id in"
+            + " (select id from models where manufacturer_name = 'Manufacturer 43'"
+            + " order by name, id limit 21)");
+  }
+
+  @Container
+  private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+  @Test
+  void migrate_shouldReplaceSequentialScansOfHotQueries_whenModelsAreIndexed() {
+    DataSource dataSource =
+        new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    migrate(dataSource, VERSION_WITHOUT_INDEXES);
+    new ResourceDatabasePopulator(new ClassPathResource("db/model-benchmark-data.sql"))
+        .execute(dataSource);
+    Map<String, String> plansWithoutIndexes = explain(jdbcTemplate);
+
+    migrate(dataSource, VERSION_WITH_INDEXES);
+    Map<String, String> plansWithIndexes = explain(jdbcTemplate);
+
+    HOT_QUERIES
+        .keySet()
+        .forEach(
+            query -> {
+              log.info(
+                  "The plan of the {} without indexes:\n{}", query, plansWithoutIndexes.get(query));
+              log.info("The plan of the {} with indexes:\n{}", query, plansWithIndexes.get(query));
+              assertFalse(plansWithIndexes.get(query).contains(SEQUENTIAL_SCAN), query);
+            });
+  }
+
+  private void migrate(DataSource dataSource, MigrationVersion target) {
+    Flyway.configure().dataSource(dataSource).target(target).load().migrate();
+  }
+
+  private Map<String, String> explain(JdbcTemplate jdbcTemplate) {
+    jdbcTemplate.execute("analyze");
+    Map<String, String> plans = new LinkedHashMap<>();
+    HOT_QUERIES.forEach(
+        (query, sql) ->
+            plans.put(
+                query, String.join("\n", jdbcTemplate.queryForList(EXPLAIN + sql, String.class))));
+    return plans;
+  }
+}
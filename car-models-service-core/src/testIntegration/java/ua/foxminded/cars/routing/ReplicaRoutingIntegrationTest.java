@@ -0,0 +1,73 @@
+package ua.foxminded.cars.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import ua.foxminded.cars.exceptionhandler.exceptions.ManufacturerNotFoundException;
+import ua.foxminded.cars.service.ManufacturerService;
+
+/**
+ * Uses a second embedded database as the read replica, it has a manufacturer that the primary does
+ * not have, so a read shows which database it came from.
+ */
+@SpringBootTest(
+    properties = {
+      "application.datasource-routing.enabled=true",
+      "application.datasource-routing.replicas[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+      "application.datasource-routing.replicas[0].username=sa",
+      "application.datasource-routing.replicas[0].password=",
+      "application.datasource-routing.lag-query=select 0"
+    })
+@Sql("/db/manufacturer-test-data.sql")
+@TestPropertySource("/application-it.properties")
+class ReplicaRoutingIntegrationTest {
+
+  static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+  private static final String REPLICA_MANUFACTURER = "Tesla";
+
+  @MockBean private ClientRegistrationRepository clientRegistrationRepository;
+
+  @Autowired private ManufacturerService manufacturerService;
+
+  @Autowired private ReplicaLagMonitor replicaLagMonitor;
+
+  @BeforeEach
+  void setUp() {
+    JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    replica.execute(
+        "create table if not exists manufacturers(id integer primary key, name varchar(255))");
+    replica.update("merge into manufacturers(id, name) key(id) values(1, ?)", REPLICA_MANUFACTURER);
+    replicaLagMonitor.checkReplicas();
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReadYourWritesContext.clear();
+  }
+
+  @Test
+  void getManufacturer_shouldReadReplica_whenTransactionIsReadOnly() {
+    assertEquals(
+        REPLICA_MANUFACTURER, manufacturerService.getManufacturer(REPLICA_MANUFACTURER).getName());
+  }
+
+  @Test
+  void getManufacturer_shouldReadPrimary_whenReadsArePinnedToPrimary() {
+    ReadYourWritesContext.pinToPrimary();
+
+    assertThrows(
+        ManufacturerNotFoundException.class,
+        () -> manufacturerService.getManufacturer(REPLICA_MANUFACTURER));
+  }
+}
@@ -0,0 +1,177 @@
+package ua.foxminded.cars.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.foxminded.cars.config.ModelImportConfig;
+import ua.foxminded.cars.exceptionhandler.exceptions.CsvNotValidException;
+import ua.foxminded.cars.exceptionhandler.exceptions.ModelImportNotResumableException;
+import ua.foxminded.cars.repository.ModelImportJobRepository;
+import ua.foxminded.cars.repository.entity.ModelImportJob;
+import ua.foxminded.cars.repository.entity.ModelImportJob.Status;
+import ua.foxminded.cars.service.dto.ModelImportJobDto;
+
+@SpringBootTest(properties = "application.model-import.batch-size=2")
+@Sql("/db/model-test-data.sql")
+@TestPropertySource("/application-it.properties")
+class ModelImportIntegrationTest {
+
+  private static final String CSV =
+      """
+      objectId,Make,Year,Model,Category
+      ZRgPP9dBMm,Audi,2020,Q3,SUV
+      cptB1C1NSL,Chevrolet,2020,Malibu,Sedan
+      LUzyWMYJpW,Chevrolet,2020,Corvette,"Coupe, Convertible"
+      Xk3dPq9ZaB,Audi,2020,A7,Coupe
+      badRow0001,Audi,year,A8,Sedan
+      """;
+  private static final long TIMEOUT_MILLIS = 10000;
+  private static final long POLL_MILLIS = 50;
+
+  @MockBean private ClientRegistrationRepository clientRegistrationRepository;
+
+  @Autowired private ModelImportService modelImportService;
+
+  @Autowired private ModelService modelService;
+
+  @Autowired private ModelImportJobRepository modelImportJobRepository;
+
+  @Autowired private ModelImportConfig modelImportConfig;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  void startImport_shouldImportModelsInBatches_whenCsvIsValid() throws InterruptedException {
+    ModelImportJobDto job = modelImportService.startImport(toStream(CSV));
+
+    ModelImportJobDto completedJob = awaitJob(job.getId());
+
+    assertEquals(Status.COMPLETED, completedJob.getStatus());
+    assertEquals(5, completedJob.getProcessedRows());
+    assertEquals(3, completedJob.getImportedModels());
+    assertEquals(1, completedJob.getRejectedRows());
+    assertEquals(
+        List.of("Convertible", "Coupe"),
+        modelService.getModel("Chevrolet", "Corvette", 2020).getCategories());
+    assertEquals(
+        List.of("Coupe", "Sedan"), modelService.getModel("Audi", "A7", 2020).getCategories());
+    assertTrue(Files.notExists(getFile(job.getId())));
+  }
+
+  @Test
+  void resumeImport_shouldSkipCommittedRows_whenJobFailed() throws Exception {
+    UUID jobId = saveFailedJob(3);
+    Files.createDirectories(modelImportConfig.getDirectory());
+    Files.writeString(getFile(jobId), CSV);
+
+    modelImportService.resumeImport(jobId);
+    ModelImportJobDto completedJob = awaitJob(jobId);
+
+    assertEquals(Status.COMPLETED, completedJob.getStatus());
+    assertEquals(5, completedJob.getProcessedRows());
+    assertEquals(0, completedJob.getImportedModels());
+    assertEquals(1, completedJob.getRejectedRows());
+    assertEquals(
+        List.of("Coupe", "Sedan"), modelService.getModel("Audi", "A7", 2020).getCategories());
+  }
+
+  @Test
+  void resumeImport_shouldIgnoreProgressOfPreviousRunner_whenStalledJobIsTakenOver()
+      throws Exception {
+    UUID jobId = saveJob(Status.RUNNING, 3, LocalDateTime.now().minusHours(1));
+    Files.createDirectories(modelImportConfig.getDirectory());
+    Files.writeString(getFile(jobId), CSV);
+
+    ModelImportJobDto resumedJob = modelImportService.resumeImport(jobId);
+    awaitJob(jobId);
+    Integer previousRunnerJobs =
+        transactionTemplate.execute(
+            status ->
+                modelImportJobRepository.addProgress(
+                    jobId, 0, Status.RUNNING, 2, 2, 0, LocalDateTime.now()));
+
+    assertEquals(Status.RUNNING, resumedJob.getStatus());
+    assertEquals(0, previousRunnerJobs);
+    ModelImportJob completedJob = modelImportJobRepository.findById(jobId).orElseThrow();
+    assertEquals(1, completedJob.getAttempt());
+    assertEquals(Status.COMPLETED, completedJob.getStatus());
+    assertEquals(5, completedJob.getProcessedRows());
+  }
+
+  @Test
+  void resumeImport_shouldThrowException_whenFileIsNotOnNode() {
+    UUID jobId = saveFailedJob(3);
+
+    assertThrows(
+        ModelImportNotResumableException.class, () -> modelImportService.resumeImport(jobId));
+    assertEquals(0, modelImportJobRepository.findById(jobId).orElseThrow().getAttempt());
+  }
+
+  @Test
+  void resumeImport_shouldThrowException_whenJobIsCompleted() throws InterruptedException {
+    ModelImportJobDto job = modelImportService.startImport(toStream(CSV));
+    awaitJob(job.getId());
+
+    assertThrows(
+        ModelImportNotResumableException.class, () -> modelImportService.resumeImport(job.getId()));
+  }
+
+  @Test
+  void startImport_shouldThrowException_whenCsvHasNoRequiredColumn() {
+    ByteArrayInputStream csv = toStream("objectId,Year,Model,Category\n");
+
+    assertThrows(CsvNotValidException.class, () -> modelImportService.startImport(csv));
+  }
+
+  private UUID saveFailedJob(long processedRows) {
+    return saveJob(Status.FAILED, processedRows, LocalDateTime.now());
+  }
+
+  private UUID saveJob(Status status, long processedRows, LocalDateTime updatedAt) {
+    return modelImportJobRepository
+        .save(
+            ModelImportJob.builder()
+                .status(status)
+                .processedRows(processedRows)
+                .error(status == Status.FAILED ? "The connection is lost" : null)
+                .createdAt(updatedAt)
+                .updatedAt(updatedAt)
+                .build())
+        .getId();
+  }
+
+  private ModelImportJobDto awaitJob(UUID jobId) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    ModelImportJobDto job = modelImportService.getImport(jobId);
+
+    while (job.getStatus() == Status.RUNNING && System.currentTimeMillis() < deadline) {
+      Thread.sleep(POLL_MILLIS);
+      job = modelImportService.getImport(jobId);
+    }
+    return job;
+  }
+
+  private ByteArrayInputStream toStream(String csv) {
+    return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Path getFile(UUID jobId) {
+    return modelImportConfig.getDirectory().resolve(jobId + ".csv");
+  }
+}
@@ -1,3 +1,4 @@
+delete from model_search;
 delete from model_category;
 delete from models;
 delete from categories;
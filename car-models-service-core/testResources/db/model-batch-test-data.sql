@@ -0,0 +1,35 @@
+insert into manufacturers(name) values('BMW');
+insert into model_years(year_value) values(2021);
+insert into model_years(year_value) values(2022);
+insert into models(id, model_year, manufacturer_id, name)
+  values ('0a1b2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d', 2021, (select id from manufacturers where name = 'Audi'), 'A4');
+insert into models(id, model_year, manufacturer_id, name)
+  values ('1b2c3d4e-5f6a-4b7c-9d8e-0f1a2b3c4d5e', 2022, (select id from manufacturers where name = 'Audi'), 'A6');
+insert into models(id, model_year, manufacturer_id, name)
+  values ('2c3d4e5f-6a7b-4c8d-8e9f-1a2b3c4d5e6f', 2020, (select id from manufacturers where name = 'BMW'), 'M3');
+insert into models(id, model_year, manufacturer_id, name)
+  values ('3d4e5f6a-7b8c-4d9e-9f0a-2b3c4d5e6f7a', 2021, (select id from manufacturers where name = 'BMW'), 'X5');
+insert into models(id, model_year, manufacturer_id, name)
+  values ('4e5f6a7b-8c9d-4e0f-8a1b-3c4d5e6f7a8b', 2022, (select id from manufacturers where name = 'Ford'), 'Mustang');
+insert into model_category (model_id, category_id)
+  values ('0a1b2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d', (select id from categories where name = 'Sedan'));
+insert into model_category (model_id, category_id)
+  values ('1b2c3d4e-5f6a-4b7c-9d8e-0f1a2b3c4d5e', (select id from categories where name = 'Sedan'));
+insert into model_category (model_id, category_id)
+  values ('2c3d4e5f-6a7b-4c8d-8e9f-1a2b3c4d5e6f', (select id from categories where name = 'Coupe'));
+insert into model_category (model_id, category_id)
+  values ('2c3d4e5f-6a7b-4c8d-8e9f-1a2b3c4d5e6f', (select id from categories where name = 'Sedan'));
+insert into model_category (model_id, category_id)
+  values ('3d4e5f6a-7b8c-4d9e-9f0a-2b3c4d5e6f7a', (select id from categories where name = 'Sedan'));
+insert into model_category (model_id, category_id)
+  values ('4e5f6a7b-8c9d-4e0f-8a1b-3c4d5e6f7a8b', (select id from categories where name = 'Coupe'));
+insert into model_search(model_id, manufacturer, model_year, name, categories, version)
+  values ('0a1b2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d', 'Audi', 2021, 'A4', array['Sedan'], 0);
+insert into model_search(model_id, manufacturer, model_year, name, categories, version)
+  values ('1b2c3d4e-5f6a-4b7c-9d8e-0f1a2b3c4d5e', 'Audi', 2022, 'A6', array['Sedan'], 0);
+insert into model_search(model_id, manufacturer, model_year, name, categories, version)
+  values ('2c3d4e5f-6a7b-4c8d-8e9f-1a2b3c4d5e6f', 'BMW', 2020, 'M3', array['Coupe', 'Sedan'], 0);
+insert into model_search(model_id, manufacturer, model_year, name, categories, version)
+  values ('3d4e5f6a-7b8c-4d9e-9f0a-2b3c4d5e6f7a', 'BMW', 2021, 'X5', array['Sedan'], 0);
+insert into model_search(model_id, manufacturer, model_year, name, categories, version)
+  values ('4e5f6a7b-8c9d-4e0f-8a1b-3c4d5e6f7a8b', 'Ford', 2022, 'Mustang', array['Coupe'], 0);
@@ -0,0 +1,10 @@
+insert into manufacturers(name) select 'Manufacturer ' || i from generate_series(1, 100) i;
+insert into model_years(year_value) select y from generate_series(1950, 2049) y;
+insert into categories(name) select 'Category ' || i from generate_series(1, 20) i;
+insert into models(id, name, model_year, manufacturer_name)
+  select gen_random_uuid()::text, 'Model ' || (i / 100), 1950 + (i / 7) % 100, 'Manufacturer ' || (1 + i % 100)
+  from generate_series(1, 1000000) i;
+insert into model_category(model_id, category_name)
+  select id, 'Category ' || (1 + n % 20) from (select id, row_number() over () n from models) m;
+insert into model_category(model_id, category_name)
+  select id, 'Category ' || (1 + (n + 7) % 20) from (select id, row_number() over () n from models) m;
@@ -0,0 +1,19 @@
+insert into model_years(year_value) values(2021);
+insert into models(id, model_year, manufacturer_id, name)
+  values ('1b5a3c2e-6f0d-4c8e-9a7b-2d4e6f8a0b1c', 2021, (select id from manufacturers where name = 'Audi'), 'A7');
+insert into models(id, model_year, manufacturer_id, name)
+  values ('9c8d7e6f-5a4b-4c3d-8e2f-1a0b9c8d7e6f', 2020, (select id from manufacturers where name = 'Audi'), 'A4');
+insert into models(id, model_year, manufacturer_id, name)
+  values ('e1f2a3b4-c5d6-4e7f-8a9b-0c1d2e3f4a5b', 2020, (select id from manufacturers where name = 'Ford'), 'Focus');
+insert into model_category (model_id, category_id)
+  values ('1b5a3c2e-6f0d-4c8e-9a7b-2d4e6f8a0b1c', (select id from categories where name = 'Sedan'));
+insert into model_category (model_id, category_id)
+  values ('9c8d7e6f-5a4b-4c3d-8e2f-1a0b9c8d7e6f', (select id from categories where name = 'Sedan'));
+insert into model_category (model_id, category_id)
+  values ('e1f2a3b4-c5d6-4e7f-8a9b-0c1d2e3f4a5b', (select id from categories where name = 'Coupe'));
+insert into model_search(model_id, manufacturer, model_year, name, categories, version)
+  values ('1b5a3c2e-6f0d-4c8e-9a7b-2d4e6f8a0b1c', 'Audi', 2021, 'A7', array['Sedan'], 0);
+insert into model_search(model_id, manufacturer, model_year, name, categories, version)
+  values ('9c8d7e6f-5a4b-4c3d-8e2f-1a0b9c8d7e6f', 'Audi', 2020, 'A4', array['Sedan'], 0);
+insert into model_search(model_id, manufacturer, model_year, name, categories, version)
+  values ('e1f2a3b4-c5d6-4e7f-8a9b-0c1d2e3f4a5b', 'Ford', 2020, 'Focus', array['Coupe'], 0);